@@ -0,0 +1,176 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.ArrayList against java.util.ArrayList
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class ArrayListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    Distribution distribution;
+
+    Integer[] keys;
+    int[] positions;
+    int cursor;
+
+    ArrayList<Integer> myList;
+    java.util.ArrayList<Integer> javaList;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        positions = Distribution.indexes(1024, size);
+        myList = new ArrayList<>(Integer.class);
+        javaList = new java.util.ArrayList<>();
+        for (Integer key : keys) {
+            myList.add(key);
+            javaList.add(key);
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addMy() {
+        ArrayList<Integer> list = new ArrayList<>(Integer.class);
+        for (Integer key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addUntypedMy() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> addJava() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>();
+        for (Integer key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addAllArrayMy() {
+        ArrayList<Integer> list = new ArrayList<>(Integer.class);
+        list.addAll(keys, 0, keys.length);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addAllListMy() {
+        ArrayList<Integer> list = new ArrayList<>(Integer.class);
+        list.addAll(myList);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> addAllListJava() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>();
+        list.addAll(javaList);
+        return list;
+    }
+
+    @Benchmark
+    public Integer getMy() {
+        return myList.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer getJava() {
+        return javaList.get(nextPosition());
+    }
+
+    @Benchmark
+    public void iterateMy(Blackhole bh) {
+        for (Integer e : myList) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void iterateJava(Blackhole bh) {
+        for (Integer e : javaList) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public int indexOfMy() {
+        return myList.indexOf(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public int indexOfJava() {
+        return javaList.indexOf(keys[nextPosition()]);
+    }
+
+    /**
+     * insert at and remove from a random position, list size stays constant
+     */
+    @Benchmark
+    public Integer insertRemoveMy() {
+        int position = nextPosition();
+        myList.add(position, keys[position]);
+        return myList.remove(position);
+    }
+
+    @Benchmark
+    public Integer insertRemoveJava() {
+        int position = nextPosition();
+        javaList.add(position, keys[position]);
+        return javaList.remove(position);
+    }
+
+    /**
+     * reads a window of up to 1024 elements from a random start through a sub list view
+     */
+    @Benchmark
+    public void subListWindowMy(Blackhole bh) {
+        int from = nextPosition();
+        for (Integer e : myList.subList(from, Math.min(size, from + 1024))) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void subListWindowJava(Blackhole bh) {
+        int from = nextPosition();
+        for (Integer e : javaList.subList(from, Math.min(size, from + 1024))) {
+            bh.consume(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import my.util.HashSet;
+import my.util.LinkedList;
+import my.util.TreeSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bulk set algebra (containsAll, removeAll, retainAll, equals) on lists and sets against java.util.
+ * The mutating benchmarks copy the receiver first, the copy is part of both measurements.
+ * Half of the keys are in the argument collections.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class BulkOperationsBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    Integer[] keys;
+
+    ArrayList<Integer> myList;
+    LinkedList<Integer> myHalf;
+    TreeSet<Integer> myTree;
+    TreeSet<Integer> myTreeCopy;
+    HashSet<Integer> myHashSet;
+
+    java.util.ArrayList<Integer> javaList;
+    java.util.LinkedList<Integer> javaHalf;
+    java.util.TreeSet<Integer> javaTree;
+    java.util.TreeSet<Integer> javaTreeCopy;
+
+    @Setup
+    public void setup() {
+        keys = Distribution.RANDOM.keys(size);
+        myList = new ArrayList<>(Integer.class);
+        myHalf = new LinkedList<>();
+        myTree = new TreeSet<>();
+        myTreeCopy = new TreeSet<>();
+        myHashSet = new HashSet<>();
+        javaList = new java.util.ArrayList<>();
+        javaHalf = new java.util.LinkedList<>();
+        javaTree = new java.util.TreeSet<>();
+        javaTreeCopy = new java.util.TreeSet<>();
+        for (int i = 0; i < keys.length; i++) {
+            Integer key = keys[i];
+            myList.add(key);
+            javaList.add(key);
+            myTree.add(key);
+            myTreeCopy.add(key);
+            javaTree.add(key);
+            javaTreeCopy.add(key);
+            if (i % 2 == 0) {
+                myHalf.add(key);
+                javaHalf.add(key);
+                myHashSet.add(key);
+            }
+        }
+    }
+
+    private ArrayList<Integer> myCopy() {
+        ArrayList<Integer> copy = new ArrayList<>(Integer.class);
+        for (Integer key : keys) {
+            copy.add(key);
+        }
+        return copy;
+    }
+
+    @Benchmark
+    public boolean containsAllListMy() {
+        return myList.containsAll(myHalf);
+    }
+
+    @Benchmark
+    public boolean containsAllListJava() {
+        return javaList.containsAll(javaHalf);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> removeAllListMy() {
+        ArrayList<Integer> copy = myCopy();
+        copy.removeAll(myHalf);
+        return copy;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> removeAllListJava() {
+        java.util.ArrayList<Integer> copy = new java.util.ArrayList<>();
+        for (Integer key : keys) {
+            copy.add(key);
+        }
+        copy.removeAll(javaHalf);
+        return copy;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> retainAllHashSetMy() {
+        ArrayList<Integer> copy = myCopy();
+        copy.retainAll(myHashSet);
+        return copy;
+    }
+
+    @Benchmark
+    public boolean equalsTreeMy() {
+        return myTree.equals(myTreeCopy);
+    }
+
+    @Benchmark
+    public boolean equalsTreeJava() {
+        return javaTree.equals(javaTreeCopy);
+    }
+}
@@ -0,0 +1,156 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import my.util.CollectionCodec;
+import my.util.ElementCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CollectionCodec against java serialization (ObjectOutputStream / ObjectInputStream of a java.util.ArrayList)
+ * for lists of integers and strings. Encoding writes into a reused buffer, decoding reads the encoded bytes
+ * back into a new list. The encoded sizes are printed once per trial.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"true", "false"})
+    boolean checksum;
+
+    ArrayList<Integer> myIntegers;
+    ArrayList<String> myStrings;
+    java.util.ArrayList<Integer> javaIntegers;
+    java.util.ArrayList<String> javaStrings;
+
+    CollectionCodec<Integer> integerCodec;
+    CollectionCodec<String> stringCodec;
+
+    ByteBuffer buffer;
+    ByteArrayOutputStream bytes;
+
+    ByteBuffer encodedIntegers;
+    ByteBuffer encodedStrings;
+    byte[] serializedIntegers;
+    byte[] serializedStrings;
+
+    @Setup
+    public void setup() throws IOException {
+        Integer[] keys = Distribution.RANDOM.keys(size);
+        myIntegers = new ArrayList<>(Integer.class);
+        myStrings = new ArrayList<>(String.class);
+        javaIntegers = new java.util.ArrayList<>();
+        javaStrings = new java.util.ArrayList<>();
+        for (Integer key : keys) {
+            myIntegers.add(key);
+            javaIntegers.add(key);
+            myStrings.add("key-" + key);
+            javaStrings.add("key-" + key);
+        }
+        integerCodec = new CollectionCodec<>(ElementCodec.INTEGER, checksum);
+        stringCodec = new CollectionCodec<>(ElementCodec.STRING, checksum);
+        buffer = ByteBuffer.allocate(64 * size + 1024);
+        bytes = new ByteArrayOutputStream(64 * size + 1024);
+
+        encodedIntegers = ByteBuffer.allocate(64 * size + 1024);
+        integerCodec.encode(myIntegers, encodedIntegers);
+        encodedIntegers.flip();
+        encodedStrings = ByteBuffer.allocate(64 * size + 1024);
+        stringCodec.encode(myStrings, encodedStrings);
+        encodedStrings.flip();
+        serializedIntegers = serialize(javaIntegers);
+        serializedStrings = serialize(javaStrings);
+        System.out.println("\nencoded bytes: integers " + encodedIntegers.remaining() + " vs " + serializedIntegers.length
+                + ", strings " + encodedStrings.remaining() + " vs " + serializedStrings.length);
+    }
+
+    private byte[] serialize(Object o) throws IOException {
+        bytes.reset();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public int encodeIntegersMy() {
+        buffer.clear();
+        integerCodec.encode(myIntegers, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public int encodeIntegersJava() throws IOException {
+        bytes.reset();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(javaIntegers);
+        }
+        return bytes.size();
+    }
+
+    @Benchmark
+    public int encodeStringsMy() {
+        buffer.clear();
+        stringCodec.encode(myStrings, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public int encodeStringsJava() throws IOException {
+        bytes.reset();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(javaStrings);
+        }
+        return bytes.size();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> decodeIntegersMy() {
+        return integerCodec.decode(encodedIntegers.duplicate(), new ArrayList<>(Integer.class));
+    }
+
+    @Benchmark
+    public Object decodeIntegersJava() throws IOException, ClassNotFoundException {
+        return deserialize(serializedIntegers);
+    }
+
+    @Benchmark
+    public ArrayList<String> decodeStringsMy() {
+        return stringCodec.decode(encodedStrings.duplicate(), new ArrayList<>(String.class));
+    }
+
+    @Benchmark
+    public Object decodeStringsJava() throws IOException, ClassNotFoundException {
+        return deserialize(serializedStrings);
+    }
+}
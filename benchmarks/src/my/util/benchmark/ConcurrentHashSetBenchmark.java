@@ -0,0 +1,126 @@
+package my.util.benchmark;
+
+import my.util.ConcurrentHashSet;
+import my.util.HashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * my.util.ConcurrentHashSet against a my.util.HashSet behind one global lock and ConcurrentHashMap.newKeySet()
+ * under contention. All threads share the sets, the thread count is set with -t (default 4), e.g. -t 1 to -t 32.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentHashSetBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"RANDOM"})
+    Distribution distribution;
+
+    /**
+     * percentage of contains calls in the mixed operation benchmarks, the rest toggles a key (add or remove)
+     */
+    @Param({"100", "90", "50"})
+    int readPercent;
+
+    Integer[] keys;
+    boolean[] reads;
+
+    ConcurrentHashSet<Integer> mySet;
+    HashSet<Integer> lockedSet;
+    Set<Integer> javaSet;
+
+    final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * positions of one thread, every thread starts at another offset so they do not touch the same keys in lockstep
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int[] positions;
+        int cursor;
+
+        @Setup
+        public void setup(ConcurrentHashSetBenchmark benchmark) {
+            positions = Distribution.indexes(1024, benchmark.size);
+            cursor = benchmark.threadIds.getAndIncrement() * 97;
+        }
+
+        int next() {
+            return positions[cursor++ & 1023];
+        }
+    }
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        reads = new boolean[1024];
+        Random random = new Random(Distribution.SEED);
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = random.nextInt(100) < readPercent;
+        }
+        mySet = new ConcurrentHashSet<>();
+        lockedSet = new HashSet<>();
+        javaSet = ConcurrentHashMap.newKeySet();
+        for (Integer key : keys) {
+            mySet.add(key);
+            lockedSet.add(key);
+            javaSet.add(key);
+        }
+    }
+
+    @Benchmark
+    public boolean mixedMy(ThreadState state) {
+        int i = state.cursor;
+        Integer key = keys[state.next()];
+        if (reads[i & 1023]) {
+            return mySet.contains(key);
+        }
+        return mySet.add(key) || mySet.remove(key);
+    }
+
+    @Benchmark
+    public boolean mixedLocked(ThreadState state) {
+        int i = state.cursor;
+        Integer key = keys[state.next()];
+        synchronized (lockedSet) {
+            if (reads[i & 1023]) {
+                return lockedSet.contains(key);
+            }
+            return lockedSet.add(key) || lockedSet.remove(key);
+        }
+    }
+
+    @Benchmark
+    public boolean mixedJava(ThreadState state) {
+        int i = state.cursor;
+        Integer key = keys[state.next()];
+        if (reads[i & 1023]) {
+            return javaSet.contains(key);
+        }
+        return javaSet.add(key) || javaSet.remove(key);
+    }
+}
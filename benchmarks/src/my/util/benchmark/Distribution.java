@@ -0,0 +1,95 @@
+package my.util.benchmark;
+
+import java.util.Random;
+
+/**
+ * key distributions used to fill the collections and arrays under benchmark
+ */
+public enum Distribution {
+    /**
+     * ascending keys 0 .. n - 1
+     */
+    SEQUENTIAL,
+    /**
+     * descending keys n - 1 .. 0
+     */
+    REVERSED,
+    /**
+     * uniformly distributed random keys
+     */
+    RANDOM,
+    /**
+     * random keys drawn from only 16 distinct values
+     */
+    FEW_UNIQUE,
+    /**
+     * multiples of 1024, all keys share their low bits which stresses hash spreading
+     */
+    CLUSTERED;
+
+    /**
+     * seed used for all random distributions so runs are reproducible
+     */
+    public static final long SEED = 42L;
+
+    /**
+     * creates n keys following this distribution
+     * @param n number of keys
+     * @return array of keys
+     */
+    public Integer[] keys(int n) {
+        Random random = new Random(SEED);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            switch (this) {
+                case SEQUENTIAL:
+                    keys[i] = i;
+                    break;
+                case REVERSED:
+                    keys[i] = n - 1 - i;
+                    break;
+                case RANDOM:
+                    keys[i] = random.nextInt();
+                    break;
+                case FEW_UNIQUE:
+                    keys[i] = random.nextInt(16);
+                    break;
+                case CLUSTERED:
+                    keys[i] = i << 10;
+                    break;
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * creates keys that are never contained in {@code keys(n)} of the same distribution
+     * (except for RANDOM, where a hit is possible but unlikely)
+     * @param n number of keys
+     * @return array of keys
+     */
+    public Integer[] missingKeys(int n) {
+        Integer[] keys = keys(n);
+        for (int i = 0; i < n; i++) {
+            keys[i] = this == CLUSTERED ? keys[i] + 1 : ~keys[i] - n;
+        }
+        return keys;
+    }
+
+    /**
+     * creates random indexes in [0, bound) used to pick keys or positions during a benchmark
+     * @param n number of indexes, must be a power of two
+     * @param bound exclusive upper bound of the indexes
+     * @return array of indexes
+     */
+    public static int[] indexes(int n, int bound) {
+        Random random = new Random(SEED);
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = random.nextInt(bound);
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,162 @@
+package my.util.benchmark;
+
+import my.util.AbstractHashSet;
+import my.util.HashSet;
+import my.util.OpenHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.HashSet (chaining) and my.util.OpenHashSet (open addressing) against java.util.HashSet
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class HashSetBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "CLUSTERED"})
+    Distribution distribution;
+
+    /**
+     * percentage of contains calls in the mixed operation benchmarks, the rest toggles a key (add or remove)
+     */
+    @Param({"100", "90", "50"})
+    int readPercent;
+
+    Integer[] keys;
+    Integer[] missingKeys;
+    int[] positions;
+    boolean[] reads;
+    int cursor;
+
+    HashSet<Integer> mySet;
+    OpenHashSet<Integer> myOpenSet;
+    java.util.HashSet<Integer> javaSet;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        missingKeys = distribution.missingKeys(size);
+        positions = Distribution.indexes(1024, size);
+        reads = new boolean[1024];
+        Random random = new Random(Distribution.SEED);
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = random.nextInt(100) < readPercent;
+        }
+        mySet = new HashSet<>();
+        myOpenSet = new OpenHashSet<>();
+        javaSet = new java.util.HashSet<>();
+        for (Integer key : keys) {
+            mySet.add(key);
+            myOpenSet.add(key);
+            javaSet.add(key);
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public HashSet<Integer> addMy() {
+        return fill(new HashSet<Integer>());
+    }
+
+    @Benchmark
+    public OpenHashSet<Integer> addMyOpen() {
+        return fill(new OpenHashSet<Integer>());
+    }
+
+    private <S extends AbstractHashSet<Integer>> S fill(S set) {
+        for (Integer key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public java.util.HashSet<Integer> addJava() {
+        java.util.HashSet<Integer> set = new java.util.HashSet<>();
+        for (Integer key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public boolean containsHitMy() {
+        return mySet.contains(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsHitMyOpen() {
+        return myOpenSet.contains(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsHitJava() {
+        return javaSet.contains(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsMissMy() {
+        return mySet.contains(missingKeys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsMissMyOpen() {
+        return myOpenSet.contains(missingKeys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsMissJava() {
+        return javaSet.contains(missingKeys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean mixedMy() {
+        return mixed(mySet);
+    }
+
+    @Benchmark
+    public boolean mixedMyOpen() {
+        return mixed(myOpenSet);
+    }
+
+    private boolean mixed(AbstractHashSet<Integer> set) {
+        int i = cursor;
+        Integer key = keys[nextPosition()];
+        if (reads[i & 1023]) {
+            return set.contains(key);
+        }
+        return set.add(key) || set.remove(key);
+    }
+
+    @Benchmark
+    public boolean mixedJava() {
+        int i = cursor;
+        Integer key = keys[nextPosition()];
+        if (reads[i & 1023]) {
+            return javaSet.contains(key);
+        }
+        return javaSet.add(key) || javaSet.remove(key);
+    }
+}
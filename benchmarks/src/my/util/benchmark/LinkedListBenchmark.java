@@ -0,0 +1,180 @@
+package my.util.benchmark;
+
+import my.util.LinkedList;
+import my.util.UnrolledLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.LinkedList and my.util.UnrolledLinkedList against java.util.LinkedList
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class LinkedListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    Distribution distribution;
+
+    Integer[] keys;
+    int[] positions;
+    int cursor;
+
+    LinkedList<Integer> myList;
+    UnrolledLinkedList<Integer> unrolledList;
+    java.util.LinkedList<Integer> javaList;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        positions = Distribution.indexes(1024, size);
+        myList = new LinkedList<>();
+        unrolledList = new UnrolledLinkedList<>();
+        javaList = new java.util.LinkedList<>();
+        for (Integer key : keys) {
+            myList.add(key);
+            unrolledList.add(key);
+            javaList.add(key);
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public LinkedList<Integer> addMy() {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (Integer key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public UnrolledLinkedList<Integer> addUnrolled() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        for (Integer key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public java.util.LinkedList<Integer> addJava() {
+        java.util.LinkedList<Integer> list = new java.util.LinkedList<>();
+        for (Integer key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Integer getMy() {
+        return myList.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer getUnrolled() {
+        return unrolledList.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer getJava() {
+        return javaList.get(nextPosition());
+    }
+
+    /**
+     * reads up to 1024 consecutive indexes from a random start, like a get(i) loop over a window
+     */
+    @Benchmark
+    public void getSequentialMy(Blackhole bh) {
+        int from = nextPosition();
+        int to = Math.min(size, from + 1024);
+        for (int i = from; i < to; i++) {
+            bh.consume(myList.get(i));
+        }
+    }
+
+    @Benchmark
+    public void getSequentialJava(Blackhole bh) {
+        int from = nextPosition();
+        int to = Math.min(size, from + 1024);
+        for (int i = from; i < to; i++) {
+            bh.consume(javaList.get(i));
+        }
+    }
+
+    @Benchmark
+    public void iterateMy(Blackhole bh) {
+        for (Integer e : myList) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void iterateUnrolled(Blackhole bh) {
+        for (Integer e : unrolledList) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void iterateJava(Blackhole bh) {
+        for (Integer e : javaList) {
+            bh.consume(e);
+        }
+    }
+
+    /**
+     * walks the list once and inserts behind / removes every 8th element, list size stays constant
+     */
+    @Benchmark
+    public int iteratorInsertRemoveMy() {
+        ListIterator<Integer> it = myList.listIterator();
+        return insertRemove(it);
+    }
+
+    @Benchmark
+    public int iteratorInsertRemoveUnrolled() {
+        ListIterator<Integer> it = unrolledList.listIterator();
+        return insertRemove(it);
+    }
+
+    @Benchmark
+    public int iteratorInsertRemoveJava() {
+        ListIterator<Integer> it = javaList.listIterator();
+        return insertRemove(it);
+    }
+
+    private static int insertRemove(ListIterator<Integer> it) {
+        int i = 0;
+        while (it.hasNext()) {
+            Integer e = it.next();
+            if ((i++ & 7) == 0) {
+                it.remove();
+                it.add(e);
+            }
+        }
+        return i;
+    }
+}
@@ -0,0 +1,102 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import my.util.ElementCodec;
+import my.util.MappedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * MappedList of strings: reopening an existing list against rebuilding a my.util.ArrayList of the same strings,
+ * and random get of the mapped list against the ArrayList.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class MappedListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    Path directory;
+    String[] values;
+    int[] positions;
+    int cursor;
+
+    MappedList<String> mapped;
+    ArrayList<String> heap;
+
+    @Setup
+    public void setup() throws IOException {
+        Integer[] keys = Distribution.RANDOM.keys(size);
+        values = new String[size];
+        directory = Files.createTempDirectory("mapped-list");
+        mapped = new MappedList<>(directory, ElementCodec.STRING);
+        heap = new ArrayList<>(String.class);
+        for (int i = 0; i < size; i++) {
+            values[i] = "value-" + keys[i];
+            mapped.add(values[i]);
+            heap.add(values[i]);
+        }
+        mapped.sync();
+        positions = Distribution.indexes(1024, size);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mapped.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public int reopenMapped() throws IOException {
+        try (MappedList<String> list = new MappedList<>(directory, ElementCodec.STRING)) {
+            return list.size();
+        }
+    }
+
+    @Benchmark
+    public int rebuildHeap() {
+        ArrayList<String> list = new ArrayList<>(String.class);
+        for (String value : values) {
+            list.add(new String(value));
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public String getMapped() {
+        return mapped.get(nextPosition());
+    }
+
+    @Benchmark
+    public String getHeap() {
+        return heap.get(nextPosition());
+    }
+}
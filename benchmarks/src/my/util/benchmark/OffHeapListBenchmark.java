@@ -0,0 +1,166 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import my.util.OffHeapList;
+import my.util.RecordCodec;
+import my.util.RecordCursor;
+import my.util.RecordLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static my.util.RecordLayout.field;
+
+/**
+ * OffHeapList of (id, price) records against a my.util.ArrayList of record objects:
+ * filling the list, summing a field in place against summing through the objects, and sorting by a field.
+ * Run with {@code -prof gc} to see the allocation and GC time saved by the off-heap storage.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class OffHeapListBenchmark {
+
+    static final class Item {
+        final long id;
+        final double price;
+
+        Item(long id, double price) {
+            this.id = id;
+            this.price = price;
+        }
+    }
+
+    static final RecordLayout LAYOUT = new RecordLayout(
+            field("id", RecordLayout.Type.LONG), field("price", RecordLayout.Type.DOUBLE));
+    static final int ID = LAYOUT.indexOf("id");
+    static final int PRICE = LAYOUT.indexOf("price");
+
+    static final RecordCodec<Item> CODEC = new RecordCodec<Item>() {
+        @Override
+        public void write(Item item, RecordCursor record) {
+            record.putLong(ID, item.id).putDouble(PRICE, item.price);
+        }
+
+        @Override
+        public Item read(RecordCursor record) {
+            return new Item(record.getLong(ID), record.getDouble(PRICE));
+        }
+    };
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    Distribution distribution;
+
+    Item[] items;
+
+    OffHeapList<Item> offHeap;
+    ArrayList<Item> heap;
+
+    @Setup
+    public void setup() {
+        Integer[] keys = distribution.keys(size);
+        items = new Item[size];
+        offHeap = new OffHeapList<>(LAYOUT, CODEC);
+        heap = new ArrayList<>(Item.class);
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(i, keys[i] * 0.01);
+            offHeap.add(items[i]);
+            heap.add(items[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        offHeap.close();
+    }
+
+    @Benchmark
+    public OffHeapList<Item> addOffHeap() {
+        OffHeapList<Item> list = new OffHeapList<>(LAYOUT, CODEC);
+        for (Item item : items) {
+            list.add(item);
+        }
+        list.close();
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Item> addHeap() {
+        ArrayList<Item> list = new ArrayList<>(Item.class);
+        for (Item item : items) {
+            list.add(new Item(item.id, item.price));
+        }
+        return list;
+    }
+
+    @Benchmark
+    public double sumOffHeap() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += offHeap.record(i).getDouble(PRICE);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumHeap() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += heap.get(i).price;
+        }
+        return sum;
+    }
+
+    /**
+     * sorts a freshly filled copy by price, the copy is built outside of the measurement
+     */
+    @State(Scope.Thread)
+    public static class SortState {
+        OffHeapList<Item> offHeap;
+        ArrayList<Item> heap;
+
+        @Setup(Level.Invocation)
+        public void setup(OffHeapListBenchmark b) {
+            offHeap = b.offHeap.subList(0, b.size);
+            heap = new ArrayList<>(Item.class);
+            for (Item item : b.items) {
+                heap.add(item);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            offHeap.close();
+        }
+    }
+
+    @Benchmark
+    public OffHeapList<Item> sortByPriceOffHeap(SortState s) {
+        s.offHeap.sortBy(PRICE);
+        return s.offHeap;
+    }
+
+    @Benchmark
+    public ArrayList<Item> sortByPriceHeap(SortState s) {
+        s.heap.sort((Item a, Item b) -> Double.compare(a.price, b.price));
+        return s.heap;
+    }
+}
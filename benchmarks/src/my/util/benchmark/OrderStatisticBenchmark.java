@@ -0,0 +1,83 @@
+package my.util.benchmark;
+
+import my.util.AVLTreeSet;
+import my.util.ComparableComparator;
+import my.util.Rray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AVLTreeSet select / rank against sorting a snapshot of the elements with Rray.quickSort on every query
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class OrderStatisticBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    Distribution distribution;
+
+    Integer[] keys;
+    int[] positions;
+    int cursor;
+
+    Comparator<Integer> comparator;
+    AVLTreeSet<Integer> mySet;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        positions = Distribution.indexes(1024, size);
+        comparator = new ComparableComparator<>();
+        mySet = new AVLTreeSet<>(comparator);
+        for (Integer key : keys) {
+            mySet.add(key);
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public Integer selectMy() {
+        return mySet.select(nextPosition());
+    }
+
+    @Benchmark
+    public Integer selectSnapshot() {
+        Integer[] snapshot = keys.clone();
+        Rray.quickSort(snapshot, comparator);
+        return snapshot[nextPosition()];
+    }
+
+    @Benchmark
+    public int rankMy() {
+        return mySet.rank(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public int rankSnapshot() {
+        Integer[] snapshot = keys.clone();
+        Rray.quickSort(snapshot, comparator);
+        return Rray.binSearch(snapshot, keys[nextPosition()], comparator);
+    }
+}
@@ -0,0 +1,102 @@
+package my.util.benchmark;
+
+import my.util.ComparableComparator;
+import my.util.Rray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * speedup of Rray.parallelSort over the sequential Rray.quickSort by worker count and array size,
+ * Arrays.parallelSort on a pool of the same parallelism as reference.
+ * The sequential baselines do not depend on the parallelism parameter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ParallelSortBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    int parallelism;
+
+    @Param({"RANDOM"})
+    Distribution distribution;
+
+    int[] values;
+    Integer[] objects;
+    Comparator<Integer> comparator;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        objects = distribution.keys(size);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = objects[i];
+        }
+        comparator = new ComparableComparator<>();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] quickSortInt() {
+        int[] a = values.clone();
+        Rray.quickSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] parallelSortInt() {
+        int[] a = values.clone();
+        Rray.parallelSort(a, Rray.DEFAULT_PARALLEL_SORT_THRESHOLD, pool);
+        return a;
+    }
+
+    @Benchmark
+    public int[] parallelSortIntJava() throws Exception {
+        int[] a = values.clone();
+        // Arrays.parallelSort forks into the pool of the calling worker thread, so running it inside our pool
+        // bounds the workers (its chunk size still follows the common pool parallelism)
+        pool.submit(() -> Arrays.parallelSort(a)).get();
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] quickSortObject() {
+        Integer[] a = objects.clone();
+        Rray.quickSort(a, comparator);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] parallelSortObject() {
+        Integer[] a = objects.clone();
+        Rray.parallelSort(a, comparator, Rray.DEFAULT_PARALLEL_SORT_THRESHOLD, pool);
+        return a;
+    }
+}
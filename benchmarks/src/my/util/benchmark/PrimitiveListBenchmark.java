@@ -0,0 +1,112 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import my.util.IntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.IntArrayList against boxed my.util.ArrayList and java.util.ArrayList
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class PrimitiveListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    Distribution distribution;
+
+    int[] values;
+
+    IntArrayList intList;
+    ArrayList<Integer> myList;
+    java.util.ArrayList<Integer> javaList;
+
+    @Setup
+    public void setup() {
+        Integer[] keys = distribution.keys(size);
+        values = new int[size];
+        intList = new IntArrayList();
+        myList = new ArrayList<>(Integer.class);
+        javaList = new java.util.ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = keys[i];
+            intList.add(keys[i]);
+            myList.add(keys[i]);
+            javaList.add(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public IntArrayList addInt() {
+        IntArrayList list = new IntArrayList();
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addMy() {
+        ArrayList<Integer> list = new ArrayList<>(Integer.class);
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> addJava() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>();
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long sumInt() {
+        long sum = 0;
+        PrimitiveIterator.OfInt it = intList.iterator();
+        while (it.hasNext()) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumMy() {
+        long sum = 0;
+        for (Integer e : myList) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumJava() {
+        long sum = 0;
+        for (Integer e : javaList) {
+            sum += e;
+        }
+        return sum;
+    }
+}
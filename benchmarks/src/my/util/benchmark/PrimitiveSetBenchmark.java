@@ -0,0 +1,106 @@
+package my.util.benchmark;
+
+import my.util.HashSet;
+import my.util.LongHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.LongHashSet against boxed my.util.HashSet and java.util.HashSet for id deduplication,
+ * run with -prof gc to compare the allocation per operation
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class PrimitiveSetBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "CLUSTERED"})
+    Distribution distribution;
+
+    long[] ids;
+    int[] positions;
+    int cursor;
+
+    LongHashSet longSet;
+    HashSet<Long> mySet;
+    java.util.HashSet<Long> javaSet;
+
+    @Setup
+    public void setup() {
+        Integer[] keys = distribution.keys(size);
+        ids = new long[size];
+        positions = Distribution.indexes(1024, size);
+        longSet = new LongHashSet();
+        mySet = new HashSet<>();
+        javaSet = new java.util.HashSet<>();
+        for (int i = 0; i < size; i++) {
+            ids[i] = ((long) keys[i]) << 20;
+            longSet.add(ids[i]);
+            mySet.add(ids[i]);
+            javaSet.add(ids[i]);
+        }
+    }
+
+    private long nextId() {
+        return ids[positions[cursor++ & 1023]];
+    }
+
+    @Benchmark
+    public LongHashSet dedupLong() {
+        LongHashSet set = new LongHashSet();
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public HashSet<Long> dedupMy() {
+        HashSet<Long> set = new HashSet<>();
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public java.util.HashSet<Long> dedupJava() {
+        java.util.HashSet<Long> set = new java.util.HashSet<>();
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public boolean containsLong() {
+        return longSet.contains(nextId());
+    }
+
+    @Benchmark
+    public boolean containsMy() {
+        return mySet.contains(nextId());
+    }
+
+    @Benchmark
+    public boolean containsJava() {
+        return javaSet.contains(nextId());
+    }
+}
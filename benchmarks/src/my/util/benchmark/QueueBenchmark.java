@@ -0,0 +1,155 @@
+package my.util.benchmark;
+
+import my.util.ConcurrentDeque;
+import my.util.ConcurrentLinkedQueue;
+import my.util.LinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * producer / consumer throughput of the concurrent queues against a my.util.LinkedList behind one global lock
+ * and java.util.concurrent.ConcurrentLinkedQueue, with 1, 4 and 16 producers and as many consumers.
+ * The queue is recreated for every iteration, a poll on an empty queue counts as an operation as well.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Group)
+public class QueueBenchmark {
+
+    public enum Impl {
+        MY_QUEUE, MY_DEQUE, LOCKED_LINKED_LIST, JAVA
+    }
+
+    /**
+     * offer and poll of the queue under test
+     */
+    interface SharedQueue {
+        boolean offer(Integer e);
+
+        Integer poll();
+    }
+
+    @Param({"MY_QUEUE", "MY_DEQUE", "LOCKED_LINKED_LIST", "JAVA"})
+    Impl impl;
+
+    SharedQueue queue;
+
+    static final Integer ELEMENT = 42;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        switch (impl) {
+            case MY_QUEUE: {
+                final ConcurrentLinkedQueue<Integer> q = new ConcurrentLinkedQueue<>();
+                queue = new SharedQueue() {
+                    public boolean offer(Integer e) {
+                        return q.offer(e);
+                    }
+
+                    public Integer poll() {
+                        return q.poll();
+                    }
+                };
+                break;
+            }
+            case MY_DEQUE: {
+                final ConcurrentDeque<Integer> q = new ConcurrentDeque<>();
+                queue = new SharedQueue() {
+                    public boolean offer(Integer e) {
+                        return q.offer(e);
+                    }
+
+                    public Integer poll() {
+                        return q.poll();
+                    }
+                };
+                break;
+            }
+            case LOCKED_LINKED_LIST: {
+                final LinkedList<Integer> q = new LinkedList<>();
+                queue = new SharedQueue() {
+                    public synchronized boolean offer(Integer e) {
+                        return q.offer(e);
+                    }
+
+                    public synchronized Integer poll() {
+                        return q.poll();
+                    }
+                };
+                break;
+            }
+            default: {
+                final java.util.concurrent.ConcurrentLinkedQueue<Integer> q =
+                        new java.util.concurrent.ConcurrentLinkedQueue<>();
+                queue = new SharedQueue() {
+                    public boolean offer(Integer e) {
+                        return q.offer(e);
+                    }
+
+                    public Integer poll() {
+                        return q.poll();
+                    }
+                };
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public boolean offer1() {
+        return queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public Integer poll1() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public boolean offer4() {
+        return queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public Integer poll4() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("p16c16")
+    @GroupThreads(16)
+    public boolean offer16() {
+        return queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("p16c16")
+    @GroupThreads(16)
+    public Integer poll16() {
+        return queue.poll();
+    }
+}
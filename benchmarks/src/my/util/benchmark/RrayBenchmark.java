@@ -0,0 +1,89 @@
+package my.util.benchmark;
+
+import my.util.ComparableComparator;
+import my.util.Rray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rray sorts and searches against java.util.Arrays,
+ * every sort benchmark sorts a fresh clone of the input so the copy cost is the same on both sides
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-Xss64m"})
+@State(Scope.Thread)
+public class RrayBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"RANDOM", "SEQUENTIAL", "REVERSED", "FEW_UNIQUE"})
+    Distribution distribution;
+
+    Integer[] keys;
+    Integer[] sorted;
+    int[] positions;
+    int cursor;
+
+    Comparator<Integer> comparator;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        sorted = keys.clone();
+        Arrays.sort(sorted);
+        positions = Distribution.indexes(1024, size);
+        comparator = new ComparableComparator<>();
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public Integer[] quickSortMy() {
+        Integer[] a = keys.clone();
+        Rray.quickSort(a, comparator);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] mergeSortMy() {
+        return Rray.mergeSort(keys.clone(), comparator);
+    }
+
+    @Benchmark
+    public Integer[] sortJava() {
+        Integer[] a = keys.clone();
+        Arrays.sort(a, comparator);
+        return a;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int binSearchMy() {
+        return Rray.binSearch(sorted, sorted[nextPosition()], comparator);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int binSearchJava() {
+        return Arrays.binarySearch(sorted, sorted[nextPosition()], comparator);
+    }
+}
@@ -0,0 +1,102 @@
+package my.util.benchmark;
+
+import my.util.ArrayList;
+import my.util.TreeList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.TreeList against my.util.ArrayList and java.util.ArrayList for positional edits at random indexes.
+ * The edit benchmarks insert and remove one element each, so the list size stays constant.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class TreeListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    Integer[] keys;
+    int[] positions;
+    int cursor;
+
+    TreeList<Integer> treeList;
+    ArrayList<Integer> myList;
+    java.util.ArrayList<Integer> javaList;
+
+    @Setup
+    public void setup() {
+        keys = Distribution.SEQUENTIAL.keys(size);
+        positions = Distribution.indexes(1024, size);
+        treeList = new TreeList<>();
+        myList = new ArrayList<>(Integer.class);
+        javaList = new java.util.ArrayList<>();
+        for (Integer key : keys) {
+            treeList.add(key);
+            myList.add(key);
+            javaList.add(key);
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public Integer insertRemoveTree() {
+        treeList.add(nextPosition(), -1);
+        return treeList.remove(nextPosition());
+    }
+
+    @Benchmark
+    public Integer insertRemoveMy() {
+        myList.add(nextPosition(), -1);
+        return myList.remove(nextPosition());
+    }
+
+    @Benchmark
+    public Integer insertRemoveJava() {
+        javaList.add(nextPosition(), -1);
+        return javaList.remove(nextPosition());
+    }
+
+    @Benchmark
+    public Integer getTree() {
+        return treeList.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer getMy() {
+        return myList.get(nextPosition());
+    }
+
+    @Benchmark
+    public void iterateTree(Blackhole bh) {
+        for (Integer e : treeList) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void iterateMy(Blackhole bh) {
+        for (Integer e : myList) {
+            bh.consume(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package my.util.benchmark;
+
+import my.util.ComparableComparator;
+import my.util.TreeSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * my.util.TreeSet against java.util.TreeSet
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class TreeSetBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    Distribution distribution;
+
+    Integer[] keys;
+    Integer[] missingKeys;
+    int[] positions;
+    int cursor;
+
+    TreeSet<Integer> mySet;
+    java.util.TreeSet<Integer> javaSet;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        missingKeys = distribution.missingKeys(size);
+        positions = Distribution.indexes(1024, size);
+        mySet = new TreeSet<>(new ComparableComparator<Integer>());
+        javaSet = new java.util.TreeSet<>();
+        for (Integer key : keys) {
+            mySet.add(key);
+            javaSet.add(key);
+        }
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & 1023];
+    }
+
+    @Benchmark
+    public TreeSet<Integer> addMy() {
+        TreeSet<Integer> set = new TreeSet<>(new ComparableComparator<Integer>());
+        for (Integer key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public java.util.TreeSet<Integer> addJava() {
+        java.util.TreeSet<Integer> set = new java.util.TreeSet<>();
+        for (Integer key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public boolean containsHitMy() {
+        return mySet.contains(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsHitJava() {
+        return javaSet.contains(keys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsMissMy() {
+        return mySet.contains(missingKeys[nextPosition()]);
+    }
+
+    @Benchmark
+    public boolean containsMissJava() {
+        return javaSet.contains(missingKeys[nextPosition()]);
+    }
+
+    @Benchmark
+    public void iterateMy(Blackhole bh) {
+        for (Integer e : mySet) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void iterateJava(Blackhole bh) {
+        for (Integer e : javaSet) {
+            bh.consume(e);
+        }
+    }
+}
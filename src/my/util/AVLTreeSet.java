@@ -1,33 +1,235 @@
 package my.util;
 
-import java.util.Iterator;
+import java.util.Comparator;
 
 /**
- * AVL Search Tree
+ * AVL Search Tree augmented with subtree sizes (order statistic tree).
+ * Besides the navigable set operations of {@link TreeSet} it finds the k-th smallest element,
+ * the rank of an element and the number of elements in a range in O(log n).
+ * null elements are not permitted
+ *
+ * @author Henrik Drefs
  */
-public class AVLTreeSet<E> extends TreeSet<E> implements Set<E> {
+public class AVLTreeSet<E> extends TreeSet<E> implements NavigableSet<E> {
+
+    /**
+     * tree node holding the height and the number of nodes of its subtree
+     */
+    private static final class AVLNode<E> extends Node<E> {
+        int height;
+        int count;
+
+        AVLNode(E data, Node<E> parent) {
+            super(data, parent);
+            this.height = 1;
+            this.count = 1;
+        }
+    }
+
+    /**
+     * creates an AVL tree set ordered by the natural ordering of its elements
+     */
+    public AVLTreeSet() {
+        super();
+    }
+
+    public AVLTreeSet(Comparator<? super E> c) {
+        super(c);
+    }
+
+    /**
+     * gets the k-th smallest element
+     * @param k index of the element in ascending order, starting at 0
+     * @return k-th smallest element
+     * @throws IndexOutOfBoundsException if k is negative or not less than size
+     */
+    public E select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Illegal Index: " + k + " (Size: " + size + ")");
+        }
+        Node<E> focus = root;
+        while (true) {
+            int leftCount = count(focus.leftChild);
+            if (k < leftCount) {
+                focus = focus.leftChild;
+            } else if (k > leftCount) {
+                k -= leftCount + 1;
+                focus = focus.rightChild;
+            } else {
+                return focus.data;
+            }
+        }
+    }
+
+    /**
+     * determines the number of elements strictly less than the specified element,
+     * which is the index of the element in ascending order if the set contains it
+     * @param e element, does not need to be in the set
+     * @return number of smaller elements
+     */
+    public int rank(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        int rank = 0;
+        Node<E> focus = root;
+        while (focus != null) {
+            if (c.compare(e, focus.data) > 0) {
+                rank += count(focus.leftChild) + 1;
+                focus = focus.rightChild;
+            } else {
+                focus = focus.leftChild;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * counts the elements in a range
+     * @param fromElement   low end of the range
+     * @param fromInclusive if the low end is part of the range
+     * @param toElement     high end of the range
+     * @param toInclusive   if the high end is part of the range
+     * @return number of elements in the range, 0 if fromElement is greater than toElement
+     */
+    public int count(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        int from = fromInclusive ? rank(fromElement) : rankAbove(fromElement);
+        int to = toInclusive ? rankAbove(toElement) : rank(toElement);
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * determines the number of elements less than or equal to the specified element
+     * @param e element, does not need to be in the set
+     * @return number of elements not greater than e
+     */
+    private int rankAbove(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        int rank = 0;
+        Node<E> focus = root;
+        while (focus != null) {
+            if (c.compare(e, focus.data) >= 0) {
+                rank += count(focus.leftChild) + 1;
+                focus = focus.rightChild;
+            } else {
+                focus = focus.leftChild;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * determines the index of a node in ascending order by walking up to the root
+     * @param node node in the tree
+     * @return index of the node
+     */
+    private int indexOf(Node<E> node) {
+        int index = count(node.leftChild);
+        for (Node<E> focus = node; focus.parent != null; focus = focus.parent) {
+            if (focus == focus.parent.rightChild) {
+                index += count(focus.parent.leftChild) + 1;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    protected int countNodes(Node<E> from, Node<E> to) {
+        return indexOf(to) - indexOf(from) + 1;
+    }
+
+    // --- balancing ---
+
     @Override
-    public int size() {
-        return 0;
+    protected Node<E> newNode(E data, Node<E> parent) {
+        return new AVLNode<>(data, parent);
     }
 
     @Override
-    public boolean isEmpty() {
-        return false;
+    protected void afterInsertion(Node<E> node) {
+        retrace(node.parent);
     }
 
+    /**
+     * unlinks a node from the tree and rebalances the path to the root. A node with two children
+     * is not unlinked itself, it takes over the element of its successor and the successor node
+     * is unlinked instead.
+     * @param node node to delete
+     */
     @Override
-    public Iterator<E> iterator() {
-        return null;
+    protected void deleteNode(Node<E> node) {
+        modCount++;
+        size--;
+        if (node.leftChild != null && node.rightChild != null) {
+            Node<E> s = successor(node);
+            node.data = s.data;
+            node = s;
+        }
+        Node<E> replacement = node.leftChild != null ? node.leftChild : node.rightChild;
+        Node<E> parent = node.parent;
+        replaceChild(node, replacement);
+        node.leftChild = node.rightChild = node.parent = null;
+        retrace(parent);
     }
 
     @Override
-    public Iterator<E> descendingIterator() {
-        return null;
+    protected void rotateLeft(Node<E> node) {
+        super.rotateLeft(node);
+        update(node);
+        update(node.parent);
     }
 
     @Override
-    public boolean add(E e) {
-        return false;
+    protected void rotateRight(Node<E> node) {
+        super.rotateRight(node);
+        update(node);
+        update(node.parent);
+    }
+
+    /**
+     * updates heights and counts from a node up to the root and rotates every unbalanced node on the way
+     * @param node first node to update, may be null
+     */
+    private void retrace(Node<E> node) {
+        while (node != null) {
+            update(node);
+            int balance = height(node.leftChild) - height(node.rightChild);
+            if (balance > 1) {
+                Node<E> left = node.leftChild;
+                if (height(left.leftChild) < height(left.rightChild)) {
+                    rotateLeft(left);
+                }
+                rotateRight(node);
+                node = node.parent;
+            } else if (balance < -1) {
+                Node<E> right = node.rightChild;
+                if (height(right.rightChild) < height(right.leftChild)) {
+                    rotateRight(right);
+                }
+                rotateLeft(node);
+                node = node.parent;
+            }
+            node = node.parent;
+        }
+    }
+
+    /**
+     * recalculates height and count of a node from its children
+     * @param node node to update
+     */
+    private static <E> void update(Node<E> node) {
+        AVLNode<E> n = (AVLNode<E>) node;
+        n.height = Math.max(height(n.leftChild), height(n.rightChild)) + 1;
+        n.count = count(n.leftChild) + count(n.rightChild) + 1;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : ((AVLNode<?>) node).height;
+    }
+
+    private static int count(Node<?> node) {
+        return node == null ? 0 : ((AVLNode<?>) node).count;
     }
 }
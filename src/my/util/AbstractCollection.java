@@ -1,8 +1,9 @@
 package my.util;
 
-import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.function.Predicate;
 
 /**
  * abstract collection class that implements a few default methods
@@ -13,6 +14,60 @@ public abstract class AbstractCollection<E> implements Collection<E> {
      * comparator instance used to compare collection elements
      */
     protected Comparator<? super E> c;
+    /**
+     * equivalence used to compare collection elements for equality, derived from c on first use
+     * unless a constructor taking an equivalence set it
+     */
+    protected Equivalence<? super E> eq;
+
+    /**
+     * size from which a collection that is not a set is copied into a temporary hash index
+     * before it is probed by a bulk operation, below it scanning is cheaper than hashing
+     */
+    protected static final int INDEX_THRESHOLD = 16;
+
+    /**
+     * gets the equivalence deciding element equality in contains, indexOf and remove
+     * @return equivalence of this collection
+     */
+    protected final Equivalence<? super E> equivalence() {
+        Equivalence<? super E> e = eq;
+        if (e == null) {
+            eq = e = Equivalence.of(c);
+        }
+        return e;
+    }
+
+    /**
+     * checks two elements for equality, references are compared first and the natural and identity
+     * equivalences are evaluated inline instead of by an interface call
+     * @param eq equivalence of the collection
+     * @param a first element
+     * @param b second element
+     * @param <E> element type
+     * @return true if the elements are equal
+     */
+    protected static <E> boolean equal(Equivalence<? super E> eq, E a, E b) {
+        if (a == b) {
+            return true;
+        }
+        if (eq == Equivalence.NATURAL) {
+            return a != null && a.equals(b);
+        }
+        return eq != Equivalence.IDENTITY && eq.equivalent(a, b);
+    }
+
+    /**
+     * sets the equivalence of a collection created from one, c is set to a comparator view of it
+     * @param eq equivalence deciding element equality
+     */
+    protected final void setEquivalence(Equivalence<? super E> eq) {
+        if (eq == null) {
+            throw new NullPointerException();
+        }
+        this.eq = eq;
+        this.c = Equivalence.asComparator(eq);
+    }
 
     @Override
     public boolean contains(E e) {
@@ -24,8 +79,10 @@ public abstract class AbstractCollection<E> implements Collection<E> {
                 }
             }
         } else {
+            Equivalence<? super E> eq = equivalence();
             while (it.hasNext()) {
-                if (c.compare(e, it.next()) == 0) {
+                E next = it.next();
+                if (equal(eq, e, next)) {
                     return true;
                 }
             }
@@ -34,12 +91,8 @@ public abstract class AbstractCollection<E> implements Collection<E> {
     }
 
     @Override
-    public E[] toArray() {
-        Class<?> type = getComponentType();
-        if (type == null) {
-            return (E[]) new Object[0];
-        }
-        E[] arr = ((E[]) Array.newInstance(type, size()));
+    public Object[] toArray() {
+        Object[] arr = new Object[size()];
         Iterator<E> it = iterator();
         for (int i = 0; i < arr.length; i++) {
             if (!it.hasNext()) {
@@ -51,15 +104,16 @@ public abstract class AbstractCollection<E> implements Collection<E> {
     }
 
     /**
-     * gets the component type of this collection
-     * @return component type of this collection
+     * gets the class of the first element, a cheap first check in equals
+     * @return class of the first element, null if it is null or the collection is empty
      */
     private Class<?> getComponentType() {
         Iterator<E> it = iterator();
         if (!it.hasNext()) {
             return null;
         }
-        return it.next().getClass();
+        E first = it.next();
+        return first == null ? null : first.getClass();
     }
 
     @Override
@@ -67,15 +121,8 @@ public abstract class AbstractCollection<E> implements Collection<E> {
         if (a == null) {
             throw new NullPointerException();
         }
-        if (size() == 0) {
-            return (T[]) Array.newInstance(a.getClass().getComponentType(), 0);
-        }
-        T[] arr;
-        if (size() == a.length) {
-            arr = a;
-        } else {
-            arr = ((T[]) Array.newInstance(a.getClass().getComponentType(), size()));
-        }
+        // Arrays.copyOf allocates an array of the same type without reflection
+        T[] arr = size() == a.length ? a : Arrays.copyOf(a, size());
         Iterator<E> it = iterator();
         for (int i = 0; i < arr.length; i++) {
             if (!it.hasNext()) {
@@ -90,9 +137,11 @@ public abstract class AbstractCollection<E> implements Collection<E> {
 
     @Override
     public boolean remove(E e) {
+        Equivalence<? super E> eq = equivalence();
         Iterator<E> it = iterator();
         while (it.hasNext()) {
-            if (c.compare(e, it.next()) == 0) {
+            E next = it.next();
+            if (equal(eq, e, next)) {
                 it.remove();
                 return true;
             }
@@ -102,14 +151,99 @@ public abstract class AbstractCollection<E> implements Collection<E> {
 
     @Override
     public boolean containsAll(Collection<E> c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (sameOrder(this, c)) {
+            return containsAllSorted(c);
+        }
+        Predicate<E> has = membership(this, c.size());
         for (E element : c) {
-            if (!contains(element)) {
+            if (!has.test(element)) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * containsAll for two sets sorted by the same order, one merge walk over both
+     * @param c sorted set whose elements are checked
+     * @return true if all elements of c are in this set
+     */
+    private boolean containsAllSorted(Collection<E> c) {
+        Comparator<? super E> cmp = ((NavigableSet<E>) this).comparator();
+        Iterator<E> mine = iterator();
+        for (E e : c) {
+            int r;
+            do {
+                if (!mine.hasNext()) {
+                    return false;
+                }
+                r = cmp.compare(mine.next(), e);
+            } while (r < 0);
+            if (r > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * checks if two collections are sets iterating in the same order,
+     * so bulk operations on them can walk both iterators side by side
+     * @param a first collection
+     * @param b second collection
+     * @return true if both are navigable sets with the same comparator
+     */
+    private static boolean sameOrder(Collection<?> a, Collection<?> b) {
+        if (!(a instanceof NavigableSet) || !(b instanceof NavigableSet)) {
+            return false;
+        }
+        Comparator<?> ca = ((NavigableSet<?>) a).comparator();
+        Comparator<?> cb = ((NavigableSet<?>) b).comparator();
+        if (ca == cb) {
+            return true;
+        }
+        // the natural order comparators are stateless, every tree gets its own instance
+        return ca != null && cb != null && ca.getClass() == cb.getClass()
+                && (ca instanceof DefaultTreeComparator || ca instanceof ComparableComparator);
+    }
+
+    /**
+     * gets a membership test answering like c.contains for a number of probes.
+     * Sets, small collections and collections compared by a custom comparator, whose hash may disagree with it,
+     * are asked directly, other collections are copied once into a temporary hash index keyed by their equivalence,
+     * so the probes cost O(1) instead of a scan each.
+     * @param c collection to test against
+     * @param probes expected number of tests
+     * @param <E> element type
+     * @return predicate true for the elements contained in c
+     */
+    protected static <E> Predicate<E> membership(Collection<E> c, int probes) {
+        if (c instanceof Set || c.size() <= INDEX_THRESHOLD || probes <= INDEX_THRESHOLD) {
+            return c::contains;
+        }
+        Equivalence<? super E> eq = c instanceof AbstractCollection
+                ? ((AbstractCollection<E>) c).equivalence() : Equivalence.natural();
+        if (eq instanceof ComparatorEquivalence) {
+            return c::contains;
+        }
+        OpenHashSet<E> index = new OpenHashSet<>(eq, (int) (c.size() / AbstractHashSet.DEFAULT_MAX_LOAD_FACTOR) + 1);
+        boolean hasNull = false;
+        for (E e : c) {
+            if (e == null) {
+                hasNull = true;
+            } else {
+                index.add(e);
+            }
+        }
+        if (hasNull) {
+            return e -> e == null || index.contains(e);
+        }
+        return index::contains;
+    }
+
     @Override
     public boolean addAll(Collection<E> c) {
         boolean added = false;
@@ -126,15 +260,16 @@ public abstract class AbstractCollection<E> implements Collection<E> {
         if (c == null) {
             throw new NullPointerException();
         }
-        boolean removed = false;
-        Iterator<E> it = iterator();
-        while (it.hasNext()) {
-            if (c.contains(it.next())) {
-                it.remove();
-                removed = true;
-            }
+        return removeIf(membership(c, size()));
+    }
+
+    @Override
+    public boolean retainAll(Collection<E> c) {
+        if (c == null) {
+            throw new NullPointerException();
         }
-        return removed;
+        Predicate<E> has = membership(c, size());
+        return removeIf(e -> !has.test(e));
     }
 
     @Override
@@ -180,6 +315,26 @@ public abstract class AbstractCollection<E> implements Collection<E> {
             return false;
         }
         AbstractCollection<E> c1 = ((AbstractCollection<E>) c);
+        if (sameOrder(this, c1)) {
+            return equalsSorted(c1);
+        }
         return containsAll(c1);
     }
+
+    /**
+     * equals for two sets of the same size sorted by the same order, one merge walk over both
+     * @param c sorted set to compare with
+     * @return true if both iterate the same elements
+     */
+    private boolean equalsSorted(Collection<E> c) {
+        Comparator<? super E> cmp = ((NavigableSet<E>) this).comparator();
+        Iterator<E> mine = iterator();
+        Iterator<E> theirs = c.iterator();
+        while (mine.hasNext() && theirs.hasNext()) {
+            if (cmp.compare(mine.next(), theirs.next()) != 0) {
+                return false;
+            }
+        }
+        return mine.hasNext() == theirs.hasNext();
+    }
 }
@@ -3,6 +3,9 @@ package my.util;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * abstract Hashset implementation, hash value method is abstract
@@ -48,23 +51,51 @@ public abstract class AbstractHashSet<E> extends AbstractCollection<E> implement
     }
 
     public AbstractHashSet(Comparator<E> c, double maxLoadFactor, int initialCapacity) {
+        this(Equivalence.of(c), maxLoadFactor, initialCapacity);
+        this.c = c;
+    }
+
+    public AbstractHashSet(Equivalence<? super E> eq) {
+        this(eq, DEFAULT_MAX_LOAD_FACTOR, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public AbstractHashSet(Equivalence<? super E> eq, int initialCapacity) {
+        this(eq, DEFAULT_MAX_LOAD_FACTOR, initialCapacity);
+    }
+
+    /**
+     * Constructor for AbstractHashSet from equivalence, maximum load factor and initial capacity
+     * @param eq equivalence deciding element equality, HashSet and OpenHashSet also hash by it
+     * @param maxLoadFactor load factor at which the table is grown
+     * @param initialCapacity initial number of buckets
+     */
+    public AbstractHashSet(Equivalence<? super E> eq, double maxLoadFactor, int initialCapacity) {
         if (maxLoadFactor < 0 || initialCapacity < 0) {
             throw new IllegalArgumentException("MaxLoadFactor and Initial Capacity must not be negative");
         }
         if (initialCapacity == 0) {
             throw new IllegalArgumentException("Initial Capacity cannot be 0");
         }
-        this.c = c;
+        setEquivalence(eq);
         this.maxLoadFactor = maxLoadFactor;
+        this.size = 0;
+        initTable(initialCapacity);
+    }
+
+    /**
+     * allocates the bucket array, called once from the constructor,
+     * subclasses with a different storage layout override this
+     * @param initialCapacity initial number of buckets
+     */
+    protected void initTable(int initialCapacity) {
         this.arr = new LinkedList[initialCapacity];
         this.arrSize = arr.length;
         initLists();
-        this.size = 0;
     }
 
     private void initLists() {
         for (int i = 0; i < arrSize; i++) {
-            arr[i] = new LinkedList<>(c);
+            arr[i] = new LinkedList<E>(equivalence());
         }
     }
 
@@ -105,6 +136,7 @@ public abstract class AbstractHashSet<E> extends AbstractCollection<E> implement
         arrSize = 2 * arrSize;
         arr = new LinkedList[arrSize];
         initLists();
+        size = 0;
         for (LinkedList<E> l : old) {
             for (E e : l) {
                 fastAdd(e);
@@ -119,18 +151,63 @@ public abstract class AbstractHashSet<E> extends AbstractCollection<E> implement
 
     @Override
     public boolean remove(E e) {
-        return arr[hashIndex(e)].remove(e);
+        if (arr[hashIndex(e)].remove(e)) {
+            size--;
+            return true;
+        }
+        return false;
     }
 
+    /**
+     * removes the elements of c by whichever side is smaller: each element of c is removed by hash lookup,
+     * or, if c is the larger one, this set is swept once testing every element against c
+     * @param c collection holding the elements to remove
+     * @return true if any element was removed
+     */
     @Override
     public boolean removeAll(Collection<E> c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c.size() > size) {
+            return removeIf(membership(c, size));
+        }
         boolean modified = false;
         for (E e : c) {
-            modified = arr[hashIndex(e)].remove(e);
+            modified |= remove(e);
         }
         return modified;
     }
 
+    /**
+     * removes all matching elements in one sweep over the buckets
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        boolean removed = false;
+        for (LinkedList<E> l : arr) {
+            int before = l.size();
+            if (l.removeIf(filter)) {
+                size -= before - l.size();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        for (LinkedList<E> l : arr) {
+            l.clear();
+        }
+        size = 0;
+    }
+
     private double loadFactor() {
         return arr.length == 0 ? 0 : size / arr.length;
     }
@@ -247,4 +324,80 @@ public abstract class AbstractHashSet<E> extends AbstractCollection<E> implement
             AbstractHashSet.this.size--;
         }
     }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new BucketSpliterator(0, -1, 0);
+    }
+
+    /**
+     * spliterator over a range of buckets, splits the bucket range in halves.
+     * The size is only exact before the first split, the halves estimate half of it each.
+     */
+    private class BucketSpliterator implements Spliterator<E> {
+        private int index;
+        /**
+         * exclusive end of the bucket range, -1 until first use
+         */
+        private int fence;
+        private int est;
+        /**
+         * iterator of the bucket being traversed
+         */
+        private Iterator<E> current;
+
+        private BucketSpliterator(int index, int fence, int est) {
+            this.index = index;
+            this.fence = fence;
+            this.est = est;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                est = size;
+                fence = arrSize;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            return new BucketSpliterator(lo, mid, est >>>= 1);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int hi = getFence();
+            while (current == null || !current.hasNext()) {
+                if (index >= hi) {
+                    current = null;
+                    return false;
+                }
+                current = arr[index++].iterator();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            getFence();
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return (fence < 0 || est == size ? Spliterator.SIZED : 0) | Spliterator.DISTINCT;
+        }
+    }
 }
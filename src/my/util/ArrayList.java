@@ -1,10 +1,15 @@
 package my.util;
 
-import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * ArrayList storing data in an array, length increased if needed when trying to add
@@ -20,13 +25,26 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
      */
     private int size;
     /**
-     * default initial length of array
+     * number of structural modifications, used by the sub list views to detect concurrent modification
+     */
+    protected int modCount;
+    /**
+     * decides how far the element array grows when it is full
+     */
+    private GrowthPolicy growthPolicy = GrowthPolicy.DOUBLING;
+    /**
+     * initial length of the array of a list created without capacity. The array is allocated lazily:
+     * the first add grows it to {@link GrowthPolicy#DEFAULT_CAPACITY}, so lists that stay empty allocate nothing
      */
     private static final int DEFAULT_INITIAL_CAPACITY = 0;
+    /**
+     * shared empty element array of lists created without capacity, replaced on the first add
+     */
+    private static final Object[] EMPTY_ELEMENTS = {};
 
     /**
      * Constructor for ArrayList from element, Comparator and initial array capacity
-     * @param e instance of ArrayList element, needed to initialize generic Array
+     * @param e instance of ArrayList element, unused as the elements are stored in an Object array
      * @param c comparator to compare list elements
      * @param initialCapacity initial array length
      */
@@ -37,7 +55,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     /**
      * Constructor for ArrayList from element and initial array length
      * using default comparator
-     * @param e instance of ArrayList element, needed to initialize generic Array
+     * @param e instance of ArrayList element, unused as the elements are stored in an Object array
      * @param initialCapacity initial array length
      */
     public ArrayList(E e, int initialCapacity) {
@@ -47,7 +65,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     /**
      * Constructor for ArrayList from element and comparator
      * using default initial array length
-     * @param e instance of ArrayList element, needed to initialize generic Array
+     * @param e instance of ArrayList element, unused as the elements are stored in an Object array
      * @param c comparator to compare list elements
      */
     public ArrayList(E e, Comparator<E> c) {
@@ -57,7 +75,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     /**
      * Constructor for ArrayList from list element only
      * using default initial array length and default comparator
-     * @param e instance of ArrayList element, needed to initialize generic Array
+     * @param e instance of ArrayList element, unused as the elements are stored in an Object array
      */
     public ArrayList(E e) {
         this(e, new DefaultComparator<E>(), DEFAULT_INITIAL_CAPACITY);
@@ -65,7 +83,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
 
     /**
      * Constructor for ArrayList from type of list element, comparator and initial array length
-     * @param elementType type of list elements, needed to initialize generic array
+     * @param elementType type of list elements, unused as the elements are stored in an Object array
      * @param c comparator instance to compare list elements
      * @param initialCapacity initial array length
      */
@@ -73,15 +91,36 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
         if (initialCapacity < 0) {
             throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
         }
-        arr = (E[]) Array.newInstance(elementType, initialCapacity);
+        arr = (E[]) (initialCapacity == 0 ? EMPTY_ELEMENTS : new Object[initialCapacity]);
         size = 0;
         this.c = c;
     }
 
+    /**
+     * Constructor for ArrayList from type of list element, equivalence and initial array length
+     * @param elementType type of list elements, unused as the elements are stored in an Object array
+     * @param eq equivalence deciding element equality in indexOf, contains and remove
+     * @param initialCapacity initial array length
+     */
+    public ArrayList(Class<?> elementType, Equivalence<? super E> eq, int initialCapacity) {
+        this(elementType, (Comparator<E>) null, initialCapacity);
+        setEquivalence(eq);
+    }
+
+    /**
+     * Constructor for ArrayList from type of list element and equivalence
+     * using default initial array length
+     * @param elementType type of list elements, unused as the elements are stored in an Object array
+     * @param eq equivalence deciding element equality in indexOf, contains and remove
+     */
+    public ArrayList(Class<?> elementType, Equivalence<? super E> eq) {
+        this(elementType, eq, DEFAULT_INITIAL_CAPACITY);
+    }
+
     /**
      * Constructor for ArrayList from component only
      * using default initial array length and default comparator
-     * @param elementType instance of ArrayList element, needed to initialize generic Array
+     * @param elementType instance of ArrayList element, unused as the elements are stored in an Object array
      */
     public ArrayList(Class<?> elementType) {
         this(elementType, new DefaultComparator<E>(), DEFAULT_INITIAL_CAPACITY);
@@ -90,7 +129,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     /**
      * Constructor for ArrayList from element and comparator
      * using default initial array length
-     * @param elementType instance of ArrayList element, needed to initialize generic Array
+     * @param elementType instance of ArrayList element, unused as the elements are stored in an Object array
      * @param c comparator to compare list elements
      */
     public ArrayList(Class<?> elementType, Comparator<E> c) {
@@ -100,7 +139,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     /**
      * Constructor for ArrayList from element and initial array length
      * using default comparator
-     * @param elementType instance of ArrayList element, needed to initialize generic Array
+     * @param elementType instance of ArrayList element, unused as the elements are stored in an Object array
      * @param initialCapacity initial array length
      */
     public ArrayList(Class<?> elementType, int initialCapacity) {
@@ -123,11 +162,10 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     }
 
     /**
-     * default constructor hidden
-     * element type or element sample needed for initialization
+     * Constructor for ArrayList using default initial array length and default comparator
      */
-    private ArrayList() {
-        //unused
+    public ArrayList() {
+        this(Object.class);
     }
 
     @Override
@@ -147,22 +185,103 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
 
     @Override
     public boolean add(E e) {
-        ensureCapacity();
+        if (size == arr.length) {
+            grow(size + 1);
+        }
         arr[size++] = e;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * adds a range of an array with a single array copy, the list grows at most once
+     * @param src array holding the elements to add
+     * @param off index of the first element to add
+     * @param len number of elements to add
+     * @return true if any element was added
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public boolean addAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException("Illegal Range: " + off + ", " + len + " (Length: " + src.length + ")");
+        }
+        if (len == 0) {
+            return false;
+        }
+        ensureCapacity(size + len);
+        System.arraycopy(src, off, arr, size, len);
+        size += len;
+        modCount++;
         return true;
     }
 
     /**
-     * ensures the length of array is high enough to add an element, if not it doubles the array length
+     * adds all elements of a collection, the list grows at most once. The element array of another
+     * ArrayList is copied with a single array copy, other collections are written into the array while iterating.
+     * @param c collection holding the elements to add
+     * @return true if any element was added
      */
-    private void ensureCapacity() {
-        if (size >= arr.length) {
-            int newCapacity = newCapacity();
-            if (arr.length == newCapacity) {
-                throw new OutOfMemoryError();
+    @Override
+    public boolean addAll(Collection<E> c) {
+        if (c instanceof ArrayList) {
+            ArrayList<E> other = (ArrayList<E>) c;
+            return addAll(other.arr, 0, other.size);
+        }
+        int numNew = c.size();
+        if (numNew == 0) {
+            return false;
+        }
+        ensureCapacity(size + numNew);
+        int n = size;
+        for (E e : c) {
+            if (n == arr.length) {
+                // the collection grew while iterating
+                grow(n + 1);
             }
-            arr = Rray.copyOf(arr, newCapacity);
+            arr[n++] = e;
+        }
+        size = n;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * ensures the element array holds at least the specified number of elements without growing again,
+     * grows it by the growth policy otherwise
+     * @param minCapacity number of elements the array must hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > arr.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * shrinks the element array to the size of the list
+     */
+    public void trimToSize() {
+        if (size < arr.length) {
+            arr = Arrays.copyOf(arr, size);
+        }
+    }
+
+    /**
+     * gets the length of the element array
+     * @return number of elements the list holds before it grows
+     */
+    public int capacity() {
+        return arr.length;
+    }
+
+    /**
+     * sets how far the element array grows when it is full, {@link GrowthPolicy#DOUBLING} by default
+     * @param growthPolicy growth policy
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        if (growthPolicy == null) {
+            throw new NullPointerException();
         }
+        this.growthPolicy = growthPolicy;
     }
 
     /**
@@ -171,14 +290,23 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 
     /**
-     * calculates the new capacity, if old capacity is 0, new will be 1, else the old capacity is doubled,
-     * limited by maximum capacity
-     * @return new array length
+     * grows the element array to the length calculated by the growth policy, at least to minCapacity
+     * and at most to the maximum capacity
+     * @param minCapacity number of elements the array must hold
      */
-    private int newCapacity() {
-        int oldCapacity = arr.length;
-        int newCapacity = oldCapacity == 0 ? 1 : 2 * oldCapacity;
-        return newCapacity > MAX_CAPACITY ? MAX_CAPACITY : newCapacity;
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        int newCapacity = growthPolicy.newCapacity(arr.length, minCapacity);
+        if (newCapacity < 0 || newCapacity > MAX_CAPACITY) {
+            // doubling overflowed
+            newCapacity = MAX_CAPACITY;
+        }
+        if (newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        }
+        arr = Arrays.copyOf(arr, newCapacity);
     }
 
     @Override
@@ -202,13 +330,13 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
             return;
         }
         checkIndex(index);
-        ensureCapacity();
-        int numMoved = size - index - 1;
-        if (numMoved > 0) {
-            System.arraycopy(arr, index, arr, index + 1, numMoved);
+        if (size == arr.length) {
+            grow(size + 1);
         }
+        System.arraycopy(arr, index, arr, index + 1, size - index);
         arr[index] = element;
         size++;
+        modCount++;
     }
 
     @Override
@@ -222,6 +350,7 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
             System.arraycopy(arr, index + 1, arr, index, numMoved);
         }
         arr[--size] = null;//let GC do its work
+        modCount++;
         return old;
     }
 
@@ -239,8 +368,9 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
 
     @Override
     public int indexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
         for (int i = 0; i < size; i++) {
-            if (c.compare(arr[i], e) == 0) {
+            if (equal(eq, e, arr[i])) {
                 return i;
             }
         }
@@ -252,20 +382,97 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
         if (c == null) {
             throw new NullPointerException();
         }
-        boolean removed = false;
-        for (int i = 0; i < arr.length; i++) {
-            if (c.contains(arr[i])) {
-                remove(i);
-                removed = true;
+        return removeIf(membership(c, size));
+    }
+
+    /**
+     * removes all matching elements by compacting the kept ones to the front of the array in one pass,
+     * if the filter throws, the elements not yet tested are kept
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return removeIf(0, size, filter) > 0;
+    }
+
+    /**
+     * removes all matching elements of a range by compacting the kept ones to its front in one pass
+     * and moving the elements behind the range up once, if the filter throws, the elements not yet tested are kept
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     * @param filter predicate returning true for the elements to remove
+     * @return number of removed elements
+     */
+    private int removeIf(int from, int to, Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        E[] a = arr;
+        int n = size;
+        int r = from;
+        int w = from;
+        try {
+            for (; r < to; r++) {
+                E e = a[r];
+                if (!filter.test(e)) {
+                    a[w++] = e;
+                }
+            }
+        } finally {
+            if (r != w) {
+                System.arraycopy(a, r, a, w, n - r);
+                int newSize = n - (r - w);
+                for (int i = newSize; i < n; i++) {
+                    a[i] = null;//let GC do its work
+                }
+                size = newSize;
+                modCount++;
             }
         }
-        return removed;
+        return r - w;
+    }
+
+    /**
+     * removes a range of elements with a single array copy
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     */
+    private void removeRange(int from, int to) {
+        System.arraycopy(arr, to, arr, from, size - to);
+        int newSize = size - (to - from);
+        Arrays.fill(arr, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) {
+            throw new NullPointerException();
+        }
+        E[] a = arr;
+        for (int i = 0; i < size; i++) {
+            a[i] = operator.apply(a[i]);
+        }
+    }
+
+    /**
+     * sorts the backing array in place using the stable merge sort algorithm
+     * ({@code Rray.mergeSort(T[] objects, int fromIndex, int toIndex, Comparator c)})
+     * @param c comparator on which the sorting is based
+     */
+    @Override
+    public void sort(Comparator<? extends E> c) {
+        Rray.mergeSort(arr, 0, size, (Comparator) c);
+        modCount++;
     }
 
     @Override
     public int lastIndexOf(E e) {
-        for (int i = size - 1; i > 0; i--) {
-            if (c.compare(arr[i], e) == 0) {
+        Equivalence<? super E> eq = equivalence();
+        for (int i = size - 1; i >= 0; i--) {
+            if (equal(eq, e, arr[i])) {
                 return i;
             }
         }
@@ -273,14 +480,14 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
     }
 
     @Override
-    public E[] toArray() {
-        return Rray.copyOf(arr, size);
+    public Object[] toArray() {
+        return Arrays.copyOf(arr, size, Object[].class);
     }
 
     @Override
     public <T> T[] toArray(T[] a) {
         if (a.length < size || a.length > size) {
-            return (T[]) Rray.copyOf(arr, size, a.getClass());
+            return (T[]) Arrays.copyOf(arr, size, a.getClass());
         }
         System.arraycopy(arr, 0, a, 0, size);
         return a;
@@ -288,10 +495,9 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
 
     @Override
     public void clear() {
-        for (int i = 0; i < arr.length; i++) {
-            arr[i] = null;
-        }
+        Arrays.fill(arr, 0, size, null);
         size = 0;
+        modCount++;
     }
 
     @Override
@@ -304,26 +510,281 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
         return new ListItr();
     }
 
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator(0, -1);
+    }
+
     @Override
     public ListIterator<E> listIterator(int index) {
         return new ListItr(index);
     }
 
+    /**
+     * gets a view of a range of the list backed by the element array, no elements are copied.
+     * Changes through the view are changes of the list, structural changes of the list other than
+     * through the view make the view throw a {@code ConcurrentModificationException}.
+     * @param fromIndex inclusive index in actual list that holds the first element of sublist
+     * @param toIndex exclusive (this index - 1 in actual list holds the last element of sublist)
+     * @return view of the range
+     */
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
-        checkIndex(fromIndex);
-        checkIndex(toIndex - 1);
-        if (fromIndex > toIndex) {
-            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        checkRange(fromIndex, toIndex);
+        return new SubList(null, fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * view of an index range of the element array, nested views hold their enclosing view
+     * to pass size changes up
+     */
+    private class SubList extends AbstractCollection<E> implements List<E> {
+        /**
+         * enclosing view, null if the view is on the list itself
+         */
+        private final SubList parent;
+        /**
+         * index of the first element of the view in the element array
+         */
+        private final int offset;
+        private int size;
+        /**
+         * modCount of the list seen by this view
+         */
+        private int expectedModCount;
+
+        private SubList(SubList parent, int offset, int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+            this.c = ArrayList.this.c;
+            this.eq = ArrayList.this.equivalence();
+            this.expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
         }
-        int subSize = toIndex - fromIndex;
-        E first = this.get(fromIndex);
-        List<E> sub = new ArrayList<E>(first, subSize);
-        sub.add(first);
-        for (int i = fromIndex + 1; i < toIndex; i++) {
-            sub.add(arr[i]);
+
+        /**
+         * changes the size of this view and of the enclosing views after a change through it
+         * @param delta size change
+         */
+        private void updateSize(int delta) {
+            for (SubList s = this; s != null; s = s.parent) {
+                s.size += delta;
+                s.expectedModCount = modCount;
+            }
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            checkIndex(index);
+            return arr[offset + index];
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkForComodification();
+            checkIndex(index);
+            E old = arr[offset + index];
+            arr[offset + index] = element;
+            return old;
+        }
+
+        @Override
+        public boolean add(E e) {
+            add(size(), e);
+            return true;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            ArrayList.this.add(offset + index, element);
+            updateSize(1);
+        }
+
+        @Override
+        public E remove(int index) {
+            checkForComodification();
+            checkIndex(index);
+            E old = ArrayList.this.remove(offset + index);
+            updateSize(-1);
+            return old;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super E> filter) {
+            checkForComodification();
+            int removed = ArrayList.this.removeIf(offset, offset + size, filter);
+            if (removed > 0) {
+                updateSize(-removed);
+            }
+            return removed > 0;
+        }
+
+        @Override
+        public void clear() {
+            checkForComodification();
+            if (size > 0) {
+                removeRange(offset, offset + size);
+                updateSize(-size);
+            }
+        }
+
+        @Override
+        public int indexOf(E e) {
+            checkForComodification();
+            Equivalence<? super E> eq = equivalence();
+            for (int i = 0; i < size; i++) {
+                if (equal(eq, e, arr[offset + i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(E e) {
+            checkForComodification();
+            Equivalence<? super E> eq = equivalence();
+            for (int i = size - 1; i >= 0; i--) {
+                if (equal(eq, e, arr[offset + i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(E e) {
+            return indexOf(e) >= 0;
+        }
+
+        @Override
+        public Object[] toArray() {
+            checkForComodification();
+            return Arrays.copyOfRange(arr, offset, offset + size, Object[].class);
+        }
+
+        @Override
+        public void sort(Comparator<? extends E> c) {
+            checkForComodification();
+            Rray.mergeSort(arr, offset, offset + size, (Comparator) c);
+            modCount++;
+            updateSize(0);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            return new ListIterator<E>() {
+                int cursor = index;
+                int lastReturned = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @Override
+                public E next() {
+                    checkForComodification();
+                    if (cursor >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    lastReturned = cursor++;
+                    return arr[offset + lastReturned];
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return cursor > 0;
+                }
+
+                @Override
+                public E previous() {
+                    checkForComodification();
+                    if (cursor <= 0) {
+                        throw new NoSuchElementException();
+                    }
+                    lastReturned = --cursor;
+                    return arr[offset + lastReturned];
+                }
+
+                @Override
+                public int nextIndex() {
+                    return cursor;
+                }
+
+                @Override
+                public int previousIndex() {
+                    return cursor - 1;
+                }
+
+                @Override
+                public void remove() {
+                    if (lastReturned < 0) {
+                        throw new IllegalStateException("Cannot remove before first next() method call");
+                    }
+                    SubList.this.remove(lastReturned);
+                    cursor = lastReturned;
+                    lastReturned = -1;
+                }
+
+                @Override
+                public void set(E e) {
+                    if (lastReturned < 0) {
+                        throw new IllegalStateException();
+                    }
+                    SubList.this.set(lastReturned, e);
+                }
+
+                @Override
+                public void add(E e) {
+                    SubList.this.add(cursor++, e);
+                    lastReturned = -1;
+                }
+            };
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            checkRange(fromIndex, toIndex);
+            return new SubList(this, offset + fromIndex, toIndex - fromIndex);
         }
-        return sub;
     }
 
     /**
@@ -332,23 +793,29 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
      */
     private class ListItr implements ListIterator<E> {
 
-        E current;
-
+        /**
+         * index of the element returned by the next call of next()
+         */
         int index;
 
+        /**
+         * index of the element returned by the last call of next() or previous(), -1 if none
+         */
+        int lastReturned;
+
         private ListItr(int index) {
-            checkIndex(index);
-            current = get(index);
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
             this.index = index;
+            this.lastReturned = -1;
         }
 
         private ListItr() {
-            current = get(0);
-            this.index = 0;
+            this(0);
         }
 
         @Override
-
         public boolean hasNext() {
             return index < size;
         }
@@ -358,8 +825,8 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            current = get(index++);
-            return current;
+            lastReturned = index++;
+            return arr[lastReturned];
         }
 
         @Override
@@ -372,13 +839,13 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
             if (!hasPrevious()) {
                 throw new NoSuchElementException();
             }
-            current = get(--index);
-            return current;
+            lastReturned = --index;
+            return arr[lastReturned];
         }
 
         @Override
         public int nextIndex() {
-            return index + 1;
+            return index;
         }
 
         @Override
@@ -388,21 +855,97 @@ public class ArrayList<E> extends AbstractCollection<E> implements List<E> {
 
         @Override
         public void remove() {
-            ArrayList.this.remove(index);
-            if (hasPrevious()) {
-                current = previous();
-//                index--;
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Cannot remove before first next() method call");
             }
+            ArrayList.this.remove(lastReturned);
+            index = lastReturned;
+            lastReturned = -1;
         }
 
         @Override
         public void set(E e) {
-            ArrayList.this.set(index, e);
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            ArrayList.this.set(lastReturned, e);
         }
 
         @Override
         public void add(E e) {
-            ArrayList.this.add(index, e);
+            ArrayList.this.add(index++, e);
+            lastReturned = -1;
+        }
+    }
+
+    /**
+     * spliterator over an index range of the element array, splits the range in halves,
+     * the end of the range is bound to the size on first use
+     */
+    private class ArraySpliterator implements Spliterator<E> {
+        private int index;
+        /**
+         * exclusive end of the range, -1 until first use
+         */
+        private int fence;
+
+        private ArraySpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new ArraySpliterator(lo, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index < getFence()) {
+                action.accept(arr[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            E[] a = arr;
+            int hi = getFence();
+            for (int i = index; i < hi; i++) {
+                action.accept(a[i]);
+            }
+            index = hi;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
         }
     }
 }
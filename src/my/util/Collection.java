@@ -1,6 +1,11 @@
 package my.util;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * interface for a collection that declares all needed methods for a collection
@@ -39,10 +44,36 @@ public interface Collection<E> extends Iterable<E> {
     Iterator<E> descendingIterator();
 
     /**
-     * converts the collection to array
-     * @return generic array holding all collection elements
+     * creates a spliterator over the collection, the default one is fed by the iterator and reports the size,
+     * collections with an indexable storage override it with one that splits the storage in halves
+     * @return spliterator over the elements
      */
-    E[] toArray();
+    @Override
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), 0);
+    }
+
+    /**
+     * creates a sequential stream over the collection
+     * @return stream of the elements
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * creates a possibly parallel stream over the collection, it is split as far as the spliterator allows
+     * @return parallel stream of the elements
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * copies the elements into a new array, use {@link #toArray(Object[])} for an array of the element type
+     * @return Object array holding all collection elements in iteration order
+     */
+    Object[] toArray();
 
     /**
      * converts the collection to array into a specified array if length fits and cast is possible
@@ -87,6 +118,39 @@ public interface Collection<E> extends Iterable<E> {
      */
     boolean removeAll(Collection<E> c);
 
+    /**
+     * removes all elements matching a predicate in a single pass over the collection,
+     * the default one removes through the iterator
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    default boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        boolean removed = false;
+        Iterator<E> it = iterator();
+        while (it.hasNext()) {
+            if (filter.test(it.next())) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * removes all elements that are not in a specified collection, in a single pass over this collection
+     * @param c collection holding the elements to keep
+     * @return true if any element was removed
+     */
+    default boolean retainAll(Collection<E> c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        return removeIf(e -> !c.contains(e));
+    }
+
     /**
      * clears the collection
      */
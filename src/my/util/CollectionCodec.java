@@ -0,0 +1,339 @@
+package my.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * compact binary format for collections and a streaming encoder / decoder for it.
+ * The elements are written one after another by an {@link ElementCodec} and grouped into chunks of about
+ * chunkSize bytes, every chunk is prefixed by its length in bytes, its number of elements and,
+ * if enabled, the CRC32 of its bytes. Layout (big-endian):
+ * <pre>
+ * header: int magic, byte version, byte flags (1 = checksums)
+ * chunk:  int length, int count, [int crc32], length bytes of elements
+ * end:    int 0
+ * </pre>
+ * Any collection can be encoded and decoded into any collection, e.g. a TreeSet into an ArrayList.
+ * Decoding from a ByteBuffer (heap, direct or mapped) reads the elements in place without copying the chunks,
+ * decoding from an InputStream reads chunk by chunk into one reused buffer.
+ * A codec instance is not thread-safe.
+ * @param <E> element type
+ */
+public class CollectionCodec<E> {
+
+    private static final int MAGIC = 0x4D59434C; // "MYCL"
+    private static final byte VERSION = 1;
+    private static final byte FLAG_CHECKSUM = 1;
+    private static final int HEADER = 6;
+    /**
+     * default number of element bytes after which a chunk is closed
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    private final ElementCodec<E> codec;
+    private final boolean checksum;
+    private final int chunkSize;
+    private final int chunkHeader;
+    private final CRC32 crc = new CRC32();
+    /**
+     * chunk buffer of the stream encoder and decoder, grown if an element does not fit
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Constructor for CollectionCodec from element codec, checksum option and chunk size
+     * @param codec codec for single elements
+     * @param checksum if every chunk is written with a CRC32 of its bytes
+     * @param chunkSize number of element bytes after which a chunk is closed
+     */
+    public CollectionCodec(ElementCodec<E> codec, boolean checksum, int chunkSize) {
+        if (codec == null) {
+            throw new NullPointerException();
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        }
+        this.codec = codec;
+        this.checksum = checksum;
+        this.chunkSize = chunkSize;
+        this.chunkHeader = checksum ? 12 : 8;
+    }
+
+    /**
+     * Constructor for CollectionCodec from element codec and checksum option using the default chunk size
+     * @param codec codec for single elements
+     * @param checksum if every chunk is written with a CRC32 of its bytes
+     */
+    public CollectionCodec(ElementCodec<E> codec, boolean checksum) {
+        this(codec, checksum, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor for CollectionCodec from element codec, with checksums and the default chunk size
+     * @param codec codec for single elements
+     */
+    public CollectionCodec(ElementCodec<E> codec) {
+        this(codec, true, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * encodes a collection at the position of a buffer, elements are written right into the buffer.
+     * On success the position is advanced past the data, otherwise the position is unchanged.
+     * @param c collection to encode
+     * @param out buffer to write into
+     * @throws BufferOverflowException if the data does not fit into the remaining bytes
+     */
+    public void encode(Iterable<? extends E> c, ByteBuffer out) {
+        ByteBuffer buf = out.duplicate().order(ByteOrder.BIG_ENDIAN); // the caller's position stays untouched on failure
+        buf.putInt(MAGIC).put(VERSION).put(checksum ? FLAG_CHECKSUM : 0);
+        int chunkStart = -1;
+        int count = 0;
+        for (E e : c) {
+            if (chunkStart < 0) {
+                chunkStart = buf.position();
+                buf.position(chunkStart + chunkHeader);
+            }
+            codec.write(e, buf);
+            count++;
+            if (buf.position() - chunkStart - chunkHeader >= chunkSize) {
+                finishChunk(buf, chunkStart, count);
+                chunkStart = -1;
+                count = 0;
+            }
+        }
+        if (chunkStart >= 0) {
+            finishChunk(buf, chunkStart, count);
+        }
+        buf.putInt(0);
+        out.position(buf.position());
+    }
+
+    /**
+     * encodes a collection into a stream, one chunk at a time
+     * @param c collection to encode
+     * @param out stream to write into, not closed
+     * @throws IOException if writing to the stream fails
+     */
+    public void encode(Iterable<? extends E> c, OutputStream out) throws IOException {
+        ByteBuffer buf = buffer();
+        buf.putInt(MAGIC).put(VERSION).put(checksum ? FLAG_CHECKSUM : 0);
+        out.write(buf.array(), 0, HEADER);
+        buf.clear();
+        buf.position(chunkHeader);
+        int count = 0;
+        for (E e : c) {
+            int mark = buf.position();
+            for (;;) {
+                try {
+                    codec.write(e, buf);
+                    break;
+                } catch (BufferOverflowException overflow) {
+                    buf = grow(buf, mark);
+                }
+            }
+            count++;
+            if (buf.position() - chunkHeader >= chunkSize) {
+                finishChunk(buf, 0, count);
+                out.write(buf.array(), 0, buf.position());
+                buf.clear();
+                buf.position(chunkHeader);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            finishChunk(buf, 0, count);
+            out.write(buf.array(), 0, buf.position());
+        }
+        buf.clear();
+        buf.putInt(0);
+        out.write(buf.array(), 0, 4);
+        buf.clear();
+    }
+
+    /**
+     * writes the header of a chunk once its elements are written
+     * @param buf buffer positioned after the last element of the chunk
+     * @param chunkStart position of the chunk header
+     * @param count number of elements in the chunk
+     */
+    private void finishChunk(ByteBuffer buf, int chunkStart, int count) {
+        int length = buf.position() - chunkStart - chunkHeader;
+        buf.putInt(chunkStart, length);
+        buf.putInt(chunkStart + 4, count);
+        if (checksum) {
+            buf.putInt(chunkStart + 8, checksum(buf, chunkStart + chunkHeader, length));
+        }
+    }
+
+    private int checksum(ByteBuffer buf, int from, int length) {
+        crc.reset();
+        if (buf.hasArray()) {
+            crc.update(buf.array(), buf.arrayOffset() + from, length);
+        } else {
+            ByteBuffer bytes = buf.duplicate();
+            bytes.limit(from + length);
+            bytes.position(from);
+            crc.update(bytes);
+        }
+        return (int) crc.getValue();
+    }
+
+    private ByteBuffer buffer() {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(chunkSize + chunkHeader + 64);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * doubles the chunk buffer keeping its first bytes
+     * @param buf buffer to grow
+     * @param keep number of bytes to keep, the new buffer is positioned after them
+     * @return larger buffer
+     */
+    private ByteBuffer grow(ByteBuffer buf, int keep) {
+        if (buf.capacity() > Integer.MAX_VALUE / 2) {
+            throw new OutOfMemoryError();
+        }
+        ByteBuffer larger = ByteBuffer.allocate(2 * buf.capacity());
+        larger.put(buf.array(), 0, keep);
+        buffer = larger;
+        return larger;
+    }
+
+    /**
+     * decodes a collection at the position of a buffer and adds its elements to a target collection,
+     * the elements are read in place. On success the position is advanced past the data.
+     * @param in buffer to read from
+     * @param target collection to add the elements to
+     * @param <C> type of the target collection
+     * @return the target collection
+     * @throws CorruptedDataException if the data is malformed, truncated or a checksum does not match
+     */
+    public <C extends Collection<E>> C decode(ByteBuffer in, C target) {
+        ByteBuffer buf = in.duplicate().order(ByteOrder.BIG_ENDIAN); // the limit is moved to every chunk end
+        try {
+            boolean checked = readHeader(buf.getInt(), buf.get(), buf.get());
+            int chunkHeaderSize = checked ? 12 : 8;
+            for (;;) {
+                int length = buf.getInt();
+                if (length == 0) {
+                    break;
+                }
+                int count = buf.getInt();
+                int crc32 = checked ? buf.getInt() : 0;
+                int start = buf.position();
+                if (length < 0 || count <= 0 || length > buf.remaining()) {
+                    throw new CorruptedDataException("Malformed chunk at " + (start - chunkHeaderSize));
+                }
+                if (checked && checksum(buf, start, length) != crc32) {
+                    throw new CorruptedDataException("Checksum mismatch in chunk at " + (start - chunkHeaderSize));
+                }
+                readChunk(buf, start + length, count, target);
+                buf.limit(in.limit());
+            }
+        } catch (BufferUnderflowException e) {
+            throw new CorruptedDataException("Truncated data");
+        }
+        in.position(buf.position());
+        return target;
+    }
+
+    /**
+     * decodes a collection from a stream and adds its elements to a target collection,
+     * the stream is read up to the end of the data
+     * @param in stream to read from, not closed
+     * @param target collection to add the elements to
+     * @param <C> type of the target collection
+     * @return the target collection
+     * @throws IOException if reading from the stream fails or the stream ends before the data
+     * @throws CorruptedDataException if the data is malformed or a checksum does not match
+     */
+    public <C extends Collection<E>> C decode(InputStream in, C target) throws IOException {
+        ByteBuffer buf = buffer();
+        readFully(in, buf, HEADER);
+        boolean checked = readHeader(buf.getInt(), buf.get(), buf.get());
+        int chunkHeaderSize = checked ? 12 : 8;
+        for (;;) {
+            buf.clear();
+            readFully(in, buf, 4);
+            int length = buf.getInt();
+            if (length == 0) {
+                break;
+            }
+            if (length < 0) {
+                throw new CorruptedDataException("Malformed chunk");
+            }
+            buf.clear();
+            readFully(in, buf, chunkHeaderSize - 4);
+            int count = buf.getInt();
+            int crc32 = checked ? buf.getInt() : 0;
+            if (count <= 0) {
+                throw new CorruptedDataException("Malformed chunk");
+            }
+            while (buf.capacity() < length) {
+                buf = grow(buf, 0);
+            }
+            buf.clear();
+            readFully(in, buf, length);
+            if (checked && checksum(buf, 0, length) != crc32) {
+                throw new CorruptedDataException("Checksum mismatch");
+            }
+            try {
+                readChunk(buf, length, count, target);
+            } catch (BufferUnderflowException e) {
+                throw new CorruptedDataException("Truncated chunk");
+            }
+        }
+        buf.clear();
+        return target;
+    }
+
+    private static boolean readHeader(int magic, byte version, byte flags) {
+        if (magic != MAGIC) {
+            throw new CorruptedDataException("Not a collection");
+        }
+        if (version != VERSION) {
+            throw new CorruptedDataException("Unsupported version: " + version);
+        }
+        return (flags & FLAG_CHECKSUM) != 0;
+    }
+
+    /**
+     * reads the elements of one chunk, the buffer is limited to the chunk end
+     */
+    private void readChunk(ByteBuffer buf, int end, int count, Collection<E> target) {
+        buf.limit(end);
+        for (int i = 0; i < count; i++) {
+            target.add(codec.read(buf));
+        }
+        if (buf.position() != end) {
+            throw new CorruptedDataException("Chunk length does not match its elements");
+        }
+    }
+
+    /**
+     * reads exactly n bytes from the stream to the start of the buffer, the buffer is flipped afterwards
+     */
+    private static void readFully(InputStream in, ByteBuffer buf, int n) throws IOException {
+        byte[] a = buf.array();
+        int read = 0;
+        while (read < n) {
+            int r = in.read(a, read, n - read);
+            if (r < 0) {
+                throw new EOFException();
+            }
+            read += r;
+        }
+        buf.position(0);
+        buf.limit(n);
+    }
+}
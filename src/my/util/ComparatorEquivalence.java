@@ -0,0 +1,30 @@
+package my.util;
+
+import java.util.Comparator;
+
+/**
+ * equivalence adapting a comparator: elements are equal if they compare as 0, they are hashed by hashCode.
+ * The hash only agrees with the equality if elements comparing as 0 have the same hash code,
+ * which a custom comparator does not promise, so temporary hash indexes are not built on it.
+ * @param <E> element type
+ */
+final class ComparatorEquivalence<E> implements Equivalence<E> {
+    /**
+     * adapted comparator
+     */
+    private final Comparator<? super E> c;
+
+    ComparatorEquivalence(Comparator<? super E> c) {
+        this.c = c;
+    }
+
+    @Override
+    public boolean equivalent(E a, E b) {
+        return c.compare(a, b) == 0;
+    }
+
+    @Override
+    public int hash(E e) {
+        return e == null ? 0 : e.hashCode();
+    }
+}
@@ -0,0 +1,400 @@
+package my.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free unbounded double ended queue for any number of threads, in the style of
+ * {@code java.util.concurrent.ConcurrentLinkedDeque}. The nodes form a chain linked in both directions,
+ * exactly one node has no predecessor (the first) and exactly one has no successor (the last).
+ * offerFirst and offerLast link a new node with one compare-and-set on the free link of the first or last node,
+ * the link back from the new node is written before it is published.
+ * Polls and removes unset the element of a node with a compare-and-set, afterwards runs of nodes without element
+ * are skipped in both directions with a compare-and-set on one link each. A link only ever skips nodes
+ * without element, so every element stays reachable from both ends; the first and last node stay linked
+ * as offers append to them. head and tail are hints from which the first and last node are searched.
+ * size() is kept in a counter and is only an estimate while other threads modify the deque,
+ * iterators are weakly consistent.
+ * null elements are not permitted
+ */
+public class ConcurrentDeque<E> extends AbstractCollection<E> implements Deque<E> {
+
+    private static final class Node<E> {
+        volatile E item;
+        volatile Node<E> prev;
+        volatile Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+
+        boolean casItem(E expected, E item) {
+            return ITEM.compareAndSet(this, expected, item);
+        }
+
+        boolean casPrev(Node<E> expected, Node<E> prev) {
+            return PREV.compareAndSet(this, expected, prev);
+        }
+
+        boolean casNext(Node<E> expected, Node<E> next) {
+            return NEXT.compareAndSet(this, expected, next);
+        }
+
+        private static final AtomicReferenceFieldUpdater<Node<?>, Object> ITEM =
+                updater(Node.class, Object.class, "item");
+        private static final AtomicReferenceFieldUpdater<Node<?>, Node<?>> PREV =
+                updater(Node.class, Node.class, "prev");
+        private static final AtomicReferenceFieldUpdater<Node<?>, Node<?>> NEXT =
+                updater(Node.class, Node.class, "next");
+    }
+
+    /**
+     * creates a field updater typed with the generic holder and field types, class literals only give raw types
+     * @param holder class declaring the field
+     * @param type field type
+     * @param name field name
+     * @param <T> generic holder type
+     * @param <V> generic field type
+     * @return field updater
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, V> AtomicReferenceFieldUpdater<T, V> updater(Class<?> holder, Class<?> type, String name) {
+        return (AtomicReferenceFieldUpdater<T, V>) AtomicReferenceFieldUpdater.newUpdater(holder, type, name);
+    }
+
+    /**
+     * node from which the first node is reached through the prev links
+     */
+    private volatile Node<E> head;
+    /**
+     * node from which the last node is reached through the next links
+     */
+    private volatile Node<E> tail;
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor for ConcurrentDeque from a comparator
+     * @param c comparator instance used to compare deque elements in contains and remove
+     */
+    public ConcurrentDeque(Comparator<E> c) {
+        this.c = c;
+        Node<E> dummy = new Node<>(null);
+        this.head = dummy;
+        this.tail = dummy;
+    }
+
+    /**
+     * Constructor for ConcurrentDeque using a default comparator
+     */
+    public ConcurrentDeque() {
+        this(new DefaultComparator<E>());
+    }
+
+    /**
+     * searches the node without predecessor, any node leads there, so the hint is written without compare-and-set
+     * @return first node
+     */
+    private Node<E> first() {
+        Node<E> h = head;
+        Node<E> p = h;
+        for (Node<E> q = p.prev; q != null; q = p.prev) {
+            p = q;
+        }
+        if (p != h) {
+            head = p;
+        }
+        return p;
+    }
+
+    /**
+     * searches the node without successor, any node leads there, so the hint is written without compare-and-set
+     * @return last node
+     */
+    private Node<E> last() {
+        Node<E> t = tail;
+        Node<E> p = t;
+        for (Node<E> q = p.next; q != null; q = p.next) {
+            p = q;
+        }
+        if (p != t) {
+            tail = p;
+        }
+        return p;
+    }
+
+    /**
+     * lets the next link of a node skip the following nodes without element, stops at the last node.
+     * A failed compare-and-set means another thread changed the link and is ignored
+     * @param pred node whose next link is updated
+     */
+    private static <E> void skipDeletedSuccessors(Node<E> pred) {
+        Node<E> n = pred.next;
+        if (n == null) {
+            return;
+        }
+        Node<E> s = n;
+        for (Node<E> q = s.next; s.item == null && q != null; q = s.next) {
+            s = q;
+        }
+        if (s != n) {
+            pred.casNext(n, s);
+        }
+    }
+
+    /**
+     * lets the prev link of a node skip the preceding nodes without element, stops at the first node.
+     * A failed compare-and-set means another thread changed the link and is ignored
+     * @param succ node whose prev link is updated
+     */
+    private static <E> void skipDeletedPredecessors(Node<E> succ) {
+        Node<E> n = succ.prev;
+        if (n == null) {
+            return;
+        }
+        Node<E> s = n;
+        for (Node<E> q = s.prev; s.item == null && q != null; q = s.prev) {
+            s = q;
+        }
+        if (s != n) {
+            succ.casPrev(n, s);
+        }
+    }
+
+    /**
+     * unlinks a node whose element was removed together with its neighbours without element
+     * from both directions, the first and last node are kept
+     * @param p node without element
+     */
+    private static <E> void unlink(Node<E> p) {
+        Node<E> pred = p;
+        for (Node<E> q = pred.prev; q != null && pred.item == null; q = pred.prev) {
+            pred = q;
+        }
+        Node<E> succ = p;
+        for (Node<E> q = succ.next; q != null && succ.item == null; q = succ.next) {
+            succ = q;
+        }
+        skipDeletedSuccessors(pred);
+        skipDeletedPredecessors(succ);
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        Node<E> node = new Node<>(e);
+        for (;;) {
+            Node<E> f = first();
+            node.next = f;
+            if (f.casPrev(null, node)) {
+                head = node;
+                count.increment();
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        Node<E> node = new Node<>(e);
+        for (;;) {
+            Node<E> l = last();
+            node.prev = l;
+            if (l.casNext(null, node)) {
+                tail = node;
+                count.increment();
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    public E pollFirst() {
+        for (Node<E> p = first(); p != null; p = p.next) {
+            E item = p.item;
+            if (item != null && p.casItem(item, null)) {
+                count.decrement();
+                unlink(p);
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E pollLast() {
+        for (Node<E> p = last(); p != null; p = p.prev) {
+            E item = p.item;
+            if (item != null && p.casItem(item, null)) {
+                count.decrement();
+                unlink(p);
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E peekFirst() {
+        for (Node<E> p = first(); p != null; p = p.next) {
+            E item = p.item;
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E peekLast() {
+        for (Node<E> p = last(); p != null; p = p.prev) {
+            E item = p.item;
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peekFirst() == null;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        if (e == null) {
+            return false;
+        }
+        Equivalence<? super E> eq = equivalence();
+        for (Node<E> p = first(); p != null; p = p.next) {
+            E item = p.item;
+            if (item != null && equal(eq, e, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(E e) {
+        if (e == null) {
+            return false;
+        }
+        Equivalence<? super E> eq = equivalence();
+        for (Node<E> p = first(); p != null; p = p.next) {
+            E item = p.item;
+            if (item != null && equal(eq, e, item) && p.casItem(item, null)) {
+                count.decrement();
+                unlink(p);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        while (pollFirst() != null) {
+            // drains the deque, elements offered meanwhile may stay
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new DequeItr(true);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new DequeItr(false);
+    }
+
+    /**
+     * weakly consistent spliterator fed by the iterator, the size is an estimate
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.CONCURRENT | Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * weakly consistent iterator following the next links from the first node or the prev links from the last node,
+     * nodes without element are skipped
+     */
+    private class DequeItr implements Iterator<E> {
+        private final boolean ascending;
+        private Node<E> nextNode;
+        private E nextItem;
+        private Node<E> lastNode;
+        private E lastItem;
+
+        private DequeItr(boolean ascending) {
+            this.ascending = ascending;
+            advance(ascending ? first() : last());
+        }
+
+        private void advance(Node<E> p) {
+            for (; p != null; p = ascending ? p.next : p.prev) {
+                E item = p.item;
+                if (item != null) {
+                    nextNode = p;
+                    nextItem = item;
+                    return;
+                }
+            }
+            nextNode = null;
+            nextItem = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = nextNode;
+            lastItem = nextItem;
+            advance(ascending ? nextNode.next : nextNode.prev);
+            return lastItem;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            if (lastNode.casItem(lastItem, null)) {
+                count.decrement();
+                unlink(lastNode);
+            }
+            lastNode = null;
+            lastItem = null;
+        }
+    }
+}
@@ -0,0 +1,524 @@
+package my.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe hash set using chaining in a power-of-two table.
+ * contains and the iterators never lock, add and remove lock only the first node of the affected bin.
+ * The size is kept in a {@link LongAdder} so that concurrent updates do not contend on one counter.
+ * When the table is resized every thread that touches it helps to move bins into the new table,
+ * claiming strides of bins from the top of the old table; moved bins are marked with a forwarding node
+ * that redirects readers and writers to the new table.
+ * Iterators are weakly consistent: they never throw ConcurrentModificationException and see every element
+ * that is present for the whole iteration at least once.
+ * null elements are not permitted
+ */
+public class ConcurrentHashSet<E> extends AbstractCollection<E> implements Set<E> {
+
+    /**
+     * hash of forwarding nodes, element hashes are never negative
+     */
+    private static final int MOVED = -1;
+    /**
+     * mask keeping element hashes non-negative
+     */
+    private static final int HASH_BITS = 0x7fffffff;
+    /**
+     * maximum table length
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+    /**
+     * minimum number of bins a thread claims at once during a transfer
+     */
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    protected static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * current table, replaced by the thread that finishes a transfer
+     */
+    private volatile Table<E> table;
+    /**
+     * number of elements
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * chain node, only the next link changes after construction
+     */
+    private static class Node<E> {
+        final int hash;
+        final E key;
+        volatile Node<E> next;
+
+        Node(int hash, E key, Node<E> next) {
+            this.hash = hash;
+            this.key = key;
+            this.next = next;
+        }
+    }
+
+    /**
+     * placed in a bin of a table after its chain has been moved to the next table
+     */
+    private static final class ForwardingNode<E> extends Node<E> {
+        final Table<E> nextTable;
+
+        ForwardingNode(Table<E> nextTable) {
+            super(MOVED, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * bin array together with its resize state
+     */
+    private static final class Table<E> {
+        final AtomicReferenceArray<Node<E>> bins;
+        final int length;
+        /**
+         * number of elements at which the table is doubled
+         */
+        final int threshold;
+        /**
+         * set by the one thread that allocates the next table
+         */
+        final AtomicBoolean resizing = new AtomicBoolean();
+        /**
+         * table the bins are moved to, set once when the resize starts
+         */
+        final AtomicReference<Table<E>> next = new AtomicReference<>();
+        /**
+         * bins below this index are not claimed by a transferring thread yet
+         */
+        final AtomicInteger transferIndex;
+        /**
+         * number of bins already moved
+         */
+        final AtomicInteger transferred = new AtomicInteger();
+
+        Table(int length) {
+            this.bins = new AtomicReferenceArray<>(length);
+            this.length = length;
+            this.threshold = length == MAX_CAPACITY ? Integer.MAX_VALUE : length - (length >>> 2);
+            this.transferIndex = new AtomicInteger(length);
+        }
+    }
+
+    public ConcurrentHashSet() {
+        this(new DefaultComparator<E>(), DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ConcurrentHashSet(Comparator<E> c) {
+        this(c, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ConcurrentHashSet(int initialCapacity) {
+        this(new DefaultComparator<E>(), initialCapacity);
+    }
+
+    public ConcurrentHashSet(Comparator<E> c, int initialCapacity) {
+        this(Equivalence.of(c), initialCapacity);
+        this.c = c;
+    }
+
+    public ConcurrentHashSet(Equivalence<? super E> eq) {
+        this(eq, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor for ConcurrentHashSet from equivalence and initial capacity
+     * @param eq equivalence deciding element equality and hashing the elements
+     * @param initialCapacity number of elements the set holds without resizing
+     */
+    public ConcurrentHashSet(Equivalence<? super E> eq, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial Capacity must not be negative");
+        }
+        if (initialCapacity == 0) {
+            throw new IllegalArgumentException("Initial Capacity cannot be 0");
+        }
+        setEquivalence(eq);
+        this.table = new Table<>(tableSizeFor(initialCapacity + (initialCapacity >>> 1)));
+    }
+
+    /**
+     * calculates the smallest power of two table length holding the specified capacity
+     * @param capacity requested capacity
+     * @return table length, at least 2
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAX_CAPACITY || capacity < 0) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    }
+
+    /**
+     * spreads the hash of the equivalence so that the low bits used for the table index depend on all bits
+     * @param e element to hash
+     * @return non-negative mixed hash
+     */
+    private int spread(E e) {
+        int h = equivalence().hash(e) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    private boolean matches(Node<E> p, int h, E e) {
+        return p.hash == h && equal(equivalence(), e, p.key);
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        if (e == null) {
+            return false;
+        }
+        int h = spread(e);
+        Table<E> tab = table;
+        outer:
+        for (;;) {
+            for (Node<E> p = tab.bins.get(h & (tab.length - 1)); p != null; p = p.next) {
+                if (p.hash == MOVED) {
+                    tab = ((ForwardingNode<E>) p).nextTable;
+                    continue outer;
+                }
+                if (matches(p, h, e)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        int h = spread(e);
+        Table<E> tab = table;
+        for (;;) {
+            int i = h & (tab.length - 1);
+            Node<E> f = tab.bins.get(i);
+            if (f == null) {
+                if (tab.bins.compareAndSet(i, null, new Node<>(h, e, null))) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                transfer(tab);
+                tab = ((ForwardingNode<E>) f).nextTable;
+            } else {
+                synchronized (f) {
+                    if (tab.bins.get(i) != f) {
+                        continue;
+                    }
+                    Node<E> p = f;
+                    while (true) {
+                        if (matches(p, h, e)) {
+                            return false;
+                        }
+                        if (p.next == null) {
+                            p.next = new Node<>(h, e, null);
+                            break;
+                        }
+                        p = p.next;
+                    }
+                }
+                break;
+            }
+        }
+        count.increment();
+        // every insert checks the size like ConcurrentHashMap.addCount, adds into empty bins fill the table as well
+        checkResize();
+        return true;
+    }
+
+    @Override
+    public boolean remove(E e) {
+        if (e == null) {
+            return false;
+        }
+        int h = spread(e);
+        Table<E> tab = table;
+        for (;;) {
+            int i = h & (tab.length - 1);
+            Node<E> f = tab.bins.get(i);
+            if (f == null) {
+                return false;
+            }
+            if (f.hash == MOVED) {
+                transfer(tab);
+                tab = ((ForwardingNode<E>) f).nextTable;
+                continue;
+            }
+            synchronized (f) {
+                if (tab.bins.get(i) != f) {
+                    continue;
+                }
+                for (Node<E> pred = null, p = f; p != null; pred = p, p = p.next) {
+                    if (matches(p, h, e)) {
+                        if (pred == null) {
+                            tab.bins.set(i, p.next);
+                        } else {
+                            pred.next = p.next;
+                        }
+                        count.decrement();
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Table<E> tab = table;
+        int i = 0;
+        while (i < tab.length) {
+            Node<E> f = tab.bins.get(i);
+            if (f == null) {
+                i++;
+            } else if (f.hash == MOVED) {
+                transfer(tab);
+                tab = ((ForwardingNode<E>) f).nextTable;
+                i = 0;
+            } else {
+                synchronized (f) {
+                    if (tab.bins.get(i) == f) {
+                        long removed = 0;
+                        for (Node<E> p = f; p != null; p = p.next) {
+                            removed++;
+                        }
+                        tab.bins.set(i, null);
+                        count.add(-removed);
+                        i++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * starts a resize if the table is filled above its threshold or helps with a running one
+     */
+    private void checkResize() {
+        Table<E> tab = table;
+        if (tab.next.get() != null) {
+            transfer(tab);
+        } else if (count.sum() >= tab.threshold && tab.length < MAX_CAPACITY
+                && tab.resizing.compareAndSet(false, true)) {
+            tab.next.set(new Table<E>(tab.length << 1));
+            transfer(tab);
+        }
+    }
+
+    /**
+     * moves bins of a table into its next table until no unclaimed bins are left,
+     * the thread moving the last bin publishes the next table
+     * @param tab table being resized
+     */
+    private void transfer(Table<E> tab) {
+        Table<E> next = tab.next.get();
+        ForwardingNode<E> forward = new ForwardingNode<>(next);
+        int n = tab.length;
+        int stride = Math.max(MIN_TRANSFER_STRIDE, (n >>> 3) / NCPU);
+        for (;;) {
+            int hi = tab.transferIndex.get();
+            if (hi <= 0) {
+                return;
+            }
+            int lo = Math.max(0, hi - stride);
+            if (!tab.transferIndex.compareAndSet(hi, lo)) {
+                continue;
+            }
+            for (int i = hi - 1; i >= lo; i--) {
+                moveBin(tab, next, i, forward);
+            }
+            if (tab.transferred.addAndGet(hi - lo) == n) {
+                table = next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * splits the chain of a bin into the bins i and i + n of the next table and marks the bin as moved.
+     * The nodes of the tail that stays together are reused, the others are copied so that readers
+     * still traversing the old chain are not cut off.
+     */
+    private void moveBin(Table<E> tab, Table<E> next, int i, ForwardingNode<E> forward) {
+        int n = tab.length;
+        for (;;) {
+            Node<E> f = tab.bins.get(i);
+            if (f == null) {
+                if (tab.bins.compareAndSet(i, null, forward)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (f) {
+                if (tab.bins.get(i) != f) {
+                    continue;
+                }
+                int runBit = f.hash & n;
+                Node<E> lastRun = f;
+                for (Node<E> p = f.next; p != null; p = p.next) {
+                    int b = p.hash & n;
+                    if (b != runBit) {
+                        runBit = b;
+                        lastRun = p;
+                    }
+                }
+                Node<E> low = runBit == 0 ? lastRun : null;
+                Node<E> high = runBit == 0 ? null : lastRun;
+                for (Node<E> p = f; p != lastRun; p = p.next) {
+                    if ((p.hash & n) == 0) {
+                        low = new Node<>(p.hash, p.key, low);
+                    } else {
+                        high = new Node<>(p.hash, p.key, high);
+                    }
+                }
+                next.bins.set(i, low);
+                next.bins.set(i + n, high);
+                tab.bins.set(i, forward);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new HashItr(1);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new HashItr(-1);
+    }
+
+    /**
+     * weakly consistent spliterator fed by the iterator, the size is an estimate
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * bin of a later table still to be visited by an iterator
+     */
+    private static final class PendingBin<E> {
+        final Table<E> table;
+        final int index;
+        final PendingBin<E> next;
+
+        PendingBin(Table<E> table, int index, PendingBin<E> next) {
+            this.table = table;
+            this.index = index;
+            this.next = next;
+        }
+    }
+
+    /**
+     * weakly consistent iterator walking the bins of the table it was created on,
+     * a moved bin i of a table of length n is visited as the bins i and i + n of the next table
+     */
+    private class HashItr implements Iterator<E> {
+        /**
+         * 1 for ascending, -1 for descending bin order
+         */
+        private final int step;
+        private final Table<E> base;
+        private int index;
+        private PendingBin<E> pending;
+        private Node<E> next;
+        private E lastReturned;
+
+        private HashItr(int step) {
+            this.step = step;
+            this.base = table;
+            this.index = step > 0 ? 0 : base.length - 1;
+            advance(null);
+        }
+
+        /**
+         * moves to the node following the specified one
+         * @param p current node, null before the first bin
+         */
+        private void advance(Node<E> p) {
+            Node<E> e = p == null ? null : p.next;
+            while (e == null) {
+                Table<E> t;
+                int i;
+                if (pending != null) {
+                    t = pending.table;
+                    i = pending.index;
+                    pending = pending.next;
+                } else if (index >= 0 && index < base.length) {
+                    t = base;
+                    i = index;
+                    index += step;
+                } else {
+                    next = null;
+                    return;
+                }
+                e = t.bins.get(i);
+                if (e != null && e.hash == MOVED) {
+                    Table<E> nt = ((ForwardingNode<E>) e).nextTable;
+                    int first = step > 0 ? i : i + t.length;
+                    int second = step > 0 ? i + t.length : i;
+                    pending = new PendingBin<>(nt, first, new PendingBin<>(nt, second, pending));
+                    e = null;
+                }
+            }
+            next = e;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Node<E> current = next;
+            lastReturned = current.key;
+            advance(current);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            ConcurrentHashSet.this.remove(lastReturned);
+            lastReturned = null;
+        }
+    }
+}
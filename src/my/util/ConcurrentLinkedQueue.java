@@ -0,0 +1,336 @@
+package my.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free unbounded queue for any number of producers and consumers (Michael-Scott queue).
+ * head points to a dummy node whose successor holds the first element, tail points to the last node or,
+ * while an offer is in progress, to its predecessor; every thread seeing a lagging tail swings it forward.
+ * offer and poll finish with single-word compare-and-set operations and never block.
+ * Elements removed from the middle (remove, iterator remove) are unset in their node first, traversals
+ * (peek, contains, remove, iteration) then unlink such nodes from their predecessor with a compare-and-set.
+ * The last node stays linked as offers append to it, it is unlinked by poll once it reaches the head.
+ * size() is kept in a counter and is only an estimate while other threads modify the queue,
+ * iterators are weakly consistent.
+ * null elements are not permitted
+ */
+public class ConcurrentLinkedQueue<E> extends AbstractCollection<E> implements Queue<E> {
+
+    private static final class Node<E> {
+        volatile E item;
+        volatile Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+
+        boolean casItem(E expected, E item) {
+            return ITEM.compareAndSet(this, expected, item);
+        }
+
+        boolean casNext(Node<E> expected, Node<E> next) {
+            return NEXT.compareAndSet(this, expected, next);
+        }
+
+        private static final AtomicReferenceFieldUpdater<Node<?>, Object> ITEM =
+                updater(Node.class, Object.class, "item");
+        private static final AtomicReferenceFieldUpdater<Node<?>, Node<?>> NEXT =
+                updater(Node.class, Node.class, "next");
+    }
+
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinkedQueue<?>, Node<?>> HEAD =
+            updater(ConcurrentLinkedQueue.class, Node.class, "head");
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinkedQueue<?>, Node<?>> TAIL =
+            updater(ConcurrentLinkedQueue.class, Node.class, "tail");
+
+    /**
+     * creates a field updater typed with the generic holder and field types, class literals only give raw types
+     * @param holder class declaring the field
+     * @param type field type
+     * @param name field name
+     * @param <T> generic holder type
+     * @param <V> generic field type
+     * @return field updater
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, V> AtomicReferenceFieldUpdater<T, V> updater(Class<?> holder, Class<?> type, String name) {
+        return (AtomicReferenceFieldUpdater<T, V>) AtomicReferenceFieldUpdater.newUpdater(holder, type, name);
+    }
+
+    /**
+     * dummy node in front of the first element
+     */
+    private volatile Node<E> head;
+    /**
+     * last node or its predecessor
+     */
+    private volatile Node<E> tail;
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor for ConcurrentLinkedQueue from a comparator
+     * @param c comparator instance used to compare queue elements in contains and remove
+     */
+    public ConcurrentLinkedQueue(Comparator<E> c) {
+        this.c = c;
+        Node<E> dummy = new Node<>(null);
+        this.head = dummy;
+        this.tail = dummy;
+    }
+
+    /**
+     * Constructor for ConcurrentLinkedQueue using a default comparator
+     */
+    public ConcurrentLinkedQueue() {
+        this(new DefaultComparator<E>());
+    }
+
+    private boolean casHead(Node<E> expected, Node<E> node) {
+        return HEAD.compareAndSet(this, expected, node);
+    }
+
+    private boolean casTail(Node<E> expected, Node<E> node) {
+        return TAIL.compareAndSet(this, expected, node);
+    }
+
+    /**
+     * unlinks a node whose element was removed from behind its predecessor. The last node is kept,
+     * offers append to it; a failed compare-and-set means another thread changed the link and is ignored,
+     * only a node without element is ever skipped, so no element is lost
+     * @param pred predecessor of p
+     * @param p node without element
+     * @param next successor of p
+     */
+    private static <E> void unlink(Node<E> pred, Node<E> p, Node<E> next) {
+        if (pred != null && next != null) {
+            pred.casNext(p, next);
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        Node<E> node = new Node<>(e);
+        for (;;) {
+            Node<E> t = tail;
+            Node<E> next = t.next;
+            if (t != tail) {
+                continue;
+            }
+            if (next == null) {
+                if (t.casNext(null, node)) {
+                    casTail(t, node); // may fail if another thread already helped
+                    count.increment();
+                    return true;
+                }
+            } else {
+                casTail(t, next); // tail is lagging, help the other offer
+            }
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        return offer(e);
+    }
+
+    @Override
+    public E poll() {
+        for (;;) {
+            Node<E> h = head;
+            Node<E> t = tail;
+            Node<E> first = h.next;
+            if (h != head) {
+                continue;
+            }
+            if (first == null) {
+                return null;
+            }
+            if (h == t) {
+                casTail(t, first); // tail is lagging, help the other offer
+                continue;
+            }
+            if (casHead(h, first)) {
+                // first is the new dummy, claim its element unless a remove took it
+                E item = first.item;
+                if (item != null && first.casItem(item, null)) {
+                    count.decrement();
+                    return item;
+                }
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        for (Node<E> pred = head, p = pred.next; p != null; ) {
+            E item = p.item;
+            if (item != null) {
+                return item;
+            }
+            Node<E> next = p.next;
+            unlink(pred, p, next);
+            p = next;
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        if (e == null) {
+            return false;
+        }
+        for (Node<E> pred = head, p = pred.next; p != null; ) {
+            E item = p.item;
+            Node<E> next = p.next;
+            if (item == null) {
+                unlink(pred, p, next);
+            } else if (c.compare(e, item) == 0) {
+                return true;
+            } else {
+                pred = p;
+            }
+            p = next;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(E e) {
+        if (e == null) {
+            return false;
+        }
+        for (Node<E> pred = head, p = pred.next; p != null; ) {
+            E item = p.item;
+            Node<E> next = p.next;
+            if (item == null) {
+                unlink(pred, p, next);
+            } else if (c.compare(e, item) == 0 && p.casItem(item, null)) {
+                count.decrement();
+                unlink(pred, p, next);
+                return true;
+            } else {
+                pred = p;
+            }
+            p = next;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // drains the queue, elements offered meanwhile may stay
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new QueueItr();
+    }
+
+    /**
+     * iterator from tail to head, takes a snapshot as the list has no back links
+     */
+    @Override
+    public Iterator<E> descendingIterator() {
+        LinkedList<E> snapshot = new LinkedList<>(equivalence());
+        for (E e : this) {
+            snapshot.offerFirst(e);
+        }
+        return snapshot.iterator();
+    }
+
+    /**
+     * weakly consistent spliterator fed by the iterator, the size is an estimate
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.CONCURRENT | Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * weakly consistent iterator following the next links from the head, nodes without element are skipped
+     */
+    private class QueueItr implements Iterator<E> {
+        private Node<E> nextNode;
+        private Node<E> nextPred;
+        private E nextItem;
+        private Node<E> lastNode;
+        private Node<E> lastPred;
+        private E lastItem;
+
+        private QueueItr() {
+            advance(head);
+        }
+
+        private void advance(Node<E> pred) {
+            for (Node<E> p = pred.next; p != null; ) {
+                E item = p.item;
+                Node<E> next = p.next;
+                if (item != null) {
+                    nextNode = p;
+                    nextPred = pred;
+                    nextItem = item;
+                    return;
+                }
+                unlink(pred, p, next);
+                p = next;
+            }
+            nextNode = null;
+            nextPred = null;
+            nextItem = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = nextNode;
+            lastPred = nextPred;
+            lastItem = nextItem;
+            advance(nextNode);
+            return lastItem;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            if (lastNode.casItem(lastItem, null)) {
+                count.decrement();
+                unlink(lastPred, lastNode, lastNode.next);
+            }
+            lastNode = null;
+            lastPred = null;
+            lastItem = null;
+        }
+    }
+}
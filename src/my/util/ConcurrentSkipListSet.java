@@ -0,0 +1,764 @@
+package my.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free sorted set based on a skip list. Every level of a node is linked with an
+ * {@link AtomicMarkableReference}; a node is removed logically by marking its links from the top level down,
+ * the bottom level mark decides which thread removed it, and the marked node is unlinked physically by the
+ * next traversal passing it. contains never writes and finishes in a bounded number of steps.
+ * Iterators and range views are weakly consistent: they never throw ConcurrentModificationException and
+ * reflect the set at some point at or after their creation. Descending iteration has no back links to follow,
+ * so every step searches the predecessor from the top in O(log n).
+ * size() is kept in a counter and is only an estimate while other threads modify the set.
+ * null elements are not permitted
+ */
+public class ConcurrentSkipListSet<E> extends AbstractCollection<E> implements NavigableSet<E> {
+
+    /**
+     * highest level index, levels are drawn with probability 1/2 per level
+     */
+    private static final int MAX_LEVEL = 31;
+
+    /**
+     * head sentinel, its key is never compared, the end of every level is null
+     */
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+
+    private final LongAdder count = new LongAdder();
+
+    private static final class Node<E> {
+        final E key;
+        final AtomicMarkableReference<Node<E>>[] next;
+
+        Node(E key, int topLevel) {
+            this.key = key;
+            this.next = links(topLevel + 1);
+            for (int i = 0; i <= topLevel; i++) {
+                next[i] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        /**
+         * creates the link array of a node, generic arrays can only be created with wildcard type arguments
+         * @param length number of levels
+         * @param <E> element type
+         * @return array of empty links
+         */
+        @SuppressWarnings("unchecked")
+        private static <E> AtomicMarkableReference<Node<E>>[] links(int length) {
+            return (AtomicMarkableReference<Node<E>>[]) new AtomicMarkableReference<?>[length];
+        }
+
+        int topLevel() {
+            return next.length - 1;
+        }
+
+        /**
+         * a node is in the set as long as its bottom level link is not marked
+         */
+        boolean isDeleted() {
+            return next[0].isMarked();
+        }
+    }
+
+    /**
+     * creates an array for the predecessors or successors of a key on every level
+     * @param <E> element type
+     * @return empty array of MAX_LEVEL + 1 nodes
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] levels() {
+        return (Node<E>[]) new Node<?>[MAX_LEVEL + 1];
+    }
+
+    /**
+     * creates a skip list set ordered by the natural ordering of its elements
+     */
+    public ConcurrentSkipListSet() {
+        this(new DefaultTreeComparator<E>());
+    }
+
+    public ConcurrentSkipListSet(Comparator<? super E> c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        this.c = c;
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return c;
+    }
+
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        // number of trailing ones, each with probability 1/2
+        return Math.min(Integer.numberOfTrailingZeros(~bits), MAX_LEVEL);
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firstNode() == null;
+    }
+
+    /**
+     * searches the predecessors and successors of key on every level and unlinks marked nodes on the way
+     * @param key   element to search for
+     * @param preds receives the last node before key per level
+     * @param succs receives the first node not before key per level
+     * @return true if the bottom level successor holds key
+     */
+    private boolean find(E key, Node<E>[] preds, Node<E>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<E> pred = head;
+            Node<E> curr = null;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<E> succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                    } else if (c.compare(curr.key, key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && c.compare(curr.key, key) == 0;
+        }
+    }
+
+    @Override
+    public boolean contains(E e) {
+        if (e == null) {
+            return false;
+        }
+        Node<E> node = ceilingNode(e, true);
+        return node != null && c.compare(node.key, e) == 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        int topLevel = randomLevel();
+        Node<E>[] preds = levels();
+        Node<E>[] succs = levels();
+        while (true) {
+            if (find(e, preds, succs)) {
+                return false;
+            }
+            Node<E> newNode = new Node<>(e, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                newNode.next[level].set(succs[level], false);
+            }
+            // linking the bottom level adds the element to the set
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) {
+                continue;
+            }
+            count.increment();
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node<E> succ = succs[level];
+                    Node<E> old = newNode.next[level].getReference();
+                    if (old != succ && !newNode.next[level].compareAndSet(old, succ, false, false)) {
+                        return true; // removed concurrently, stop linking the upper levels
+                    }
+                    if (preds[level].next[level].compareAndSet(succ, newNode, false, false)) {
+                        break;
+                    }
+                    find(e, preds, succs);
+                    if (succs[0] != newNode) {
+                        return true;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean remove(E e) {
+        if (e == null) {
+            return false;
+        }
+        Node<E>[] preds = levels();
+        Node<E>[] succs = levels();
+        if (!find(e, preds, succs)) {
+            return false;
+        }
+        return removeNode(succs[0], preds, succs);
+    }
+
+    /**
+     * marks all levels of a node, the thread marking the bottom level removed the element
+     * @param node node to remove
+     * @param preds scratch array for the cleanup search
+     * @param succs scratch array for the cleanup search
+     * @return true if this call removed the node, false if another thread did
+     */
+    private boolean removeNode(Node<E> node, Node<E>[] preds, Node<E>[] succs) {
+        boolean[] marked = {false};
+        for (int level = node.topLevel(); level >= 1; level--) {
+            Node<E> succ = node.next[level].get(marked);
+            while (!marked[0]) {
+                node.next[level].attemptMark(succ, true);
+                succ = node.next[level].get(marked);
+            }
+        }
+        Node<E> succ = node.next[0].get(marked);
+        while (true) {
+            boolean markedByThis = node.next[0].compareAndSet(succ, succ, false, true);
+            succ = node.next[0].get(marked);
+            if (markedByThis) {
+                count.decrement();
+                find(node.key, preds, succs); // unlinks the node
+                return true;
+            } else if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Node<E> node = firstNode(); node != null; node = firstNode()) {
+            remove(node.key);
+        }
+    }
+
+    // --- navigation, none of these methods unlink or lock anything ---
+
+    /**
+     * descends to the bottom level and returns the last node whose key is before the bound
+     * @param key     bound, null for no bound
+     * @param orEqual if keys equal to the bound count as before it
+     * @return last node before the bound, head if there is none
+     */
+    private Node<E> lastBefore(E key, boolean orEqual) {
+        boolean[] marked = {false};
+        while (true) {
+            Node<E> pred = head;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                Node<E> curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<E> succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        curr = succ;
+                        continue;
+                    }
+                    if (key != null) {
+                        int compare = c.compare(curr.key, key);
+                        if (compare > 0 || (compare == 0 && !orEqual)) {
+                            break;
+                        }
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+            }
+            if (pred == head || !pred.isDeleted()) {
+                return pred;
+            }
+        }
+    }
+
+    /**
+     * gets the first node not before the bound on the bottom level
+     * @param key       bound
+     * @param inclusive if a key equal to the bound is accepted
+     * @return ceiling (inclusive) or higher node, null if there is none
+     */
+    private Node<E> ceilingNode(E key, boolean inclusive) {
+        Node<E> curr = lastBefore(key, !inclusive).next[0].getReference();
+        while (curr != null) {
+            if (!curr.isDeleted()) {
+                int compare = c.compare(curr.key, key);
+                if (compare > 0 || (compare == 0 && inclusive)) {
+                    return curr;
+                }
+            }
+            curr = curr.next[0].getReference();
+        }
+        return null;
+    }
+
+    /**
+     * gets the last node before the bound
+     * @param key       bound, null for no bound
+     * @param inclusive if a key equal to the bound is accepted
+     * @return floor (inclusive) or lower node, null if there is none
+     */
+    private Node<E> floorNode(E key, boolean inclusive) {
+        Node<E> node = lastBefore(key, inclusive);
+        return node == head ? null : node;
+    }
+
+    private Node<E> firstNode() {
+        for (Node<E> curr = head.next[0].getReference(); curr != null; curr = curr.next[0].getReference()) {
+            if (!curr.isDeleted()) {
+                return curr;
+            }
+        }
+        return null;
+    }
+
+    private Node<E> lastNode() {
+        return floorNode(null, true);
+    }
+
+    private static <E> E key(Node<E> node) {
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node.key;
+    }
+
+    private static <E> E keyOrNull(Node<E> node) {
+        return node == null ? null : node.key;
+    }
+
+    @Override
+    public E first() {
+        return key(firstNode());
+    }
+
+    @Override
+    public E last() {
+        return key(lastNode());
+    }
+
+    @Override
+    public E floor(E e) {
+        return keyOrNull(floorNode(nonNull(e), true));
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return keyOrNull(ceilingNode(nonNull(e), true));
+    }
+
+    @Override
+    public E lower(E e) {
+        return keyOrNull(floorNode(nonNull(e), false));
+    }
+
+    @Override
+    public E higher(E e) {
+        return keyOrNull(ceilingNode(nonNull(e), false));
+    }
+
+    private static <E> E nonNull(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        return e;
+    }
+
+    @Override
+    public E pollFirst() {
+        for (Node<E> node = firstNode(); node != null; node = firstNode()) {
+            if (removeFound(node)) {
+                return node.key;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E pollLast() {
+        for (Node<E> node = lastNode(); node != null; node = lastNode()) {
+            if (removeFound(node)) {
+                return node.key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * removes a node found by a navigation method
+     * @return true if this call removed it, false if another thread was faster
+     */
+    private boolean removeFound(Node<E> node) {
+        Node<E>[] preds = levels();
+        Node<E>[] succs = levels();
+        return removeNode(node, preds, succs);
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        return new SubSet(false, fromElement, fromInclusive, false, toElement, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return new SubSet(true, null, true, false, toElement, inclusive);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return new SubSet(false, fromElement, inclusive, true, null, true);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new SkipItr(firstNode(), null);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new DescendingSkipItr(lastNode(), null);
+    }
+
+    /**
+     * weakly consistent spliterator fed by the ascending iterator, the size is an estimate
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * ascending iterator walking the bottom level and skipping deleted nodes
+     */
+    private class SkipItr implements Iterator<E> {
+        private Node<E> next;
+        private E lastReturned;
+        /**
+         * view whose upper bound ends the iteration, null for the whole set
+         */
+        private final SubSet range;
+
+        private SkipItr(Node<E> first, SubSet range) {
+            this.range = range;
+            this.next = bounded(first);
+        }
+
+        private Node<E> bounded(Node<E> node) {
+            return node == null || (range != null && range.tooHigh(node.key)) ? null : node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next.key;
+            Node<E> curr = next.next[0].getReference();
+            while (curr != null && curr.isDeleted()) {
+                curr = curr.next[0].getReference();
+            }
+            next = bounded(curr);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            ConcurrentSkipListSet.this.remove(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * descending iterator, searches the predecessor of the last returned element for every step
+     */
+    private class DescendingSkipItr implements Iterator<E> {
+        private Node<E> next;
+        private E lastReturned;
+        /**
+         * view whose lower bound ends the iteration, null for the whole set
+         */
+        private final SubSet range;
+
+        private DescendingSkipItr(Node<E> first, SubSet range) {
+            this.range = range;
+            this.next = bounded(first);
+        }
+
+        private Node<E> bounded(Node<E> node) {
+            return node == null || (range != null && range.tooLow(node.key)) ? null : node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next.key;
+            next = bounded(floorNode(lastReturned, false));
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            ConcurrentSkipListSet.this.remove(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * view of the elements of a range, all operations are delegated to the skip list after a range check
+     */
+    private class SubSet extends AbstractCollection<E> implements NavigableSet<E> {
+        private final boolean fromStart;
+        private final E lo;
+        private final boolean loInclusive;
+        private final boolean toEnd;
+        private final E hi;
+        private final boolean hiInclusive;
+
+        /**
+         * @param fromStart   if the range is unbounded below, lo is ignored then
+         * @param lo          low end of the range
+         * @param loInclusive if lo is part of the range
+         * @param toEnd       if the range is unbounded above, hi is ignored then
+         * @param hi          high end of the range
+         * @param hiInclusive if hi is part of the range
+         */
+        private SubSet(boolean fromStart, E lo, boolean loInclusive, boolean toEnd, E hi, boolean hiInclusive) {
+            if ((!fromStart && lo == null) || (!toEnd && hi == null)) {
+                throw new NullPointerException();
+            }
+            if (!fromStart && !toEnd && ConcurrentSkipListSet.this.c.compare(lo, hi) > 0) {
+                throw new IllegalArgumentException("fromElement > toElement");
+            }
+            this.c = ConcurrentSkipListSet.this.c;
+            this.fromStart = fromStart;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.toEnd = toEnd;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+        }
+
+        private boolean tooLow(E e) {
+            if (!fromStart) {
+                int compare = c.compare(e, lo);
+                return compare < 0 || (compare == 0 && !loInclusive);
+            }
+            return false;
+        }
+
+        private boolean tooHigh(E e) {
+            if (!toEnd) {
+                int compare = c.compare(e, hi);
+                return compare > 0 || (compare == 0 && !hiInclusive);
+            }
+            return false;
+        }
+
+        private boolean inRange(E e) {
+            return !tooLow(e) && !tooHigh(e);
+        }
+
+        /**
+         * checks a bound of a nested view, an exclusive bound may equal an exclusive bound of this view
+         */
+        private boolean inRange(E e, boolean inclusive) {
+            if (inclusive) {
+                return inRange(e);
+            }
+            return (fromStart || c.compare(e, lo) >= 0) && (toEnd || c.compare(e, hi) <= 0);
+        }
+
+        private Node<E> lowestNode() {
+            Node<E> node = fromStart ? firstNode() : ceilingNode(lo, loInclusive);
+            return node == null || tooHigh(node.key) ? null : node;
+        }
+
+        private Node<E> highestNode() {
+            Node<E> node = toEnd ? lastNode() : floorNode(hi, hiInclusive);
+            return node == null || tooLow(node.key) ? null : node;
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return c;
+        }
+
+        /**
+         * counts the elements of the range, takes linear time
+         */
+        @Override
+        public int size() {
+            int count = 0;
+            for (Iterator<E> it = iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestNode() == null;
+        }
+
+        @Override
+        public boolean contains(E e) {
+            return e != null && inRange(e) && ConcurrentSkipListSet.this.contains(e);
+        }
+
+        @Override
+        public boolean add(E e) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            if (!inRange(e)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return ConcurrentSkipListSet.this.add(e);
+        }
+
+        @Override
+        public boolean remove(E e) {
+            return e != null && inRange(e) && ConcurrentSkipListSet.this.remove(e);
+        }
+
+        @Override
+        public void clear() {
+            for (Node<E> node = lowestNode(); node != null; node = lowestNode()) {
+                ConcurrentSkipListSet.this.remove(node.key);
+            }
+        }
+
+        @Override
+        public E first() {
+            return key(lowestNode());
+        }
+
+        @Override
+        public E last() {
+            return key(highestNode());
+        }
+
+        @Override
+        public E floor(E e) {
+            if (tooHigh(e)) {
+                return keyOrNull(highestNode());
+            }
+            Node<E> node = floorNode(e, true);
+            return node == null || tooLow(node.key) ? null : node.key;
+        }
+
+        @Override
+        public E ceiling(E e) {
+            if (tooLow(e)) {
+                return keyOrNull(lowestNode());
+            }
+            Node<E> node = ceilingNode(e, true);
+            return node == null || tooHigh(node.key) ? null : node.key;
+        }
+
+        @Override
+        public E lower(E e) {
+            if (tooHigh(e)) {
+                return keyOrNull(highestNode());
+            }
+            Node<E> node = floorNode(e, false);
+            return node == null || tooLow(node.key) ? null : node.key;
+        }
+
+        @Override
+        public E higher(E e) {
+            if (tooLow(e)) {
+                return keyOrNull(lowestNode());
+            }
+            Node<E> node = ceilingNode(e, false);
+            return node == null || tooHigh(node.key) ? null : node.key;
+        }
+
+        @Override
+        public E pollFirst() {
+            for (Node<E> node = lowestNode(); node != null; node = lowestNode()) {
+                if (removeFound(node)) {
+                    return node.key;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public E pollLast() {
+            for (Node<E> node = highestNode(); node != null; node = highestNode()) {
+                if (removeFound(node)) {
+                    return node.key;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+            if (!inRange(fromElement, fromInclusive) || !inRange(toElement, toInclusive)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return new SubSet(false, fromElement, fromInclusive, false, toElement, toInclusive);
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            if (!inRange(toElement, inclusive)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return new SubSet(fromStart, lo, loInclusive, false, toElement, inclusive);
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            if (!inRange(fromElement, inclusive)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return new SubSet(false, fromElement, inclusive, toEnd, hi, hiInclusive);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new SkipItr(lowestNode(), this);
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return new DescendingSkipItr(highestNode(), this);
+        }
+    }
+}
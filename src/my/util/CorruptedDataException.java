@@ -0,0 +1,14 @@
+package my.util;
+
+/**
+ * thrown when serialized data is malformed or does not match its checksum
+ */
+public class CorruptedDataException extends RuntimeException {
+    public CorruptedDataException() {
+        super();
+    }
+
+    public CorruptedDataException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,61 @@
+package my.util;
+
+/**
+ * double ended queue interface, elements can be inserted and removed at both ends.
+ * Used as a queue it inserts at the last and removes at the first position.
+ */
+public interface Deque<E> extends Queue<E> {
+
+    /**
+     * inserts an element at the front
+     * @param e element to insert
+     * @return true if the element was inserted
+     */
+    boolean offerFirst(E e);
+
+    /**
+     * inserts an element at the end
+     * @param e element to insert
+     * @return true if the element was inserted
+     */
+    boolean offerLast(E e);
+
+    /**
+     * removes the first element
+     * @return first element, null if the deque is empty
+     */
+    E pollFirst();
+
+    /**
+     * removes the last element
+     * @return last element, null if the deque is empty
+     */
+    E pollLast();
+
+    /**
+     * gets the first element without removing it
+     * @return first element, null if the deque is empty
+     */
+    E peekFirst();
+
+    /**
+     * gets the last element without removing it
+     * @return last element, null if the deque is empty
+     */
+    E peekLast();
+
+    @Override
+    default boolean offer(E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    default E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    default E peek() {
+        return peekFirst();
+    }
+}
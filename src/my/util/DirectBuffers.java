@@ -0,0 +1,60 @@
+package my.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * releases direct and mapped buffers without waiting for the garbage collector
+ */
+final class DirectBuffers {
+
+    /**
+     * sun.misc.Unsafe instance and its invokeCleaner method (Java 9+), null if not available
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            invokeCleaner = null; // Java 8, the cleaner of the buffer is used instead
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private DirectBuffers() {
+        //unused
+    }
+
+    /**
+     * frees the native memory of a direct buffer or unmaps a mapped buffer immediately.
+     * The lists built on it promise to release their memory on close, so a JDK that allows neither way
+     * is reported instead of silently leaving the memory to the collector
+     * @param buffer direct buffer to free, must not be used afterwards
+     * @throws IllegalStateException if the buffer cannot be freed immediately
+     */
+    static void free(ByteBuffer buffer) {
+        try {
+            if (INVOKE_CLEANER != null) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Cannot free direct buffer, neither Unsafe.invokeCleaner nor the buffer cleaner"
+                    + " is accessible", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package my.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * writes single elements to and reads them from a byte buffer, used by the persistent and serialized collections.
+ * write starts at the position of the buffer and advances it, a {@code BufferOverflowException} tells the
+ * caller that the element does not fit into the remaining bytes. read starts at the position and advances it
+ * past the element.
+ * @param <E> element type
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * writes an element at the position of the buffer
+     * @param e element to write
+     * @param out buffer to write into
+     * @throws java.nio.BufferOverflowException if the remaining bytes are too few
+     */
+    void write(E e, ByteBuffer out);
+
+    /**
+     * reads an element at the position of the buffer
+     * @param in buffer to read from
+     * @return element read
+     */
+    E read(ByteBuffer in);
+
+    ElementCodec<Integer> INTEGER = new ElementCodec<Integer>() {
+        @Override
+        public void write(Integer e, ByteBuffer out) {
+            out.putInt(e);
+        }
+
+        @Override
+        public Integer read(ByteBuffer in) {
+            return in.getInt();
+        }
+    };
+
+    ElementCodec<Long> LONG = new ElementCodec<Long>() {
+        @Override
+        public void write(Long e, ByteBuffer out) {
+            out.putLong(e);
+        }
+
+        @Override
+        public Long read(ByteBuffer in) {
+            return in.getLong();
+        }
+    };
+
+    ElementCodec<Double> DOUBLE = new ElementCodec<Double>() {
+        @Override
+        public void write(Double e, ByteBuffer out) {
+            out.putDouble(e);
+        }
+
+        @Override
+        public Double read(ByteBuffer in) {
+            return in.getDouble();
+        }
+    };
+
+    /**
+     * UTF-8 bytes prefixed by their number as a var int
+     */
+    ElementCodec<String> STRING = new ElementCodec<String>() {
+        @Override
+        public void write(String e, ByteBuffer out) {
+            byte[] bytes = e.getBytes(StandardCharsets.UTF_8);
+            putVarInt(out, bytes.length);
+            out.put(bytes);
+        }
+
+        @Override
+        public String read(ByteBuffer in) {
+            int length = getVarInt(in);
+            if (length > in.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            String s;
+            if (in.hasArray()) {
+                s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                in.get(bytes);
+                s = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return s;
+        }
+    };
+
+    /**
+     * writes a non-negative int in 7 bit groups, low group first, so small values take a single byte
+     * @param out buffer to write into
+     * @param value value to write
+     */
+    static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * reads an int written by {@link #putVarInt(ByteBuffer, int)}
+     * @param in buffer to read from
+     * @return value read
+     */
+    static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new CorruptedDataException("Malformed var int");
+    }
+}
@@ -0,0 +1,118 @@
+package my.util;
+
+import java.util.Comparator;
+
+/**
+ * strategy deciding when two elements are equal and how an element is hashed, used by the lists and
+ * hash sets in place of a comparator. Both methods must agree: equivalent elements have the same hash.
+ * The collections test {@code a == b} before asking the strategy and recognise {@link #natural()} and
+ * {@link #identity()}, so these two cost no interface call at all.
+ * @param <E> element type
+ */
+public interface Equivalence<E> {
+
+    /**
+     * checks if two elements are equal under this strategy
+     * @param a first element, may be null
+     * @param b second element, may be null
+     * @return true if equal
+     */
+    boolean equivalent(E a, E b);
+
+    /**
+     * hashes an element consistently with {@link #equivalent(Object, Object)}
+     * @param e element to hash, may be null
+     * @return hash value
+     */
+    int hash(E e);
+
+    /**
+     * equality by equals and hashCode, null equals null only
+     */
+    Equivalence<Object> NATURAL = new Equivalence<Object>() {
+        @Override
+        public boolean equivalent(Object a, Object b) {
+            return a == b || (a != null && a.equals(b));
+        }
+
+        @Override
+        public int hash(Object e) {
+            return e == null ? 0 : e.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Equivalence.natural()";
+        }
+    };
+
+    /**
+     * equality by reference and identity hash code
+     */
+    Equivalence<Object> IDENTITY = new Equivalence<Object>() {
+        @Override
+        public boolean equivalent(Object a, Object b) {
+            return a == b;
+        }
+
+        @Override
+        public int hash(Object e) {
+            return System.identityHashCode(e);
+        }
+
+        @Override
+        public String toString() {
+            return "Equivalence.identity()";
+        }
+    };
+
+    /**
+     * gets the equivalence using equals and hashCode
+     * @param <E> element type
+     * @return natural equivalence
+     */
+    static <E> Equivalence<E> natural() {
+        return (Equivalence<E>) NATURAL;
+    }
+
+    /**
+     * gets the equivalence using reference equality and the identity hash code
+     * @param <E> element type
+     * @return identity equivalence
+     */
+    static <E> Equivalence<E> identity() {
+        return (Equivalence<E>) IDENTITY;
+    }
+
+    /**
+     * adapts a comparator: elements are equal if they compare as 0, they are hashed by hashCode,
+     * which is only consistent if elements comparing as 0 have the same hash code.
+     * A {@link DefaultComparator} maps to {@link #natural()}.
+     * @param c comparator to adapt
+     * @param <E> element type
+     * @return equivalence based on the comparator
+     */
+    static <E> Equivalence<E> of(Comparator<? super E> c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c instanceof DefaultComparator) {
+            return natural();
+        }
+        return new ComparatorEquivalence<>(c);
+    }
+
+    /**
+     * adapts an equivalence to the comparator field of the collections,
+     * elements that are not equivalent compare as -1 like in {@link DefaultComparator}
+     * @param eq equivalence to adapt
+     * @param <E> element type
+     * @return comparator returning 0 for equivalent elements
+     */
+    static <E> Comparator<E> asComparator(Equivalence<? super E> eq) {
+        if (eq == NATURAL) {
+            return new DefaultComparator<>();
+        }
+        return (a, b) -> eq.equivalent(a, b) ? 0 : -1;
+    }
+}
@@ -0,0 +1,42 @@
+package my.util;
+
+/**
+ * strategy deciding how far the element array of an {@link ArrayList} grows when it is full.
+ * The list limits the result to its maximum capacity and never grows to less than the required capacity,
+ * so a policy only needs to answer for the common case.
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * calculates the new length of a full element array
+     * @param oldCapacity current array length, 0 for a list that has not stored any element yet
+     * @param minCapacity number of elements the array must hold at least
+     * @return new array length
+     */
+    int newCapacity(int oldCapacity, int minCapacity);
+
+    /**
+     * first array length of a list created without an initial capacity
+     */
+    int DEFAULT_CAPACITY = 10;
+
+    /**
+     * doubles the array, starting at {@link #DEFAULT_CAPACITY}
+     */
+    GrowthPolicy DOUBLING = (oldCapacity, minCapacity) ->
+            oldCapacity == 0 ? Math.max(DEFAULT_CAPACITY, minCapacity) : Math.max(2 * oldCapacity, minCapacity);
+
+    /**
+     * grows the array by half its length, starting at {@link #DEFAULT_CAPACITY}, trading more copies for less slack
+     */
+    GrowthPolicy ONE_AND_A_HALF = (oldCapacity, minCapacity) ->
+            oldCapacity == 0 ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                    : Math.max(oldCapacity + (oldCapacity >> 1), minCapacity);
+
+    /**
+     * grows the array to exactly the required capacity, for lists whose size is known up front
+     * and filled by bulk adds
+     */
+    GrowthPolicy EXACT = (oldCapacity, minCapacity) -> minCapacity;
+}
@@ -3,7 +3,7 @@ package my.util;
 import java.util.Comparator;
 
 /**
- * Abstract hash set implementation using Object's hashCode as hashValue
+ * Hash set implementation using the hash of its equivalence (Object's hashCode by default) as hashValue
  * @author Henrik Drefs
  */
 public class HashSet<E> extends AbstractHashSet<E> {
@@ -33,25 +33,24 @@ public class HashSet<E> extends AbstractHashSet<E> {
     }
 
     public HashSet(Comparator<E> c, double maxLoadFactor, int initialCapacity) {
-        if (maxLoadFactor < 0 || initialCapacity < 0) {
-            throw new IllegalArgumentException("MaxLoadFactor and Initial Capacity must not be negative");
-        }
-        if (initialCapacity == 0) {
-            throw new IllegalArgumentException("Initial Capacity cannot be 0");
-        }
-        this.c = c;
-        this.maxLoadFactor = maxLoadFactor;
-        this.arr = new LinkedList[initialCapacity];
-        this.arrSize = arr.length;
-        for (int i = 0; i < arrSize; i++) {
-            arr[i] = new LinkedList<>(c);
-        }
-        this.size = 0;
+        super(c, maxLoadFactor, initialCapacity);
+    }
+
+    public HashSet(Equivalence<? super E> eq) {
+        this(eq, DEFAULT_MAX_LOAD_FACTOR, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public HashSet(Equivalence<? super E> eq, int initialCapacity) {
+        this(eq, DEFAULT_MAX_LOAD_FACTOR, initialCapacity);
+    }
+
+    public HashSet(Equivalence<? super E> eq, double maxLoadFactor, int initialCapacity) {
+        super(eq, maxLoadFactor, initialCapacity);
     }
 
     @Override
     public int hashValue(E e) {
-        return e.hashCode();
+        return equivalence().hash(e);
     }
 
 }
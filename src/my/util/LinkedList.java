@@ -1,15 +1,17 @@
 package my.util;
 
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * LinkedList storing data by pointing to next and previous elements
  * @author Henrik Drefs
  */
-public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
+public class LinkedList<E> extends AbstractCollection<E> implements List<E>, Deque<E> {
 
     /**
      * First node in list
@@ -42,6 +44,20 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
      */
     private int size;
 
+    /**
+     * number of structural modifications, used by the sub list views to detect concurrent modification
+     */
+    protected int modCount;
+
+    /**
+     * node found by the last positional lookup, null if none or invalidated by a structural modification
+     */
+    private Node<E> finger;
+    /**
+     * index of finger
+     */
+    private int fingerIndex;
+
     /**
      * Constructor for LinkedList from a comparator
      * @param c comparator instance used to compare list elements
@@ -53,6 +69,17 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
         size = 0;
     }
 
+    /**
+     * Constructor for LinkedList from an equivalence
+     * @param eq equivalence deciding element equality in indexOf, contains and remove
+     */
+    public LinkedList(Equivalence<? super E> eq) {
+        firstNode = null;
+        lastNode = null;
+        setEquivalence(eq);
+        size = 0;
+    }
+
     /**
      * Constructor for LinkedList using a default comparator
      */
@@ -81,9 +108,60 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
         }
         lastNode = newNode;
         size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        Node<E> newNode = new Node<E>(e);
+        if (isEmpty()) {
+            lastNode = newNode;
+        } else {
+            firstNode.previous = newNode;
+            newNode.next = firstNode;
+        }
+        firstNode = newNode;
+        size++;
+        modCount++;
+        fingerIndex++;
         return true;
     }
 
+    @Override
+    public boolean offerLast(E e) {
+        return add(e);
+    }
+
+    @Override
+    public E pollFirst() {
+        if (isEmpty()) {
+            return null;
+        }
+        E data = firstNode.data;
+        unlink(firstNode);
+        return data;
+    }
+
+    @Override
+    public E pollLast() {
+        if (isEmpty()) {
+            return null;
+        }
+        E data = lastNode.data;
+        unlink(lastNode);
+        return data;
+    }
+
+    @Override
+    public E peekFirst() {
+        return isEmpty() ? null : firstNode.data;
+    }
+
+    @Override
+    public E peekLast() {
+        return isEmpty() ? null : lastNode.data;
+    }
 
     @Override
     public E get(int index) {
@@ -91,20 +169,36 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
         return nodeAt(index).data;
     }
 
+    /**
+     * finds the node at a position, walking from the nearest of first node, last node and finger,
+     * so sequential and near-sequential lookups take O(1) each
+     * @param index position, must be within bounds
+     * @return node at the position
+     */
     private Node<E> nodeAt(int index) {
-        if (index < size / 2) {
-            Node<E> node = firstNode;
-            for (int i = 0; i < index; i++) {
-                node = node.next;
-            }
-            return node;
+        Node<E> node;
+        int i;
+        int fromLast = size - 1 - index;
+        if (index <= fromLast) {
+            node = firstNode;
+            i = 0;
         } else {
-            Node<E> node = lastNode;
-            for (int i = size - 1; i > index; i--) {
-                node = node.previous;
-            }
-            return node;
+            node = lastNode;
+            i = size - 1;
+        }
+        if (finger != null && Math.abs(index - fingerIndex) < Math.min(index, fromLast)) {
+            node = finger;
+            i = fingerIndex;
+        }
+        for (; i < index; i++) {
+            node = node.next;
         }
+        for (; i > index; i--) {
+            node = node.previous;
+        }
+        finger = node;
+        fingerIndex = index;
+        return node;
     }
 
     @Override
@@ -160,14 +254,91 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
         }
         node.data = null;
         size--;
+        modCount++;
+        finger = null;
+    }
+
+    /**
+     * links a new node in front of a node, the new node becomes the finger if its index is known
+     * @param successor node to link in front of, null to append
+     * @param index index of the new node, -1 if not known, which drops the finger
+     * @param e element of the new node
+     */
+    private void linkBefore(Node<E> successor, int index, E e) {
+        if (successor == null) {
+            add(e);
+            return;
+        }
+        Node<E> newNode = new Node<>(e);
+        Node<E> previous = successor.previous;
+        newNode.previous = previous;
+        newNode.next = successor;
+        successor.previous = newNode;
+        if (previous == null) {
+            firstNode = newNode;
+        } else {
+            previous.next = newNode;
+        }
+        size++;
+        modCount++;
+        if (index >= 0) {
+            finger = newNode;
+            fingerIndex = index;
+        } else {
+            finger = null;
+        }
+    }
+
+    /**
+     * removes all matching elements in one walk over the nodes
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        boolean removed = false;
+        Node<E> node = firstNode;
+        while (node != null) {
+            Node<E> next = node.next;
+            if (filter.test(node.data)) {
+                unlink(node);
+                removed = true;
+            }
+            node = next;
+        }
+        return removed;
+    }
+
+    /**
+     * clears the list in one pass, the links of every node are cut so the GC does not have to trace the chain
+     */
+    @Override
+    public void clear() {
+        Node<E> node = firstNode;
+        while (node != null) {
+            Node<E> next = node.next;
+            node.data = null;
+            node.previous = null;
+            node.next = null;
+            node = next;
+        }
+        firstNode = null;
+        lastNode = null;
+        size = 0;
+        modCount++;
+        finger = null;
     }
 
     @Override
     public int indexOf(E e) {
-        ListIterator<E> it = listIterator();
-        while (it.hasNext()) {
-            if (c.compare(it.next(), e) == 0) {
-                return it.nextIndex() - 1;
+        Equivalence<? super E> eq = equivalence();
+        int i = 0;
+        for (Node<E> node = firstNode; node != null; node = node.next, i++) {
+            if (equal(eq, e, node.data)) {
+                return i;
             }
         }
         return -1;
@@ -175,13 +346,12 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
 
     @Override
     public int lastIndexOf(E e) {
-        Iterator<E> it = descendingIterator();
+        Equivalence<? super E> eq = equivalence();
         int i = size - 1;
-        while (it.hasNext()) {
-            if (c.compare(it.next(), e) == 0) {
+        for (Node<E> node = lastNode; node != null; node = node.previous, i--) {
+            if (equal(eq, e, node.data)) {
                 return i;
             }
-            i--;
         }
         return -1;
     }
@@ -289,43 +459,313 @@ public class LinkedList<E> extends AbstractCollection<E> implements List<E> {
 
         @Override
         public void add(E e) {
-            Node<E> newNode = new Node<>(e);
-            if (nextIndex == 0) {
-                firstNode = newNode;
-                newNode.next = next;
-                next.previous = newNode;
-            } else if (nextIndex == size) {
-                LinkedList.this.add(e);
-                return;
-            } else {
-                next.previous.next = newNode;
-                newNode.previous = next.previous;
-                newNode.next = next;
-                next.previous = newNode;
-            }
-            size++;
+            lastReturned = null;
+            linkBefore(next, nextIndex, e);
+            nextIndex++;
         }
     }
 
-
+    /**
+     * gets a view of a range of the list backed by its nodes, no elements are copied.
+     * Changes through the view are changes of the list, structural changes of the list other than
+     * through the view make the view throw a {@code ConcurrentModificationException}.
+     * @param fromIndex inclusive index in actual list that holds the first element of sublist
+     * @param toIndex exclusive (this index - 1 in actual list holds the last element of sublist)
+     * @return view of the range
+     */
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
-        checkIndex(fromIndex);
-        checkIndex(toIndex - 1);
-        if (fromIndex > toIndex) {
-            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
-        }
-        List<E> list = new LinkedList<E>();
-        int index = 0;
-        for (E e : this) {
-            if (index >= fromIndex) {
-                list.add(e);
+        checkRange(fromIndex, toIndex);
+        Node<E> before = fromIndex == 0 ? null : nodeAt(fromIndex - 1);
+        Node<E> after = toIndex == size ? null : nodeAt(toIndex);
+        return new SubList(null, before, after, toIndex - fromIndex);
+    }
+
+    /**
+     * view of the nodes between two bounding nodes, which stay in place while elements of the range
+     * are added or removed through the view. Nested views hold their enclosing view to pass size changes up.
+     */
+    private class SubList extends AbstractCollection<E> implements List<E> {
+        /**
+         * enclosing view, null if the view is on the list itself
+         */
+        private final SubList parent;
+        /**
+         * node in front of the range, null if the range starts at the first node
+         */
+        private final Node<E> before;
+        /**
+         * node behind the range, null if the range ends at the last node
+         */
+        private final Node<E> after;
+        private int size;
+        /**
+         * modCount of the list seen by this view
+         */
+        private int expectedModCount;
+
+        private SubList(SubList parent, Node<E> before, Node<E> after, int size) {
+            this.parent = parent;
+            this.before = before;
+            this.after = after;
+            this.size = size;
+            this.c = LinkedList.this.c;
+            this.eq = LinkedList.this.equivalence();
+            this.expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * changes the size of this view and of the enclosing views after a change through it
+         * @param delta size change
+         */
+        private void updateSize(int delta) {
+            for (SubList s = this; s != null; s = s.parent) {
+                s.size += delta;
+                s.expectedModCount = modCount;
             }
-            index++;
-            if (index == toIndex) {
-                return list;
+        }
+
+        private Node<E> first() {
+            return before == null ? firstNode : before.next;
+        }
+
+        private Node<E> last() {
+            return after == null ? lastNode : after.previous;
+        }
+
+        /**
+         * finds the node at a position of the view, walking from the nearer end of the range
+         * @param index position in the view, must be within bounds
+         * @return node at the position
+         */
+        private Node<E> nodeIn(int index) {
+            Node<E> node;
+            if (index < size >> 1) {
+                node = first();
+                for (int i = 0; i < index; i++) {
+                    node = node.next;
+                }
+            } else {
+                node = last();
+                for (int i = size - 1; i > index; i--) {
+                    node = node.previous;
+                }
             }
+            return node;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            checkIndex(index);
+            return nodeIn(index).data;
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkForComodification();
+            checkIndex(index);
+            Node<E> node = nodeIn(index);
+            E old = node.data;
+            node.data = element;
+            return old;
+        }
+
+        @Override
+        public boolean add(E e) {
+            add(size(), e);
+            return true;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            linkBefore(index == size ? after : nodeIn(index), -1, element);
+            updateSize(1);
+        }
+
+        @Override
+        public E remove(int index) {
+            checkForComodification();
+            checkIndex(index);
+            Node<E> node = nodeIn(index);
+            E old = node.data;
+            unlink(node);
+            updateSize(-1);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            checkForComodification();
+            Node<E> node = first();
+            for (int i = 0; i < size; i++) {
+                Node<E> next = node.next;
+                unlink(node);
+                node = next;
+            }
+            updateSize(-size);
+        }
+
+        @Override
+        public int indexOf(E e) {
+            checkForComodification();
+            Equivalence<? super E> eq = equivalence();
+            Node<E> node = first();
+            for (int i = 0; i < size; i++, node = node.next) {
+                if (equal(eq, e, node.data)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(E e) {
+            checkForComodification();
+            Equivalence<? super E> eq = equivalence();
+            Node<E> node = last();
+            for (int i = size - 1; i >= 0; i--, node = node.previous) {
+                if (equal(eq, e, node.data)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(E e) {
+            return indexOf(e) >= 0;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            return new ListIterator<E>() {
+                Node<E> next = index == size ? after : nodeIn(index);
+                Node<E> lastReturned;
+                int nextIndex = index;
+
+                @Override
+                public boolean hasNext() {
+                    return nextIndex < size;
+                }
+
+                @Override
+                public E next() {
+                    checkForComodification();
+                    if (nextIndex >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    lastReturned = next;
+                    next = next.next;
+                    nextIndex++;
+                    return lastReturned.data;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return nextIndex > 0;
+                }
+
+                @Override
+                public E previous() {
+                    checkForComodification();
+                    if (nextIndex <= 0) {
+                        throw new NoSuchElementException();
+                    }
+                    lastReturned = next = next == null ? lastNode : next.previous;
+                    nextIndex--;
+                    return lastReturned.data;
+                }
+
+                @Override
+                public int nextIndex() {
+                    return nextIndex;
+                }
+
+                @Override
+                public int previousIndex() {
+                    return nextIndex - 1;
+                }
+
+                @Override
+                public void remove() {
+                    if (lastReturned == null) {
+                        throw new IllegalStateException("Cannot remove before first next() method call");
+                    }
+                    checkForComodification();
+                    Node<E> lastNext = lastReturned.next;
+                    unlink(lastReturned);
+                    if (next == lastReturned) {
+                        next = lastNext;
+                    } else {
+                        nextIndex--;
+                    }
+                    lastReturned = null;
+                    updateSize(-1);
+                }
+
+                @Override
+                public void set(E e) {
+                    if (lastReturned == null) {
+                        throw new IllegalStateException();
+                    }
+                    checkForComodification();
+                    lastReturned.data = e;
+                }
+
+                @Override
+                public void add(E e) {
+                    checkForComodification();
+                    lastReturned = null;
+                    linkBefore(next, -1, e);
+                    nextIndex++;
+                    updateSize(1);
+                }
+            };
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            checkRange(fromIndex, toIndex);
+            Node<E> subBefore = fromIndex == 0 ? before : nodeIn(fromIndex - 1);
+            Node<E> subAfter = toIndex == size ? after : nodeIn(toIndex);
+            return new SubList(this, subBefore, subAfter, toIndex - fromIndex);
         }
-        return null;
     }
 }
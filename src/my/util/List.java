@@ -3,6 +3,9 @@ package my.util;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.UnaryOperator;
 
 /**
  * List interface with all basic list methods and few default methods
@@ -10,17 +13,37 @@ import java.util.ListIterator;
  */
 public interface List<E> extends Collection<E> {
 
+    @Override
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
     /**
-     * sorts the list using quick sort algorithm ({@code Rray.quickSort(Comparator c)})
+     * sorts the list using the stable merge sort algorithm ({@code Rray.mergeSort(T[] objects, Comparator c)}),
+     * nearly sorted lists are sorted in near linear time
      * @param c comparator on which the sorting is based
      */
     default void sort(Comparator<? extends E> c) {
-        E[] a = this.toArray();
-        Rray.quickSort(a, (Comparator) c);
+        Object[] a = this.toArray();
+        Rray.mergeSort(a, (Comparator) c);
         ListIterator<E> it = this.listIterator();
-        for (E e : a) {
+        for (Object e : a) {
             it.next();
-            it.set(e);
+            it.set((E) e);
+        }
+    }
+
+    /**
+     * replaces every element by the result of an operator applied to it, in a single pass over the list
+     * @param operator operator computing the new element from the old one
+     */
+    default void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) {
+            throw new NullPointerException();
+        }
+        ListIterator<E> it = this.listIterator();
+        while (it.hasNext()) {
+            it.set(operator.apply(it.next()));
         }
     }
 
@@ -35,6 +58,25 @@ public interface List<E> extends Collection<E> {
         }
     }
 
+    /**
+     * checks if a sub list range is within bounds of list
+     * @param fromIndex inclusive first index of the range
+     * @param toIndex exclusive last index of the range
+     * @throws IndexOutOfBoundsException if indexes are out of bounds
+     * @throws IllegalArgumentException if fromIndex is greater than toIndex
+     */
+    default void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Illegal Index: " + fromIndex + " (Size: " + size() + ")");
+        }
+        if (toIndex > size()) {
+            throw new IndexOutOfBoundsException("Illegal Index: " + toIndex + " (Size: " + size() + ")");
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+    }
+
     /**
      * Overrides the equals method from {@code java.lang.Object}
      * @param o object to compare
@@ -123,7 +165,7 @@ public interface List<E> extends Collection<E> {
     }
 
     /**
-     * creates a new list from a specified index to another specified index
+     * gets a list of the elements from a specified index to another specified index
      * @param fromIndex inclusive index in actual list that holds the first element of sublist
      * @param toIndex exclusive (this index - 1 in actual list holds the last element of sublist)
      * @return specified sub list
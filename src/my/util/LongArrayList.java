@@ -0,0 +1,424 @@
+package my.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ArrayList specialized for long values, storing data in a plain long array without boxing,
+ * length increased if needed when trying to add
+ */
+public class LongArrayList {
+    /**
+     * array that stores the element data
+     */
+    private long[] arr;
+    /**
+     * represents the number of elements in LongArrayList
+     */
+    private int size;
+    /**
+     * default initial length of array
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 10;
+    /**
+     * maximum LongArrayList capacity
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Constructor for LongArrayList from initial array capacity
+     * @param initialCapacity initial array length
+     */
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        arr = new long[initialCapacity];
+        size = 0;
+    }
+
+    /**
+     * Constructor for LongArrayList using default initial array length
+     */
+    public LongArrayList() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * protected Constructor for LongArrayList from element data array,
+     * for public access use {@code Rray.asList(long[] arr)}
+     * @param arr element data, used as backing array without copying
+     */
+    protected LongArrayList(long[] arr) {
+        if (arr == null) {
+            throw new NullPointerException();
+        }
+        this.arr = arr;
+        size = arr.length;
+    }
+
+    /**
+     * determines the size of the list
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * if the list holds no elements
+     * @return true if empty, false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * searches for a specified value
+     * @param e value to search for
+     * @return true if list holds the value, false if not
+     */
+    public boolean contains(long e) {
+        return indexOf(e) > -1;
+    }
+
+    /**
+     * appends a value to the end of the list
+     * @param e value to add
+     * @return true
+     */
+    public boolean add(long e) {
+        ensureCapacity(size + 1);
+        arr[size++] = e;
+        return true;
+    }
+
+    /**
+     * appends all values of another list with a single array copy
+     * @param list list holding the values to add
+     * @return true if this list changed
+     */
+    public boolean addAll(LongArrayList list) {
+        int numNew = list.size;
+        ensureCapacity(size + numNew);
+        System.arraycopy(list.arr, 0, arr, size, numNew);
+        size += numNew;
+        return numNew != 0;
+    }
+
+    /**
+     * ensures the length of array is high enough to hold the specified number of elements,
+     * if not it doubles the array length (or grows to minCapacity if more is needed)
+     * @param minCapacity required number of elements
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        if (minCapacity > arr.length) {
+            int newCapacity = arr.length == 0 ? DEFAULT_INITIAL_CAPACITY : 2 * arr.length;
+            if (newCapacity < 0 || newCapacity > MAX_CAPACITY) {
+                newCapacity = MAX_CAPACITY;
+            }
+            arr = Arrays.copyOf(arr, Math.max(newCapacity, minCapacity));
+        }
+    }
+
+    /**
+     * checks if index is within bounds of list
+     * @param index index to check
+     * @throws IndexOutOfBoundsException if indexes are out of bounds
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+        }
+    }
+
+    /**
+     * gets a value based on its index
+     * @param index index to get
+     * @return value with certain index
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return arr[index];
+    }
+
+    /**
+     * sets a value with certain index
+     * @param index index to set
+     * @param element new value
+     * @return old value
+     */
+    public long set(int index, long element) {
+        checkIndex(index);
+        long old = arr[index];
+        arr[index] = element;
+        return old;
+    }
+
+    /**
+     * adds a value to list in a specified index and shift rest of list up one index
+     * @param index new index to add in
+     * @param element value to add
+     */
+    public void add(int index, long element) {
+        if (index != size) {
+            checkIndex(index);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(arr, index, arr, index + 1, size - index);
+        arr[index] = element;
+        size++;
+    }
+
+    /**
+     * removes a specified index from list
+     * @param index index to remove
+     * @return removed value
+     */
+    public long remove(int index) {
+        checkIndex(index);
+        long old = arr[index];
+        int numMoved = size - index - 1;
+        if (numMoved > 0) {
+            System.arraycopy(arr, index + 1, arr, index, numMoved);
+        }
+        size--;
+        return old;
+    }
+
+    /**
+     * removes the first occurrence of a specified value
+     * @param e value to remove
+     * @return true if the value was found and removed, false if not
+     */
+    public boolean removeValue(long e) {
+        int index = indexOf(e);
+        if (index >= 0) {
+            remove(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * searches for the first index of a specified value
+     * @param e value to search for
+     * @return first index of specified value, -1 if not found
+     */
+    public int indexOf(long e) {
+        for (int i = 0; i < size; i++) {
+            if (arr[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * searches for the last index of a specified value
+     * @param e value to search for
+     * @return last index of specified value, -1 if not found
+     */
+    public int lastIndexOf(long e) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (arr[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * sorts the list in ascending order ({@code Rray.quickSort(long[] values, int fromIndex, int toIndex)})
+     */
+    public void sort() {
+        Rray.quickSort(arr, 0, size);
+    }
+
+    /**
+     * searches a list sorted in ascending order using binary search
+     * ({@code Rray.binSearch(long[] data, int fromIndex, int toIndex, long key)})
+     * @param key value to search for
+     * @return index of the value if found, else -1
+     */
+    public int binSearch(long key) {
+        return Rray.binSearch(arr, 0, size, key);
+    }
+
+    /**
+     * creates a new list from a specified index to another specified index
+     * @param fromIndex inclusive index in actual list that holds the first element of sublist
+     * @param toIndex exclusive (this index - 1 in actual list holds the last element of sublist)
+     * @return specified sub list
+     */
+    public LongArrayList subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException("Illegal Range: " + fromIndex + " - " + toIndex + " (Size: " + size + ")");
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        return new LongArrayList(Arrays.copyOfRange(arr, fromIndex, toIndex));
+    }
+
+    /**
+     * converts the list to array
+     * @return new array holding all values
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(arr, size);
+    }
+
+    /**
+     * clears the list, the array length is kept
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * creates an iterator through the list
+     * @return primitive iterator
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new Itr(false);
+    }
+
+    /**
+     * creates an iterator in reversed direction through the list
+     * @return primitive iterator
+     */
+    public PrimitiveIterator.OfLong descendingIterator() {
+        return new Itr(true);
+    }
+
+    /**
+     * creates a sequential stream over the list
+     * @return stream of the elements
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * creates a possibly parallel stream over the list, it is split into index ranges
+     * @return parallel stream of the elements
+     */
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    /**
+     * creates a spliterator over the current index range of the element array,
+     * the list must not be structurally modified while it is used
+     * @return spliterator over the elements
+     */
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(arr, 0, size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof LongArrayList)) {
+            return false;
+        }
+        LongArrayList list = (LongArrayList) obj;
+        if (list.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!(arr[i] == list.arr[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(arr[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; ; i++) {
+            sb.append(arr[i]);
+            if (i == size - 1) {
+                return sb.append(']').toString();
+            }
+            sb.append(',').append(' ');
+        }
+    }
+
+    /**
+     * Private primitive iterator implementation
+     */
+    private class Itr implements PrimitiveIterator.OfLong {
+
+        /**
+         * true if iterating from last to first index
+         */
+        final boolean descending;
+        /**
+         * index of the value returned by the next call of nextLong()
+         */
+        int index;
+        /**
+         * index of the last returned value, -1 if none
+         */
+        int lastReturned;
+
+        private Itr(boolean descending) {
+            this.descending = descending;
+            this.index = descending ? size - 1 : 0;
+            this.lastReturned = -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return descending ? index >= 0 : index < size;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = index;
+            index += descending ? -1 : 1;
+            return arr[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Cannot remove before first next() method call");
+            }
+            LongArrayList.this.remove(lastReturned);
+            if (!descending) {
+                index = lastReturned;
+            }
+            lastReturned = -1;
+        }
+    }
+}
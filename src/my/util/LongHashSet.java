@@ -0,0 +1,483 @@
+package my.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Hash set specialized for long values, no boxing and no chaining:
+ * values are stored in a flat power-of-two long array probed linearly, 0 marks an empty slot
+ * and is tracked by a separate flag. Removal shifts the following entries of the cluster back
+ * instead of leaving tombstones
+ */
+public class LongHashSet {
+
+    /**
+     * value table, 0 marks an empty slot
+     */
+    private long[] arr;
+    /**
+     * table length - 1, the table length is always a power of two
+     */
+    private int mask;
+    /**
+     * if the value 0 is in the set, it cannot be stored in the table
+     */
+    private boolean containsZero;
+    /**
+     * number of values in the set (including 0)
+     */
+    private int size;
+    /**
+     * number of values in the table at which the table is doubled, always less than the table length
+     */
+    private int threshold;
+
+    private double maxLoadFactor;
+
+    protected static final double DEFAULT_MAX_LOAD_FACTOR = 0.75;
+    protected static final int DEFAULT_INITIAL_CAPACITY = 10;
+    /**
+     * maximum table length
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    public LongHashSet() {
+        this(DEFAULT_MAX_LOAD_FACTOR, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LongHashSet(double maxLoadFactor) {
+        this(maxLoadFactor, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LongHashSet(int initialCapacity) {
+        this(DEFAULT_MAX_LOAD_FACTOR, initialCapacity);
+    }
+
+    public LongHashSet(double maxLoadFactor, int initialCapacity) {
+        if (maxLoadFactor < 0 || initialCapacity < 0) {
+            throw new IllegalArgumentException("MaxLoadFactor and Initial Capacity must not be negative");
+        }
+        if (initialCapacity == 0) {
+            throw new IllegalArgumentException("Initial Capacity cannot be 0");
+        }
+        this.maxLoadFactor = maxLoadFactor;
+        this.size = 0;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * replaces the table by an empty one of the given length
+     * @param capacity new table length, a power of two
+     */
+    private void allocate(int capacity) {
+        arr = new long[capacity];
+        mask = capacity - 1;
+        threshold = thresholdFor(capacity);
+    }
+
+    /**
+     * calculates the smallest power of two table length holding the specified capacity
+     * @param capacity requested capacity
+     * @return table length, at least 2
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    }
+
+    /**
+     * calculates the resize threshold for a table length, at least one slot is always kept empty
+     * so that probing terminates
+     * @param capacity table length
+     * @return resize threshold
+     */
+    private int thresholdFor(int capacity) {
+        int t = (int) (capacity * maxLoadFactor);
+        return Math.max(1, Math.min(t, capacity - 1));
+    }
+
+    public void setMaxLoadFactor(double maxLoadFactor) {
+        this.maxLoadFactor = maxLoadFactor;
+        threshold = thresholdFor(arr.length);
+    }
+
+    /**
+     * mixes all bits of the value into the low bits used for the table index
+     * @param e value to hash
+     * @return home slot of the value
+     */
+    private int slot(long e) {
+        long h = e * 0x9E3779B97F4A7C15L;
+        int x = (int) (h ^ (h >>> 32));
+        return (x ^ (x >>> 16)) & mask;
+    }
+
+    /**
+     * determines the size of the set
+     * @return number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * if the set holds no values
+     * @return true if empty, false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * adds a value to the set
+     * @param e value to add
+     * @return true if added, false if the value was already in the set
+     */
+    public boolean add(long e) {
+        if (e == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(e);
+        long k;
+        while ((k = arr[i]) != 0) {
+            if (k == e) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        arr[i] = e;
+        if (++size - (containsZero ? 1 : 0) > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * adds all values of another set
+     * @param set set holding the values to add
+     * @return true if this set changed
+     */
+    public boolean addAll(LongHashSet set) {
+        boolean added = set.containsZero && add((long) 0);
+        for (long e : set.arr) {
+            if (e != 0 && add(e)) {
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * doubles the table until the table size is below the threshold and reinserts all values
+     */
+    private void resize() {
+        long[] old = arr;
+        int tableSize = size - (containsZero ? 1 : 0);
+        int newCapacity = old.length;
+        do {
+            if (newCapacity == MAX_CAPACITY) {
+                if (tableSize >= MAX_CAPACITY - 1) {
+                    throw new OutOfMemoryError();
+                }
+                threshold = MAX_CAPACITY - 1;
+                return;
+            }
+            newCapacity <<= 1;
+        } while (thresholdFor(newCapacity) < tableSize);
+        allocate(newCapacity);
+        for (long e : old) {
+            if (e != 0) {
+                int i = slot(e);
+                while (arr[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                arr[i] = e;
+            }
+        }
+    }
+
+    /**
+     * searches the slot holding a non zero value
+     * @param e value to search for
+     * @return slot of the value, -1 if not found
+     */
+    private int slotOf(long e) {
+        int i = slot(e);
+        long k;
+        while ((k = arr[i]) != 0) {
+            if (k == e) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * searches for a specified value
+     * @param e value to search for
+     * @return true if the set holds the value, false if not
+     */
+    public boolean contains(long e) {
+        return e == 0 ? containsZero : slotOf(e) >= 0;
+    }
+
+    /**
+     * removes a specified value from the set
+     * @param e value to remove
+     * @return true if the value was removed, false if it was not in the set
+     */
+    public boolean remove(long e) {
+        if (e == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int i = slotOf(e);
+        if (i < 0) {
+            return false;
+        }
+        removeAt(i);
+        return true;
+    }
+
+    /**
+     * removes the value in a slot, then shifts every following entry of the cluster
+     * whose home slot is not between the hole and itself back into the hole
+     * @param hole occupied slot
+     */
+    private void removeAt(int hole) {
+        int i = hole;
+        for (; ; ) {
+            i = (i + 1) & mask;
+            long k = arr[i];
+            if (k == 0) {
+                break;
+            }
+            int home = slot(k);
+            // entry may move if its home slot is cyclically outside (hole, i]
+            if (hole <= i ? (home <= hole || home > i) : (home <= hole && home > i)) {
+                arr[hole] = k;
+                hole = i;
+            }
+        }
+        arr[hole] = 0;
+        size--;
+    }
+
+    /**
+     * converts the set to array
+     * @return new array holding all values
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int j = 0;
+        if (containsZero) {
+            values[j++] = 0;
+        }
+        for (long e : arr) {
+            if (e != 0) {
+                values[j++] = e;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * clears the set, the table length is kept
+     */
+    public void clear() {
+        Arrays.fill(arr, (long) 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * creates an iterator through the set
+     * @return primitive iterator
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new HashItr(1);
+    }
+
+    /**
+     * creates an iterator through the set in reversed order of {@code iterator()}
+     * @return primitive iterator
+     */
+    public PrimitiveIterator.OfLong descendingIterator() {
+        return new HashItr(-1);
+    }
+
+    /**
+     * creates a sequential stream over the set
+     * @return stream of the elements
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * creates a possibly parallel stream over the set
+     * @return parallel stream of the elements
+     */
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    /**
+     * creates a spliterator fed by the iterator that reports the size
+     * @return spliterator over the elements
+     */
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.DISTINCT);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof LongHashSet)) {
+            return false;
+        }
+        LongHashSet set = (LongHashSet) obj;
+        if (set.size != size || set.containsZero != containsZero) {
+            return false;
+        }
+        for (long e : arr) {
+            if (e != 0 && !set.contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (long e : arr) {
+            hash += Long.hashCode(e);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        PrimitiveIterator.OfLong it = iterator();
+        if (!it.hasNext()) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (; ; ) {
+            sb.append(it.nextLong());
+            if (!it.hasNext()) {
+                return sb.append(']').toString();
+            }
+            sb.append(',').append(' ');
+        }
+    }
+
+    /**
+     * iterator walking the table from an empty slot in either direction, 0 is returned first
+     * in ascending and last in descending order. As no cluster wraps across the start slot,
+     * backward shifts on remove never move an unvisited entry behind the iterator
+     */
+    private class HashItr implements PrimitiveIterator.OfLong {
+        /**
+         * 1 for ascending, -1 for descending slot order
+         */
+        private final int step;
+        /**
+         * empty slot the traversal starts from
+         */
+        private final int start;
+        /**
+         * number of slots after start already passed
+         */
+        private int offset;
+        /**
+         * if 0 still has to be returned
+         */
+        private boolean zeroPending;
+        /**
+         * slot of the last returned value, -1 if none, -2 for the value 0
+         */
+        private int lastReturned;
+
+        private HashItr(int step) {
+            this.step = step;
+            int s = 0;
+            while (arr[s] != 0) {
+                s++;
+            }
+            this.start = s;
+            this.offset = 0;
+            this.zeroPending = containsZero;
+            this.lastReturned = -1;
+        }
+
+        private int slot(int offset) {
+            return (start + step * offset) & mask;
+        }
+
+        private boolean hasNextInTable() {
+            while (offset < arr.length - 1 && arr[slot(offset + 1)] == 0) {
+                offset++;
+            }
+            return offset < arr.length - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return zeroPending || hasNextInTable();
+        }
+
+        @Override
+        public long nextLong() {
+            if (zeroPending && (step > 0 || !hasNextInTable())) {
+                zeroPending = false;
+                lastReturned = -2;
+                return 0;
+            }
+            if (!hasNextInTable()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = slot(++offset);
+            return arr[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == -1) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            if (lastReturned == -2) {
+                containsZero = false;
+                size--;
+            } else {
+                removeAt(lastReturned);
+                if (step > 0) {
+                    // a following entry may have been shifted into the removed slot
+                    offset--;
+                }
+            }
+            lastReturned = -1;
+        }
+    }
+}
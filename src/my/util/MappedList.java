@@ -0,0 +1,522 @@
+package my.util;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent append-only list in a directory of memory-mapped files.
+ * Elements are serialized by an {@link ElementCodec} one after another into segment files of a fixed size,
+ * every record is framed by a header holding the payload length (plus one, zero marks the free space)
+ * and the CRC32 of the payload. The header is written after the payload, so a record becomes visible only
+ * once it is complete. A second mapped file holds the position of every record, get(index) reads one entry
+ * of it and decodes the record straight from the mapping.
+ * A full segment is forced to disk before the next one is started, so after a crash only the last segment
+ * can hold torn records. Opening a list takes the index entries as they are, checks the records of the last
+ * segment against their checksums, indexes records whose index entry was lost and cuts off everything after
+ * the last intact record; the data itself is not read, so even large lists open in milliseconds.
+ * {@link #sync()} forces all appended records to disk, {@link #close()} syncs and unmaps the files.
+ * Elements can only be appended, the methods changing or removing elements throw an UnsupportedOperationException.
+ * Not thread-safe, segments and index are limited to 2 GB each.
+ */
+public class MappedList<E> extends AbstractCollection<E> implements List<E>, AutoCloseable {
+    /**
+     * default size of a segment file
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 32 << 20;
+    /**
+     * record header: payload length + 1 and CRC32 of the payload
+     */
+    private static final int HEADER = 8;
+    private static final int INITIAL_INDEX_CAPACITY = 1 << 14;
+    private static final String INDEX_FILE = "index";
+
+    private final Path directory;
+    private final ElementCodec<E> codec;
+    private final int segmentSize;
+
+    private MappedByteBuffer[] segments;
+    private int segmentCount;
+    /**
+     * offset of the free space in the last segment
+     */
+    private int tail;
+    /**
+     * position of every record + 1 ({@code segment << 32 | offset}), 0 marks unused entries
+     */
+    private MappedByteBuffer index;
+    private int indexCapacity;
+    /**
+     * represents the number of elements in MappedList
+     */
+    private int size;
+    private boolean closed;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Constructor for MappedList from directory, codec, comparator and segment size,
+     * opens the list stored in the directory or creates a new one
+     * @param directory directory holding the files of the list, created if missing
+     * @param codec codec serializing the elements
+     * @param c comparator to compare list elements in indexOf and contains
+     * @param segmentSize size of new segment files, an element must fit into one segment
+     * @throws IOException if the files cannot be opened or created
+     */
+    public MappedList(Path directory, ElementCodec<E> codec, Comparator<E> c, int segmentSize) throws IOException {
+        if (directory == null || codec == null || c == null) {
+            throw new NullPointerException();
+        }
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("Illegal segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.codec = codec;
+        this.c = c;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        segments = new MappedByteBuffer[4];
+        while (Files.exists(segmentPath(segmentCount))) {
+            addSegment(map(segmentPath(segmentCount), 0));
+        }
+        if (segmentCount == 0) {
+            addSegment(map(segmentPath(0), segmentSize));
+        }
+        index = map(directory.resolve(INDEX_FILE), (long) INITIAL_INDEX_CAPACITY * 8);
+        indexCapacity = index.capacity() / 8;
+        recover();
+    }
+
+    /**
+     * Constructor for MappedList from directory, codec and comparator using the default segment size
+     * @param directory directory holding the files of the list, created if missing
+     * @param codec codec serializing the elements
+     * @param c comparator to compare list elements in indexOf and contains
+     * @throws IOException if the files cannot be opened or created
+     */
+    public MappedList(Path directory, ElementCodec<E> codec, Comparator<E> c) throws IOException {
+        this(directory, codec, c, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor for MappedList from directory and codec using default comparator and default segment size
+     * @param directory directory holding the files of the list, created if missing
+     * @param codec codec serializing the elements
+     * @throws IOException if the files cannot be opened or created
+     */
+    public MappedList(Path directory, ElementCodec<E> codec) throws IOException {
+        this(directory, codec, new DefaultComparator<E>());
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("segment-%06d", segment));
+    }
+
+    /**
+     * maps a whole file, the file is created or extended to the minimum length first
+     * @param file file to map
+     * @param minLength minimum length of the file
+     * @return mapping of the file
+     * @throws IOException if the file cannot be opened
+     */
+    private static MappedByteBuffer map(Path file, long minLength) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            if (raf.length() < minLength) {
+                raf.setLength(minLength);
+            }
+            if (raf.length() > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+        }
+    }
+
+    private void addSegment(MappedByteBuffer segment) {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, 2 * segments.length);
+        }
+        segments[segmentCount++] = segment;
+    }
+
+    /**
+     * restores size and tail after opening, see the class description
+     */
+    private void recover() throws IOException {
+        int n = 0;
+        long previous = 0;
+        // index entries are written after their record, every entry pointing to an intact record is kept
+        while (n < indexCapacity) {
+            long entry = index.getLong(n * 8);
+            if (entry <= previous || !isRecord((int) ((entry - 1) >>> 32), (int) (entry - 1))) {
+                break;
+            }
+            previous = entry;
+            n++;
+        }
+        int segment = 0;
+        int offset = 0;
+        if (n > 0) {
+            segment = (int) ((previous - 1) >>> 32);
+            offset = (int) (previous - 1);
+            offset += HEADER + segments[segment].getInt(offset) - 1;
+        }
+        // records appended after the last index entry
+        for (;;) {
+            if (isRecord(segment, offset)) {
+                size = n;
+                appendIndex(segment, offset);
+                n++;
+                offset += HEADER + segments[segment].getInt(offset) - 1;
+            } else if (segment + 1 < segmentCount && isRecord(segment + 1, 0)) {
+                segment++;
+                offset = 0;
+            } else {
+                break;
+            }
+        }
+        size = n;
+        for (int i = n; i < indexCapacity && index.getLong(i * 8) != 0; i++) {
+            index.putLong(i * 8, 0);
+        }
+        // cut off a torn record and the segments started after it
+        MappedByteBuffer last = segments[segment];
+        if (offset + HEADER <= last.capacity() && last.getInt(offset) != 0) {
+            for (int i = offset; i < last.capacity(); i++) {
+                last.put(i, (byte) 0);
+            }
+        }
+        while (segmentCount > segment + 1) {
+            DirectBuffers.free(segments[--segmentCount]);
+            segments[segmentCount] = null;
+            Files.delete(segmentPath(segmentCount));
+        }
+        tail = offset;
+    }
+
+    /**
+     * checks if a complete record starts at a position, records of the last segment are verified by checksum
+     */
+    private boolean isRecord(int segment, int offset) {
+        if (segment < 0 || segment >= segmentCount || offset < 0) {
+            return false;
+        }
+        MappedByteBuffer buffer = segments[segment];
+        if (offset > buffer.capacity() - HEADER) {
+            return false;
+        }
+        int length = buffer.getInt(offset) - 1;
+        if (length < 0 || length > buffer.capacity() - HEADER - offset) {
+            return false;
+        }
+        return segment < segmentCount - 1 || checksum(buffer, offset + HEADER, length) == buffer.getInt(offset + 4);
+    }
+
+    private int checksum(ByteBuffer buffer, int from, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(from + length);
+        payload.position(from);
+        crc.reset();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * stores the position of the record at index size, the index file is doubled if full
+     */
+    private void appendIndex(int segment, int offset) throws IOException {
+        if (size == indexCapacity) {
+            if (indexCapacity > (Integer.MAX_VALUE / 8) / 2) {
+                throw new IOException("Index full");
+            }
+            index.force();
+            DirectBuffers.free(index);
+            index = map(directory.resolve(INDEX_FILE), (long) indexCapacity * 16);
+            indexCapacity = index.capacity() / 8;
+        }
+        index.putLong(size * 8, (((long) segment << 32) | offset) + 1);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("MappedList is closed");
+        }
+    }
+
+    /**
+     * appends an element, it is serialized right into the mapped segment
+     * @param e element to add
+     * @return true
+     * @throws IllegalArgumentException if the serialized element is larger than a segment
+     * @throws UncheckedIOException if a new segment file or a larger index cannot be created
+     */
+    @Override
+    public boolean add(E e) {
+        ensureOpen();
+        try {
+            for (;;) {
+                MappedByteBuffer segment = segments[segmentCount - 1];
+                int start = tail;
+                if (start <= segment.capacity() - HEADER) {
+                    ByteBuffer out = segment.duplicate();
+                    out.position(start + HEADER);
+                    try {
+                        codec.write(e, out);
+                        int length = out.position() - start - HEADER;
+                        segment.putInt(start + 4, checksum(segment, start + HEADER, length));
+                        segment.putInt(start, length + 1);
+                        appendIndex(segmentCount - 1, start);
+                        size++;
+                        tail = out.position();
+                        return true;
+                    } catch (BufferOverflowException overflow) {
+                        // the recovery scan must find nothing but zeros after the last record
+                        for (int i = start + HEADER; i < out.position(); i++) {
+                            segment.put(i, (byte) 0);
+                        }
+                        if (start == 0) {
+                            throw new IllegalArgumentException("Element larger than a segment (" + segment.capacity() + " bytes)");
+                        }
+                    }
+                }
+                segment.force();
+                addSegment(map(segmentPath(segmentCount), segmentSize));
+                tail = 0;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index != size) {
+            throw new UnsupportedOperationException("MappedList is append-only");
+        }
+        add(element);
+    }
+
+    @Override
+    public E get(int i) {
+        checkIndex(i);
+        long position = index.getLong(i * 8) - 1;
+        MappedByteBuffer segment = segments[(int) (position >>> 32)];
+        int offset = (int) position;
+        ByteBuffer in = segment.duplicate();
+        in.limit(offset + HEADER + segment.getInt(offset) - 1);
+        in.position(offset + HEADER);
+        return codec.read(in);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return indexOf(e) > -1;
+    }
+
+    @Override
+    public int indexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        for (int i = 0; i < size; i++) {
+            if (equal(eq, e, get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        for (int i = size - 1; i >= 0; i--) {
+            if (equal(eq, e, get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException("MappedList is append-only");
+    }
+
+    @Override
+    public E remove(int index) {
+        throw new UnsupportedOperationException("MappedList is append-only");
+    }
+
+    @Override
+    public boolean remove(E e) {
+        throw new UnsupportedOperationException("MappedList is append-only");
+    }
+
+    @Override
+    public boolean removeAll(Collection<E> c) {
+        throw new UnsupportedOperationException("MappedList is append-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("MappedList is append-only");
+    }
+
+    @Override
+    public void sort(Comparator<? extends E> c) {
+        throw new UnsupportedOperationException("MappedList is append-only");
+    }
+
+    /**
+     * forces all appended records and the index to disk
+     */
+    public void sync() {
+        ensureOpen();
+        segments[segmentCount - 1].force();
+        index.force();
+    }
+
+    /**
+     * syncs and unmaps all files, the list is empty afterwards and cannot be added to.
+     * Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        sync();
+        closed = true;
+        for (int i = 0; i < segmentCount; i++) {
+            DirectBuffers.free(segments[i]);
+            segments[i] = null;
+        }
+        DirectBuffers.free(index);
+        index = null;
+        segmentCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return new ListItr(index);
+    }
+
+    /**
+     * copies a range of elements into a LinkedList on the heap
+     * @param fromIndex inclusive index of the first element
+     * @param toIndex exclusive index of the last element
+     * @return copy of the range
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException("Illegal Index: " + (fromIndex < 0 ? fromIndex : toIndex) + " (Size: " + size + ")");
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        List<E> sub = new LinkedList<>((Comparator<E>) c);
+        for (int i = fromIndex; i < toIndex; i++) {
+            sub.add(get(i));
+        }
+        return sub;
+    }
+
+    /**
+     * read-only List Iterator, add appends at the end only
+     */
+    private class ListItr implements ListIterator<E> {
+
+        /**
+         * index of the element returned by the next call of next()
+         */
+        int index;
+
+        private ListItr(int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return get(index++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            return get(--index);
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("MappedList is append-only");
+        }
+
+        @Override
+        public void set(E e) {
+            throw new UnsupportedOperationException("MappedList is append-only");
+        }
+
+        @Override
+        public void add(E e) {
+            MappedList.this.add(index++, e);
+        }
+    }
+}
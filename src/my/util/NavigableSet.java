@@ -0,0 +1,126 @@
+package my.util;
+
+import java.util.Comparator;
+
+/**
+ * sorted set interface with navigation methods that find the closest matches of a key
+ * and range views backed by the set
+ */
+public interface NavigableSet<E> extends Set<E> {
+
+    /**
+     * gets the comparator that orders the set
+     * @return comparator of this set
+     */
+    Comparator<? super E> comparator();
+
+    /**
+     * gets the lowest element
+     * @return lowest element
+     * @throws java.util.NoSuchElementException if the set is empty
+     */
+    E first();
+
+    /**
+     * gets the highest element
+     * @return highest element
+     * @throws java.util.NoSuchElementException if the set is empty
+     */
+    E last();
+
+    /**
+     * gets the greatest element less than or equal to the specified element
+     * @param e element to search for
+     * @return floor element, null if there is none
+     */
+    E floor(E e);
+
+    /**
+     * gets the least element greater than or equal to the specified element
+     * @param e element to search for
+     * @return ceiling element, null if there is none
+     */
+    E ceiling(E e);
+
+    /**
+     * gets the greatest element strictly less than the specified element
+     * @param e element to search for
+     * @return lower element, null if there is none
+     */
+    E lower(E e);
+
+    /**
+     * gets the least element strictly greater than the specified element
+     * @param e element to search for
+     * @return higher element, null if there is none
+     */
+    E higher(E e);
+
+    /**
+     * removes and returns the lowest element
+     * @return lowest element, null if the set is empty
+     */
+    E pollFirst();
+
+    /**
+     * removes and returns the highest element
+     * @return highest element, null if the set is empty
+     */
+    E pollLast();
+
+    /**
+     * creates a view of the elements ranging from fromElement to toElement,
+     * changes of the view are written through to this set and vice versa
+     * @param fromElement   low end of the range
+     * @param fromInclusive if the low end is part of the range
+     * @param toElement     high end of the range
+     * @param toInclusive   if the high end is part of the range
+     * @return range view
+     * @throws IllegalArgumentException if fromElement is greater than toElement
+     */
+    NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive);
+
+    /**
+     * creates a view of the elements less than (or equal to, if inclusive is true) toElement
+     * @param toElement high end of the range
+     * @param inclusive if the high end is part of the range
+     * @return range view
+     */
+    NavigableSet<E> headSet(E toElement, boolean inclusive);
+
+    /**
+     * creates a view of the elements greater than (or equal to, if inclusive is true) fromElement
+     * @param fromElement low end of the range
+     * @param inclusive   if the low end is part of the range
+     * @return range view
+     */
+    NavigableSet<E> tailSet(E fromElement, boolean inclusive);
+
+    /**
+     * creates a view of the elements from fromElement, inclusive, to toElement, exclusive
+     * @param fromElement inclusive low end of the range
+     * @param toElement   exclusive high end of the range
+     * @return range view
+     */
+    default NavigableSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    /**
+     * creates a view of the elements strictly less than toElement
+     * @param toElement exclusive high end of the range
+     * @return range view
+     */
+    default NavigableSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    /**
+     * creates a view of the elements greater than or equal to fromElement
+     * @param fromElement inclusive low end of the range
+     * @return range view
+     */
+    default NavigableSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+}
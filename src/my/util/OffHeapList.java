@@ -0,0 +1,505 @@
+package my.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * List storing fixed-layout records in native memory outside of the Java heap.
+ * Every element is written by a {@link RecordCodec} into a record described by a {@link RecordLayout},
+ * the list keeps no element objects, so millions of records cost neither object headers nor GC work.
+ * Records live in direct buffers (chunks) of a fixed power of two number of records, the list grows by
+ * allocating another chunk and never copies existing records. Fields can be read and written in place
+ * through {@link #record(int)} and the list can be sorted by a field without decoding any element.
+ * The native memory is released by {@link #close()}, a closed list is empty and cannot be added to.
+ * Not thread-safe.
+ */
+public class OffHeapList<E> extends AbstractCollection<E> implements List<E>, AutoCloseable {
+    /**
+     * default size of a chunk
+     */
+    private static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+
+    private final RecordLayout layout;
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    /**
+     * log2 of the number of records per chunk
+     */
+    private final int chunkShift;
+    private final int chunkMask;
+    /**
+     * allocated chunks, only the first chunkCount are used
+     */
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    /**
+     * represents the number of records in OffHeapList
+     */
+    private int size;
+    private boolean closed;
+    /**
+     * cursor handed to the codec and returned by record(int)
+     */
+    private final RecordCursor cursor;
+
+    /**
+     * Constructor for OffHeapList from layout, codec, comparator and chunk size
+     * @param layout layout of the records
+     * @param codec codec mapping elements to records
+     * @param c comparator to compare list elements in indexOf, contains and remove
+     * @param recordsPerChunk number of records in one chunk of native memory, rounded up to a power of two
+     */
+    public OffHeapList(RecordLayout layout, RecordCodec<E> codec, Comparator<E> c, int recordsPerChunk) {
+        if (layout == null || codec == null || c == null) {
+            throw new NullPointerException();
+        }
+        if (recordsPerChunk <= 0) {
+            throw new IllegalArgumentException("Illegal chunk size: " + recordsPerChunk);
+        }
+        int records = recordsPerChunk == 1 ? 1 : Integer.highestOneBit(recordsPerChunk - 1) << 1;
+        if (records <= 0 || (long) records * layout.recordSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Illegal chunk size: " + recordsPerChunk);
+        }
+        this.layout = layout;
+        this.codec = codec;
+        this.c = c;
+        this.recordSize = layout.recordSize();
+        this.chunkShift = Integer.numberOfTrailingZeros(records);
+        this.chunkMask = records - 1;
+        this.chunks = new ByteBuffer[4];
+        this.cursor = new RecordCursor(layout);
+    }
+
+    /**
+     * Constructor for OffHeapList from layout, codec and comparator using chunks of about 1 MB
+     * @param layout layout of the records
+     * @param codec codec mapping elements to records
+     * @param c comparator to compare list elements in indexOf, contains and remove
+     */
+    public OffHeapList(RecordLayout layout, RecordCodec<E> codec, Comparator<E> c) {
+        this(layout, codec, c, Math.max(1, Integer.highestOneBit(DEFAULT_CHUNK_BYTES / layout.recordSize())));
+    }
+
+    /**
+     * Constructor for OffHeapList from layout and codec using default comparator and chunks of about 1 MB
+     * @param layout layout of the records
+     * @param codec codec mapping elements to records
+     */
+    public OffHeapList(RecordLayout layout, RecordCodec<E> codec) {
+        this(layout, codec, new DefaultComparator<E>());
+    }
+
+    /**
+     * gets the layout of the records
+     * @return record layout
+     */
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    /**
+     * number of bytes of native memory held by the list
+     * @return reserved bytes
+     */
+    public long reservedBytes() {
+        return (long) chunkCount * (recordSize << chunkShift);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * moves the shared cursor to a record, the index is not checked
+     * @param index index of the record
+     * @return cursor on the record
+     */
+    private RecordCursor cursorAt(int index) {
+        return cursor.moveTo(chunks[index >>> chunkShift], (index & chunkMask) * recordSize);
+    }
+
+    /**
+     * gets a cursor to read and write the fields of a record in place without creating an element.
+     * The cursor is shared by all calls on this list and only valid until the next call on the list.
+     * @param index index of the record
+     * @return cursor on the record
+     */
+    public RecordCursor record(int index) {
+        checkIndex(index);
+        return cursorAt(index);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("OffHeapList is closed");
+        }
+    }
+
+    /**
+     * ensures there is room for one more record, allocates another chunk if all are full
+     */
+    private void ensureCapacity() {
+        ensureOpen();
+        if (size == Integer.MAX_VALUE) {
+            throw new OutOfMemoryError();
+        }
+        if (size >>> chunkShift == chunkCount) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, 2 * chunks.length);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(recordSize << chunkShift).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        ensureCapacity();
+        codec.write(e, cursorAt(size++));
+        return true;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return codec.read(cursorAt(index));
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        RecordCursor record = cursorAt(index);
+        E old = codec.read(record);
+        codec.write(element, record);
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index == size) {
+            add(element);
+            return;
+        }
+        checkIndex(index);
+        ensureCapacity();
+        for (int i = size; i > index; i--) {
+            copyRecord(i - 1, i);
+        }
+        size++;
+        codec.write(element, cursorAt(index));
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        E old = codec.read(cursorAt(index));
+        for (int i = index + 1; i < size; i++) {
+            copyRecord(i, i - 1);
+        }
+        size--;
+        return old;
+    }
+
+    @Override
+    public boolean remove(E e) {
+        int index = indexOf(e);
+        if (index >= 0) {
+            remove(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * copies one record to another index
+     * @param from source index
+     * @param to target index
+     */
+    private void copyRecord(int from, int to) {
+        copyBytes(chunks[from >>> chunkShift], (from & chunkMask) * recordSize,
+                chunks[to >>> chunkShift], (to & chunkMask) * recordSize);
+    }
+
+    /**
+     * copies the bytes of one record, eight at a time as far as possible
+     */
+    private void copyBytes(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset) {
+        int i = 0;
+        for (; i + 8 <= recordSize; i += 8) {
+            dst.putLong(dstOffset + i, src.getLong(srcOffset + i));
+        }
+        for (; i < recordSize; i++) {
+            dst.put(dstOffset + i, src.get(srcOffset + i));
+        }
+    }
+
+    @Override
+    public int indexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        for (int i = 0; i < size; i++) {
+            if (equal(eq, e, codec.read(cursorAt(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        for (int i = size - 1; i >= 0; i--) {
+            if (equal(eq, e, codec.read(cursorAt(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return indexOf(e) > -1;
+    }
+
+    /**
+     * sorts the records ascending by a field without creating elements, the sort is stable.
+     * Floating point fields are ordered like {@code Double.compare}.
+     * The field values are sorted on the heap (12 bytes per record plus as much for merging),
+     * the records are then moved into place in native memory following the cycles of the permutation.
+     * @param field index of the field to sort by
+     */
+    public void sortBy(int field) {
+        if (field < 0 || field >= layout.fieldCount()) {
+            throw new IllegalArgumentException("Illegal field: " + field);
+        }
+        int n = size;
+        long[] keys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = cursorAt(i).sortKey(field);
+            order[i] = i;
+        }
+        mergeSort(order, new int[n], keys, 0, n);
+        permute(order);
+    }
+
+    /**
+     * sorts the records ascending by a field, see {@link #sortBy(int)}
+     * @param field name of the field to sort by
+     */
+    public void sortBy(String field) {
+        sortBy(layout.indexOf(field));
+    }
+
+    /**
+     * stable merge sort of record indexes by their keys
+     */
+    private static void mergeSort(int[] order, int[] buffer, long[] keys, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, keys, from, mid);
+        mergeSort(order, buffer, keys, mid, to);
+        if (keys[order[mid - 1]] <= keys[order[mid]]) {
+            return; // already in order
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && keys[buffer[i]] <= keys[buffer[j]])) {
+                order[k] = buffer[i++];
+            } else {
+                order[k] = buffer[j++];
+            }
+        }
+    }
+
+    /**
+     * moves the record order[i] to index i for every i, each cycle of the permutation
+     * is rotated through a single record sized scratch buffer
+     * @param order source index of every target index, overwritten
+     */
+    private void permute(int[] order) {
+        ByteBuffer scratch = ByteBuffer.allocate(recordSize);
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] == start) {
+                continue;
+            }
+            copyBytes(chunks[start >>> chunkShift], (start & chunkMask) * recordSize, scratch, 0);
+            int to = start;
+            for (;;) {
+                int from = order[to];
+                order[to] = to;
+                if (from == start) {
+                    copyBytes(scratch, 0, chunks[to >>> chunkShift], (to & chunkMask) * recordSize);
+                    break;
+                }
+                copyRecord(from, to);
+                to = from;
+            }
+        }
+    }
+
+    /**
+     * removes all records, the native memory stays reserved for new records
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * releases the native memory of all chunks immediately, the list is empty afterwards
+     * and adding to it throws an IllegalStateException. Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < chunkCount; i++) {
+            DirectBuffers.free(chunks[i]);
+            chunks[i] = null;
+        }
+        chunkCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return new ListItr(index);
+    }
+
+    /**
+     * copies a range of records into a new OffHeapList with the same layout, codec and chunk size,
+     * the copy holds its own native memory and has to be closed as well
+     * @param fromIndex inclusive index of the first record
+     * @param toIndex exclusive index of the last record
+     * @return copy of the range
+     */
+    @Override
+    public OffHeapList<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException("Illegal Index: " + (fromIndex < 0 ? fromIndex : toIndex) + " (Size: " + size + ")");
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        OffHeapList<E> sub = new OffHeapList<>(layout, codec, (Comparator<E>) c, chunkMask + 1);
+        for (int i = fromIndex; i < toIndex; i++) {
+            sub.ensureCapacity();
+            int to = sub.size++;
+            copyBytes(chunks[i >>> chunkShift], (i & chunkMask) * recordSize,
+                    sub.chunks[to >>> chunkShift], (to & chunkMask) * recordSize);
+        }
+        return sub;
+    }
+
+    /**
+     * Private List Iterator implementation
+     */
+    private class ListItr implements ListIterator<E> {
+
+        /**
+         * index of the element returned by the next call of next()
+         */
+        int index;
+
+        /**
+         * index of the element returned by the last call of next() or previous(), -1 if none
+         */
+        int lastReturned;
+
+        private ListItr(int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            this.index = index;
+            this.lastReturned = -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = index++;
+            return codec.read(cursorAt(lastReturned));
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = --index;
+            return codec.read(cursorAt(lastReturned));
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            OffHeapList.this.remove(lastReturned);
+            index = lastReturned;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            OffHeapList.this.set(lastReturned, e);
+        }
+
+        @Override
+        public void add(E e) {
+            OffHeapList.this.add(index++, e);
+            lastReturned = -1;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package my.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Hash set using open addressing instead of chaining, using the hash of its equivalence as hashValue.
+ * Elements are stored in a flat power-of-two table and probed linearly (Robin Hood hashing),
+ * removal shifts the following entries back instead of leaving tombstones.
+ * The mixed hash of every element is kept next to it, elements are only compared if the hashes match.
+ * null elements are not permitted
+ */
+public class OpenHashSet<E> extends AbstractHashSet<E> {
+
+    /**
+     * element table, null marks an empty slot
+     */
+    private E[] keys;
+    /**
+     * mixed hash of the element in the same slot, used for probe distances and to skip comparisons
+     */
+    private int[] hashes;
+    /**
+     * table length - 1, the table length is always a power of two
+     */
+    private int mask;
+    /**
+     * number of elements at which the table is doubled, always less than the table length
+     */
+    private int threshold;
+
+    /**
+     * maximum table length
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // no field initializers: the table is allocated by initTable(int) from the super constructor
+
+    public OpenHashSet() {
+        this(new DefaultComparator<E>(), DEFAULT_MAX_LOAD_FACTOR, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenHashSet(Comparator<E> c) {
+        this(c, DEFAULT_MAX_LOAD_FACTOR, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenHashSet(double maxLoadFactor) {
+        this(new DefaultComparator<E>(), maxLoadFactor, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenHashSet(int initialCapacity) {
+        this(new DefaultComparator<E>(), DEFAULT_MAX_LOAD_FACTOR, initialCapacity);
+    }
+
+    public OpenHashSet(Comparator<E> c, double maxLoadFactor) {
+        this(c, maxLoadFactor, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenHashSet(Comparator<E> c, int initialCapacity) {
+        this(c, DEFAULT_MAX_LOAD_FACTOR, initialCapacity);
+    }
+
+    public OpenHashSet(Comparator<E> c, double maxLoadFactor, int initialCapacity) {
+        super(c, maxLoadFactor, initialCapacity);
+    }
+
+    public OpenHashSet(Equivalence<? super E> eq) {
+        this(eq, DEFAULT_MAX_LOAD_FACTOR, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenHashSet(Equivalence<? super E> eq, int initialCapacity) {
+        this(eq, DEFAULT_MAX_LOAD_FACTOR, initialCapacity);
+    }
+
+    public OpenHashSet(Equivalence<? super E> eq, double maxLoadFactor, int initialCapacity) {
+        super(eq, maxLoadFactor, initialCapacity);
+    }
+
+    @Override
+    protected void initTable(int initialCapacity) {
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * replaces the table by an empty one of the given length
+     * @param capacity new table length, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = (E[]) new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        arrSize = capacity;
+        threshold = thresholdFor(capacity);
+    }
+
+    /**
+     * calculates the smallest power of two table length holding the specified capacity
+     * @param capacity requested capacity
+     * @return table length, at least 2
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    }
+
+    /**
+     * calculates the resize threshold for a table length, at least one slot is always kept empty
+     * so that probing terminates
+     * @param capacity table length
+     * @return resize threshold
+     */
+    private int thresholdFor(int capacity) {
+        int t = (int) (capacity * maxLoadFactor);
+        return Math.max(1, Math.min(t, capacity - 1));
+    }
+
+    @Override
+    public void setMaxLoadFactor(double maxLoadFactor) {
+        super.setMaxLoadFactor(maxLoadFactor);
+        threshold = thresholdFor(keys.length);
+    }
+
+    /**
+     * spreads the hash value so that the low bits used for the table index depend on all bits
+     * @param e element to hash
+     * @return mixed hash
+     */
+    private int hash(E e) {
+        int h = hashValue(e) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * distance of the element in a slot to its home slot
+     * @param slot occupied slot
+     * @return probe distance
+     */
+    private int distance(int slot) {
+        return (slot - hashes[slot]) & mask;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (size >= threshold) {
+            resize();
+        }
+        if (insert(e, hash(e))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * probes for the element and inserts it at the first slot whose entry is closer to its home slot
+     * @param e element to insert
+     * @param h mixed hash of the element
+     * @return true if inserted, false if the element was already in the table
+     */
+    private boolean insert(E e, int h) {
+        Equivalence<? super E> eq = equivalence();
+        int i = h & mask;
+        for (int dist = 0; ; dist++, i = (i + 1) & mask) {
+            E k = keys[i];
+            if (k == null || distance(i) < dist) {
+                place(e, h, i, dist);
+                return true;
+            }
+            if (hashes[i] == h && equal(eq, e, k)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * places an element known to be absent, displacing entries closer to their home slot (Robin Hood)
+     * @param e element to place
+     * @param h mixed hash of the element
+     * @param i slot to start at
+     * @param dist probe distance of the element at slot i
+     */
+    private void place(E e, int h, int i, int dist) {
+        for (; ; dist++, i = (i + 1) & mask) {
+            E k = keys[i];
+            if (k == null) {
+                keys[i] = e;
+                hashes[i] = h;
+                return;
+            }
+            int kDist = distance(i);
+            if (kDist < dist) {
+                int kh = hashes[i];
+                keys[i] = e;
+                hashes[i] = h;
+                e = k;
+                h = kh;
+                dist = kDist;
+            }
+        }
+    }
+
+    /**
+     * doubles the table until the current size is below the threshold and reinserts all elements
+     */
+    private void resize() {
+        E[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int newCapacity = oldKeys.length;
+        do {
+            if (newCapacity == MAX_CAPACITY) {
+                if (size >= MAX_CAPACITY - 1) {
+                    throw new OutOfMemoryError();
+                }
+                threshold = MAX_CAPACITY - 1;
+                return;
+            }
+            newCapacity <<= 1;
+        } while (thresholdFor(newCapacity) <= size);
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                place(oldKeys[i], oldHashes[i], oldHashes[i] & mask, 0);
+            }
+        }
+    }
+
+    /**
+     * searches the slot holding an element
+     * @param e element to search for
+     * @return slot of the element, -1 if not found
+     */
+    private int slotOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        int h = hash(e);
+        int i = h & mask;
+        for (int dist = 0; ; dist++, i = (i + 1) & mask) {
+            E k = keys[i];
+            if (k == null || distance(i) < dist) {
+                return -1;
+            }
+            if (hashes[i] == h && equal(eq, e, k)) {
+                return i;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return e != null && slotOf(e) >= 0;
+    }
+
+    @Override
+    public boolean remove(E e) {
+        if (e == null) {
+            return false;
+        }
+        int slot = slotOf(e);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * removes the element in a slot and shifts the following entries of the cluster back by one
+     * until an empty slot or an entry in its home slot is reached
+     * @param slot occupied slot
+     */
+    private void removeAt(int slot) {
+        int i = slot;
+        int next = (i + 1) & mask;
+        while (keys[next] != null && distance(next) != 0) {
+            keys[i] = keys[next];
+            hashes[i] = hashes[next];
+            i = next;
+            next = (next + 1) & mask;
+        }
+        keys[i] = null;
+        hashes[i] = 0;
+        size--;
+    }
+
+    /**
+     * removes all matching elements in one sweep over the table. The sweep starts behind an empty slot,
+     * so backward shifting after a removal only moves entries that are not yet visited into the removed slot,
+     * which is then examined again.
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        if (size == 0) {
+            return false;
+        }
+        int start = 0;
+        while (keys[start] != null) {
+            start++;
+        }
+        boolean removed = false;
+        for (int offset = 1; offset < keys.length; ) {
+            int i = (start + offset) & mask;
+            E k = keys[i];
+            if (k != null && filter.test(k)) {
+                removeAt(i);
+                removed = true;
+            } else {
+                offset++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(hashes, 0);
+        size = 0;
+    }
+
+    @Override
+    public int hashValue(E e) {
+        return equivalence().hash(e);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new OpenItr(1);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new OpenItr(-1);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new SlotSpliterator(0, -1, 0);
+    }
+
+    /**
+     * spliterator over a range of table slots, splits the slot range in halves.
+     * The size is only exact before the first split, the halves estimate half of it each.
+     */
+    private class SlotSpliterator implements Spliterator<E> {
+        private int index;
+        /**
+         * exclusive end of the slot range, -1 until first use
+         */
+        private int fence;
+        private int est;
+
+        private SlotSpliterator(int index, int fence, int est) {
+            this.index = index;
+            this.fence = fence;
+            this.est = est;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                est = size;
+                fence = keys.length;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new SlotSpliterator(lo, mid, est >>>= 1);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            E[] k = keys;
+            int hi = getFence();
+            while (index < hi) {
+                E e = k[index++];
+                if (e != null) {
+                    action.accept(e);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            E[] k = keys;
+            int hi = getFence();
+            for (int i = index; i < hi; i++) {
+                if (k[i] != null) {
+                    action.accept(k[i]);
+                }
+            }
+            index = hi;
+        }
+
+        @Override
+        public long estimateSize() {
+            getFence();
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return (fence < 0 || est == size ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * iterator walking the table from an empty slot in either direction,
+     * as no cluster wraps across that slot, backward shifts on remove never move
+     * an unvisited element behind the iterator
+     */
+    private class OpenItr implements Iterator<E> {
+        /**
+         * 1 for ascending, -1 for descending slot order
+         */
+        private final int step;
+        /**
+         * empty slot the traversal starts from
+         */
+        private final int start;
+        /**
+         * number of slots after start already passed
+         */
+        private int offset;
+        /**
+         * slot of the last returned element, -1 if none
+         */
+        private int lastReturned;
+
+        private OpenItr(int step) {
+            this.step = step;
+            int s = 0;
+            while (keys[s] != null) {
+                s++;
+            }
+            this.start = s;
+            this.offset = 0;
+            this.lastReturned = -1;
+        }
+
+        private int slot(int offset) {
+            return (start + step * offset) & mask;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (offset < keys.length - 1 && keys[slot(offset + 1)] == null) {
+                offset++;
+            }
+            return offset < keys.length - 1;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = slot(++offset);
+            return keys[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            removeAt(lastReturned);
+            if (step > 0) {
+                // the following entry may have been shifted into the removed slot
+                offset--;
+            }
+            lastReturned = -1;
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package my.util;
+
+import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * fork join tasks behind {@code Rray.parallelSort}.
+ * A Sorter splits its range into four quarters that are sorted in parallel, merges the quarters
+ * pairwise into the workspace and the two halves back into the array. Ranges up to the
+ * granularity are sorted sequentially, objects with the stable {@code Rray.mergeSort} and primitives
+ * with {@code Rray.quickSort}. A Merger splits the larger run
+ * at its middle, finds the split point in the other run by binary search and merges both halves
+ * in parallel, ties are always taken from the left run
+ */
+final class ParallelSortHelpers {
+
+    /**
+     * no instances, only static task classes
+     */
+    private ParallelSortHelpers() {
+        //unused
+    }
+
+    /**
+     * sorts a[base, base + size) using w[wbase, wbase + size) as workspace
+     */
+    @SuppressWarnings("serial")
+    static final class Sorter<T> extends RecursiveAction {
+        final T[] a;
+        final T[] w;
+        final int base;
+        final int size;
+        final int wbase;
+        final int gran;
+        final Comparator<T> comparator;
+
+        Sorter(T[] a, T[] w, int base, int size, int wbase, int gran, Comparator<T> comparator) {
+            this.a = a;
+            this.w = w;
+            this.base = base;
+            this.size = size;
+            this.wbase = wbase;
+            this.gran = gran;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (size <= gran) {
+                Rray.mergeSort(a, base, base + size, comparator);
+                return;
+            }
+            int h = size >>> 1;
+            int q = h >>> 1;
+            int u = h + q;
+            invokeAll(new Sorter<>(a, w, base, q, wbase, gran, comparator),
+                    new Sorter<>(a, w, base + q, h - q, wbase + q, gran, comparator),
+                    new Sorter<>(a, w, base + h, q, wbase + h, gran, comparator),
+                    new Sorter<>(a, w, base + u, size - u, wbase + u, gran, comparator));
+            invokeAll(new Merger<>(a, w, base, q, base + q, h - q, wbase, gran, comparator),
+                    new Merger<>(a, w, base + h, q, base + u, size - u, wbase + h, gran, comparator));
+            new Merger<>(w, a, wbase, h, wbase + h, size - h, base, gran, comparator).compute();
+        }
+    }
+
+    /**
+     * merges the sorted runs a[lbase, lbase + lsize) and a[rbase, rbase + rsize) into w starting at wbase
+     */
+    @SuppressWarnings("serial")
+    static final class Merger<T> extends RecursiveAction {
+        final T[] a;
+        final T[] w;
+        final int lbase;
+        final int lsize;
+        final int rbase;
+        final int rsize;
+        final int wbase;
+        final int gran;
+        final Comparator<T> comparator;
+
+        Merger(T[] a, T[] w, int lbase, int lsize, int rbase, int rsize, int wbase, int gran, Comparator<T> comparator) {
+            this.a = a;
+            this.w = w;
+            this.lbase = lbase;
+            this.lsize = lsize;
+            this.rbase = rbase;
+            this.rsize = rsize;
+            this.wbase = wbase;
+            this.gran = gran;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (lsize + rsize <= gran) {
+                merge();
+                return;
+            }
+            int lh;
+            int rh;
+            if (lsize >= rsize) {
+                // right elements equal to the split element belong to the upper half
+                lh = lsize >>> 1;
+                T split = a[lbase + lh];
+                int lo = 0;
+                int hi = rsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (comparator.compare(a[rbase + middle], split) < 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                rh = lo;
+            } else {
+                // left elements equal to the split element belong to the lower half
+                rh = rsize >>> 1;
+                T split = a[rbase + rh];
+                int lo = 0;
+                int hi = lsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (comparator.compare(a[lbase + middle], split) <= 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                lh = lo;
+            }
+            invokeAll(new Merger<>(a, w, lbase, lh, rbase, rh, wbase, gran, comparator),
+                    new Merger<>(a, w, lbase + lh, lsize - lh, rbase + rh, rsize - rh, wbase + lh + rh, gran, comparator));
+        }
+
+        /**
+         * sequential merge, stable
+         */
+        private void merge() {
+            int i = lbase;
+            int j = rbase;
+            int lend = lbase + lsize;
+            int rend = rbase + rsize;
+            int k = wbase;
+            while (i < lend && j < rend) {
+                if (comparator.compare(a[j], a[i]) < 0) {
+                    w[k++] = a[j++];
+                } else {
+                    w[k++] = a[i++];
+                }
+            }
+            System.arraycopy(a, i, w, k, lend - i);
+            System.arraycopy(a, j, w, k + lend - i, rend - j);
+        }
+    }
+
+    /**
+     * sorts a[base, base + size) using w[wbase, wbase + size) as workspace
+     */
+    @SuppressWarnings("serial")
+    static final class IntSorter extends RecursiveAction {
+        final int[] a;
+        final int[] w;
+        final int base;
+        final int size;
+        final int wbase;
+        final int gran;
+
+        IntSorter(int[] a, int[] w, int base, int size, int wbase, int gran) {
+            this.a = a;
+            this.w = w;
+            this.base = base;
+            this.size = size;
+            this.wbase = wbase;
+            this.gran = gran;
+        }
+
+        @Override
+        protected void compute() {
+            if (size <= gran) {
+                Rray.quickSort(a, base, base + size);
+                return;
+            }
+            int h = size >>> 1;
+            int q = h >>> 1;
+            int u = h + q;
+            invokeAll(new IntSorter(a, w, base, q, wbase, gran),
+                    new IntSorter(a, w, base + q, h - q, wbase + q, gran),
+                    new IntSorter(a, w, base + h, q, wbase + h, gran),
+                    new IntSorter(a, w, base + u, size - u, wbase + u, gran));
+            invokeAll(new IntMerger(a, w, base, q, base + q, h - q, wbase, gran),
+                    new IntMerger(a, w, base + h, q, base + u, size - u, wbase + h, gran));
+            new IntMerger(w, a, wbase, h, wbase + h, size - h, base, gran).compute();
+        }
+    }
+
+    /**
+     * merges the sorted runs a[lbase, lbase + lsize) and a[rbase, rbase + rsize) into w starting at wbase
+     */
+    @SuppressWarnings("serial")
+    static final class IntMerger extends RecursiveAction {
+        final int[] a;
+        final int[] w;
+        final int lbase;
+        final int lsize;
+        final int rbase;
+        final int rsize;
+        final int wbase;
+        final int gran;
+
+        IntMerger(int[] a, int[] w, int lbase, int lsize, int rbase, int rsize, int wbase, int gran) {
+            this.a = a;
+            this.w = w;
+            this.lbase = lbase;
+            this.lsize = lsize;
+            this.rbase = rbase;
+            this.rsize = rsize;
+            this.wbase = wbase;
+            this.gran = gran;
+        }
+
+        @Override
+        protected void compute() {
+            if (lsize + rsize <= gran) {
+                merge();
+                return;
+            }
+            int lh;
+            int rh;
+            if (lsize >= rsize) {
+                // right elements equal to the split element belong to the upper half
+                lh = lsize >>> 1;
+                int split = a[lbase + lh];
+                int lo = 0;
+                int hi = rsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (Integer.compare(a[rbase + middle], split) < 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                rh = lo;
+            } else {
+                // left elements equal to the split element belong to the lower half
+                rh = rsize >>> 1;
+                int split = a[rbase + rh];
+                int lo = 0;
+                int hi = lsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (Integer.compare(a[lbase + middle], split) <= 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                lh = lo;
+            }
+            invokeAll(new IntMerger(a, w, lbase, lh, rbase, rh, wbase, gran),
+                    new IntMerger(a, w, lbase + lh, lsize - lh, rbase + rh, rsize - rh, wbase + lh + rh, gran));
+        }
+
+        /**
+         * sequential merge, stable
+         */
+        private void merge() {
+            int i = lbase;
+            int j = rbase;
+            int lend = lbase + lsize;
+            int rend = rbase + rsize;
+            int k = wbase;
+            while (i < lend && j < rend) {
+                if (Integer.compare(a[j], a[i]) < 0) {
+                    w[k++] = a[j++];
+                } else {
+                    w[k++] = a[i++];
+                }
+            }
+            System.arraycopy(a, i, w, k, lend - i);
+            System.arraycopy(a, j, w, k + lend - i, rend - j);
+        }
+    }
+
+    /**
+     * sorts a[base, base + size) using w[wbase, wbase + size) as workspace
+     */
+    @SuppressWarnings("serial")
+    static final class LongSorter extends RecursiveAction {
+        final long[] a;
+        final long[] w;
+        final int base;
+        final int size;
+        final int wbase;
+        final int gran;
+
+        LongSorter(long[] a, long[] w, int base, int size, int wbase, int gran) {
+            this.a = a;
+            this.w = w;
+            this.base = base;
+            this.size = size;
+            this.wbase = wbase;
+            this.gran = gran;
+        }
+
+        @Override
+        protected void compute() {
+            if (size <= gran) {
+                Rray.quickSort(a, base, base + size);
+                return;
+            }
+            int h = size >>> 1;
+            int q = h >>> 1;
+            int u = h + q;
+            invokeAll(new LongSorter(a, w, base, q, wbase, gran),
+                    new LongSorter(a, w, base + q, h - q, wbase + q, gran),
+                    new LongSorter(a, w, base + h, q, wbase + h, gran),
+                    new LongSorter(a, w, base + u, size - u, wbase + u, gran));
+            invokeAll(new LongMerger(a, w, base, q, base + q, h - q, wbase, gran),
+                    new LongMerger(a, w, base + h, q, base + u, size - u, wbase + h, gran));
+            new LongMerger(w, a, wbase, h, wbase + h, size - h, base, gran).compute();
+        }
+    }
+
+    /**
+     * merges the sorted runs a[lbase, lbase + lsize) and a[rbase, rbase + rsize) into w starting at wbase
+     */
+    @SuppressWarnings("serial")
+    static final class LongMerger extends RecursiveAction {
+        final long[] a;
+        final long[] w;
+        final int lbase;
+        final int lsize;
+        final int rbase;
+        final int rsize;
+        final int wbase;
+        final int gran;
+
+        LongMerger(long[] a, long[] w, int lbase, int lsize, int rbase, int rsize, int wbase, int gran) {
+            this.a = a;
+            this.w = w;
+            this.lbase = lbase;
+            this.lsize = lsize;
+            this.rbase = rbase;
+            this.rsize = rsize;
+            this.wbase = wbase;
+            this.gran = gran;
+        }
+
+        @Override
+        protected void compute() {
+            if (lsize + rsize <= gran) {
+                merge();
+                return;
+            }
+            int lh;
+            int rh;
+            if (lsize >= rsize) {
+                // right elements equal to the split element belong to the upper half
+                lh = lsize >>> 1;
+                long split = a[lbase + lh];
+                int lo = 0;
+                int hi = rsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (Long.compare(a[rbase + middle], split) < 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                rh = lo;
+            } else {
+                // left elements equal to the split element belong to the lower half
+                rh = rsize >>> 1;
+                long split = a[rbase + rh];
+                int lo = 0;
+                int hi = lsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (Long.compare(a[lbase + middle], split) <= 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                lh = lo;
+            }
+            invokeAll(new LongMerger(a, w, lbase, lh, rbase, rh, wbase, gran),
+                    new LongMerger(a, w, lbase + lh, lsize - lh, rbase + rh, rsize - rh, wbase + lh + rh, gran));
+        }
+
+        /**
+         * sequential merge, stable
+         */
+        private void merge() {
+            int i = lbase;
+            int j = rbase;
+            int lend = lbase + lsize;
+            int rend = rbase + rsize;
+            int k = wbase;
+            while (i < lend && j < rend) {
+                if (Long.compare(a[j], a[i]) < 0) {
+                    w[k++] = a[j++];
+                } else {
+                    w[k++] = a[i++];
+                }
+            }
+            System.arraycopy(a, i, w, k, lend - i);
+            System.arraycopy(a, j, w, k + lend - i, rend - j);
+        }
+    }
+
+    /**
+     * sorts a[base, base + size) using w[wbase, wbase + size) as workspace
+     */
+    @SuppressWarnings("serial")
+    static final class DoubleSorter extends RecursiveAction {
+        final double[] a;
+        final double[] w;
+        final int base;
+        final int size;
+        final int wbase;
+        final int gran;
+
+        DoubleSorter(double[] a, double[] w, int base, int size, int wbase, int gran) {
+            this.a = a;
+            this.w = w;
+            this.base = base;
+            this.size = size;
+            this.wbase = wbase;
+            this.gran = gran;
+        }
+
+        @Override
+        protected void compute() {
+            if (size <= gran) {
+                Rray.quickSort(a, base, base + size);
+                return;
+            }
+            int h = size >>> 1;
+            int q = h >>> 1;
+            int u = h + q;
+            invokeAll(new DoubleSorter(a, w, base, q, wbase, gran),
+                    new DoubleSorter(a, w, base + q, h - q, wbase + q, gran),
+                    new DoubleSorter(a, w, base + h, q, wbase + h, gran),
+                    new DoubleSorter(a, w, base + u, size - u, wbase + u, gran));
+            invokeAll(new DoubleMerger(a, w, base, q, base + q, h - q, wbase, gran),
+                    new DoubleMerger(a, w, base + h, q, base + u, size - u, wbase + h, gran));
+            new DoubleMerger(w, a, wbase, h, wbase + h, size - h, base, gran).compute();
+        }
+    }
+
+    /**
+     * merges the sorted runs a[lbase, lbase + lsize) and a[rbase, rbase + rsize) into w starting at wbase
+     */
+    @SuppressWarnings("serial")
+    static final class DoubleMerger extends RecursiveAction {
+        final double[] a;
+        final double[] w;
+        final int lbase;
+        final int lsize;
+        final int rbase;
+        final int rsize;
+        final int wbase;
+        final int gran;
+
+        DoubleMerger(double[] a, double[] w, int lbase, int lsize, int rbase, int rsize, int wbase, int gran) {
+            this.a = a;
+            this.w = w;
+            this.lbase = lbase;
+            this.lsize = lsize;
+            this.rbase = rbase;
+            this.rsize = rsize;
+            this.wbase = wbase;
+            this.gran = gran;
+        }
+
+        @Override
+        protected void compute() {
+            if (lsize + rsize <= gran) {
+                merge();
+                return;
+            }
+            int lh;
+            int rh;
+            if (lsize >= rsize) {
+                // right elements equal to the split element belong to the upper half
+                lh = lsize >>> 1;
+                double split = a[lbase + lh];
+                int lo = 0;
+                int hi = rsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (Double.compare(a[rbase + middle], split) < 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                rh = lo;
+            } else {
+                // left elements equal to the split element belong to the lower half
+                rh = rsize >>> 1;
+                double split = a[rbase + rh];
+                int lo = 0;
+                int hi = lsize;
+                while (lo < hi) {
+                    int middle = (lo + hi) >>> 1;
+                    if (Double.compare(a[lbase + middle], split) <= 0) {
+                        lo = middle + 1;
+                    } else {
+                        hi = middle;
+                    }
+                }
+                lh = lo;
+            }
+            invokeAll(new DoubleMerger(a, w, lbase, lh, rbase, rh, wbase, gran),
+                    new DoubleMerger(a, w, lbase + lh, lsize - lh, rbase + rh, rsize - rh, wbase + lh + rh, gran));
+        }
+
+        /**
+         * sequential merge, stable
+         */
+        private void merge() {
+            int i = lbase;
+            int j = rbase;
+            int lend = lbase + lsize;
+            int rend = rbase + rsize;
+            int k = wbase;
+            while (i < lend && j < rend) {
+                if (Double.compare(a[j], a[i]) < 0) {
+                    w[k++] = a[j++];
+                } else {
+                    w[k++] = a[i++];
+                }
+            }
+            System.arraycopy(a, i, w, k, lend - i);
+            System.arraycopy(a, j, w, k + lend - i, rend - j);
+        }
+    }
+}
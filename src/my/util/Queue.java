@@ -0,0 +1,26 @@
+package my.util;
+
+/**
+ * first in first out queue interface, the methods report an empty queue by returning null
+ */
+public interface Queue<E> extends Collection<E> {
+
+    /**
+     * inserts an element at the tail of the queue
+     * @param e element to insert
+     * @return true if the element was inserted
+     */
+    boolean offer(E e);
+
+    /**
+     * removes the element at the head of the queue
+     * @return head element, null if the queue is empty
+     */
+    E poll();
+
+    /**
+     * gets the element at the head of the queue without removing it
+     * @return head element, null if the queue is empty
+     */
+    E peek();
+}
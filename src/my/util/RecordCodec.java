@@ -0,0 +1,22 @@
+package my.util;
+
+/**
+ * maps list elements to fixed-layout records of an {@link OffHeapList} and back
+ * @param <E> element type
+ */
+public interface RecordCodec<E> {
+
+    /**
+     * stores all fields of an element into a record
+     * @param e element to store
+     * @param record cursor on the record to write, only valid during this call
+     */
+    void write(E e, RecordCursor record);
+
+    /**
+     * creates an element from a record
+     * @param record cursor on the record to read, only valid during this call
+     * @return element holding the record values
+     */
+    E read(RecordCursor record);
+}
@@ -0,0 +1,121 @@
+package my.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * flyweight accessor for one record of an {@link OffHeapList}, reads and writes the fields in place.
+ * A cursor is reused for many records: it is only valid until the next call that moves it
+ * and must not be kept or shared between threads.
+ */
+public final class RecordCursor {
+
+    private final RecordLayout layout;
+    private ByteBuffer buffer;
+    private int base;
+
+    RecordCursor(RecordLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * moves the cursor to a record
+     * @param buffer chunk holding the record
+     * @param base byte offset of the record in the chunk
+     * @return this cursor
+     */
+    RecordCursor moveTo(ByteBuffer buffer, int base) {
+        this.buffer = buffer;
+        this.base = base;
+        return this;
+    }
+
+    /**
+     * gets the layout of the records
+     * @return record layout
+     */
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    public byte getByte(int field) {
+        return buffer.get(base + layout.offset(field, RecordLayout.Type.BYTE));
+    }
+
+    public RecordCursor putByte(int field, byte value) {
+        buffer.put(base + layout.offset(field, RecordLayout.Type.BYTE), value);
+        return this;
+    }
+
+    public short getShort(int field) {
+        return buffer.getShort(base + layout.offset(field, RecordLayout.Type.SHORT));
+    }
+
+    public RecordCursor putShort(int field, short value) {
+        buffer.putShort(base + layout.offset(field, RecordLayout.Type.SHORT), value);
+        return this;
+    }
+
+    public int getInt(int field) {
+        return buffer.getInt(base + layout.offset(field, RecordLayout.Type.INT));
+    }
+
+    public RecordCursor putInt(int field, int value) {
+        buffer.putInt(base + layout.offset(field, RecordLayout.Type.INT), value);
+        return this;
+    }
+
+    public float getFloat(int field) {
+        return buffer.getFloat(base + layout.offset(field, RecordLayout.Type.FLOAT));
+    }
+
+    public RecordCursor putFloat(int field, float value) {
+        buffer.putFloat(base + layout.offset(field, RecordLayout.Type.FLOAT), value);
+        return this;
+    }
+
+    public long getLong(int field) {
+        return buffer.getLong(base + layout.offset(field, RecordLayout.Type.LONG));
+    }
+
+    public RecordCursor putLong(int field, long value) {
+        buffer.putLong(base + layout.offset(field, RecordLayout.Type.LONG), value);
+        return this;
+    }
+
+    public double getDouble(int field) {
+        return buffer.getDouble(base + layout.offset(field, RecordLayout.Type.DOUBLE));
+    }
+
+    public RecordCursor putDouble(int field, double value) {
+        buffer.putDouble(base + layout.offset(field, RecordLayout.Type.DOUBLE), value);
+        return this;
+    }
+
+    /**
+     * reads any field widened to a long whose signed order matches the order of the field values,
+     * floating point values are ordered like {@code Double.compare} (-0.0 before 0.0, NaN last)
+     * @param field index of the field
+     * @return sort key of the field
+     */
+    long sortKey(int field) {
+        int offset = base + layout.offset(field);
+        switch (layout.type(field)) {
+            case BYTE:
+                return buffer.get(offset);
+            case SHORT:
+                return buffer.getShort(offset);
+            case INT:
+                return buffer.getInt(offset);
+            case LONG:
+                return buffer.getLong(offset);
+            case FLOAT: {
+                int bits = Float.floatToIntBits(buffer.getFloat(offset));
+                return bits ^ ((bits >> 31) & 0x7fffffff);
+            }
+            default: {
+                long bits = Double.doubleToLongBits(buffer.getDouble(offset));
+                return bits ^ ((bits >> 63) & 0x7fffffffffffffffL);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package my.util;
+
+/**
+ * describes the fixed layout of a record stored by an {@link OffHeapList}:
+ * an ordered set of named primitive fields, each aligned to its own size,
+ * the record size is padded to the largest field so consecutive records stay aligned
+ */
+public final class RecordLayout {
+
+    /**
+     * primitive field types with their size in bytes
+     */
+    public enum Type {
+        BYTE(1), SHORT(2), INT(4), FLOAT(4), LONG(8), DOUBLE(8);
+
+        private final int bytes;
+
+        Type(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * size of a field of this type
+         * @return size in bytes
+         */
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * named field of a record layout
+     */
+    public static final class Field {
+        private final String name;
+        private final Type type;
+
+        private Field(String name, Type type) {
+            if (name == null || type == null) {
+                throw new NullPointerException();
+            }
+            this.name = name;
+            this.type = type;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Type type() {
+            return type;
+        }
+    }
+
+    /**
+     * creates a field description
+     * @param name name of the field, unique within a layout
+     * @param type primitive type of the field
+     * @return field description
+     */
+    public static Field field(String name, Type type) {
+        return new Field(name, type);
+    }
+
+    private final Field[] fields;
+    private final int[] offsets;
+    private final int recordSize;
+
+    /**
+     * Constructor for RecordLayout from its fields in storage order
+     * @param fields fields of the record
+     * @throws IllegalArgumentException if no field is given or a field name is used twice
+     */
+    public RecordLayout(Field... fields) {
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("A record layout needs at least one field");
+        }
+        this.fields = fields.clone();
+        this.offsets = new int[fields.length];
+        int offset = 0;
+        int maxAlignment = 1;
+        for (int i = 0; i < fields.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (fields[j].name.equals(fields[i].name)) {
+                    throw new IllegalArgumentException("Duplicate field: " + fields[i].name);
+                }
+            }
+            int bytes = fields[i].type.bytes;
+            offset = (offset + bytes - 1) & -bytes;
+            offsets[i] = offset;
+            offset += bytes;
+            maxAlignment = Math.max(maxAlignment, bytes);
+        }
+        this.recordSize = (offset + maxAlignment - 1) & -maxAlignment;
+    }
+
+    /**
+     * size of one record including padding
+     * @return record size in bytes
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * number of fields in a record
+     * @return field count
+     */
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * searches the index of a field by name, field indexes are used by all record accessors
+     * @param name name of the field
+     * @return index of the field
+     * @throws IllegalArgumentException if there is no field with this name
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].name.equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+
+    /**
+     * gets the type of a field
+     * @param field index of the field
+     * @return type of the field
+     */
+    public Type type(int field) {
+        return fields[field].type;
+    }
+
+    /**
+     * gets the byte offset of a field within a record
+     * @param field index of the field
+     * @return offset in bytes from the start of the record
+     */
+    public int offset(int field) {
+        return offsets[field];
+    }
+
+    /**
+     * checks the type of a field and gets its offset
+     * @param field index of the field
+     * @param type expected type
+     * @return offset of the field
+     * @throws IllegalArgumentException if the field has another type
+     */
+    int offset(int field, Type type) {
+        if (fields[field].type != type) {
+            throw new IllegalArgumentException("Field " + fields[field].name + " is " + fields[field].type + ", not " + type);
+        }
+        return offsets[field];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RecordLayout[");
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(fields[i].name).append(':').append(fields[i].type).append('@').append(offsets[i]);
+        }
+        return sb.append("; ").append(recordSize).append(" bytes]").toString();
+    }
+}
@@ -1,7 +1,8 @@
 package my.util;
 
-import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Small array utility - static methods to: sort, search, copy, toList
@@ -29,9 +30,8 @@ public class Rray {
      * @return the specified array copy
      */
     public static <T, U> T[] copyOf(U[] orig, int newLength, Class<? extends T[]> newType) {
-        T[] copy = (T[]) Array.newInstance(newType.getComponentType(), newLength);
-        System.arraycopy(orig, 0, copy, 0, orig.length);
-        return copy;
+        // intrinsic in HotSpot, Object arrays are allocated directly, other array types reflectively
+        return Arrays.copyOf(orig, newLength, newType);
     }
 
     /**
@@ -44,6 +44,33 @@ public class Rray {
         return new ArrayList<>(arr);
     }
 
+    /**
+     * converts a specified int array to an IntArrayList backed by that array
+     * @param arr array to convert
+     * @return specified IntArrayList
+     */
+    public static IntArrayList asList(int[] arr) {
+        return new IntArrayList(arr);
+    }
+
+    /**
+     * converts a specified long array to a LongArrayList backed by that array
+     * @param arr array to convert
+     * @return specified LongArrayList
+     */
+    public static LongArrayList asList(long[] arr) {
+        return new LongArrayList(arr);
+    }
+
+    /**
+     * converts a specified double array to a DoubleArrayList backed by that array
+     * @param arr array to convert
+     * @return specified DoubleArrayList
+     */
+    public static DoubleArrayList asList(double[] arr) {
+        return new DoubleArrayList(arr);
+    }
+
     /**
      * sorts an generic array through the QuickSort algorithm
      * @param objects    array to be sorted
@@ -54,114 +81,420 @@ public class Rray {
         if (objects == null) {
             return;
         }
-        recQuickSort(objects, 0, objects.length - 1, comparator);
-        return;
+        introSort(objects, 0, objects.length - 1, depthLimit(objects.length), comparator);
     }
 
     /**
-     * recursive method for QuickSort
+     * sorts a range of a generic array through the QuickSort algorithm
      * @param objects    array to be sorted
-     * @param leftBound  left bound of the part to be sorted
-     * @param rightBound right bound of the part to be sorted
-     * @param comparator comparator to compare array elements
-     * @param <T>        type of elements to be sorted
+     * @param fromIndex  inclusive start index of the range
+     * @param toIndex    exclusive end index of the range
+     * @param comparator comparator used to compare elements
+     * @param <T>        type of compared elements
+     */
+    public static <T> void quickSort(T[] objects, int fromIndex, int toIndex, Comparator<T> comparator) {
+        checkRange(objects.length, fromIndex, toIndex);
+        introSort(objects, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex), comparator);
+    }
+
+    /**
+     * ranges of at most this many elements are sorted through insertion sort
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * ranges of at least this many elements choose the pivot through Tukey's ninther
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * calculates the partitioning depth after which introSort falls back to heap sort
+     * @param length number of elements to sort
+     * @return 2 * floor(log2(length))
+     */
+    private static int depthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+    }
+
+    /**
+     * default minimum number of elements sorted sequentially by a single parallelSort task
+     */
+    public static final int DEFAULT_PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    /**
+     * smallest granularity used by parallelSort, keeps merge tasks from splitting into empty runs
+     */
+    private static final int MIN_PARALLEL_SORT_GRANULARITY = 1 << 4;
+
+    /**
+     * sorts a generic array in parallel on the common fork join pool,
+     * see {@code parallelSort(T[] objects, Comparator<T> comparator, int threshold, ForkJoinPool pool)}
+     * @param objects    array to be sorted
+     * @param comparator comparator used to compare elements
+     * @param <T>        type of compared elements
+     */
+    public static <T> void parallelSort(T[] objects, Comparator<T> comparator) {
+        parallelSort(objects, comparator, DEFAULT_PARALLEL_SORT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts a generic array in parallel on the common fork join pool,
+     * see {@code parallelSort(T[] objects, Comparator<T> comparator, int threshold, ForkJoinPool pool)}
+     * @param objects    array to be sorted
+     * @param comparator comparator used to compare elements
+     * @param threshold  minimum number of elements sorted sequentially by a single task
+     * @param <T>        type of compared elements
+     */
+    public static <T> void parallelSort(T[] objects, Comparator<T> comparator, int threshold) {
+        parallelSort(objects, comparator, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts a generic array in parallel, stable: the array is split into chunks that are sorted
+     * sequentially through {@code mergeSort}, the sorted chunks are merged in parallel using a workspace
+     * array of the same length. Arrays not longer than the threshold or pools with a parallelism of 1 are
+     * sorted sequentially
+     * @param objects    array to be sorted
+     * @param comparator comparator used to compare elements
+     * @param threshold  minimum number of elements sorted sequentially by a single task
+     * @param pool       fork join pool the tasks run on
+     * @param <T>        type of compared elements
      */
-    private static <T> void recQuickSort(T[] objects,
-                                         int leftBound, int rightBound, Comparator<T> comparator) {
-        if (rightBound <= leftBound) {
+    public static <T> void parallelSort(T[] objects, Comparator<T> comparator, int threshold, ForkJoinPool pool) {
+        if (objects == null) {
             return;
         }
-        T pivot = objects[rightBound];
-        int wall = leftBound;
-        for (int i = leftBound; i < rightBound; i++) {
-            T currentElement = objects[i];
-            if (comparator.compare(currentElement, pivot) < 0) {
-                // swop current element with the element next to the wall
-                objects[i] = objects[wall];
-                objects[wall] = currentElement;
-                wall++;
+        int gran = parallelSortGranularity(objects.length, threshold, pool);
+        if (gran < 0) {
+            mergeSort(objects, comparator);
+            return;
+        }
+        T[] workspace = (T[]) new Object[objects.length];
+        pool.invoke(new ParallelSortHelpers.Sorter<>(objects, workspace, 0, objects.length, 0, gran, comparator));
+    }
+
+    /**
+     * sorts an array of int values in parallel on the common fork join pool,
+     * see {@code parallelSort(int[] values, int threshold, ForkJoinPool pool)}
+     * @param values array to be sorted
+     */
+    public static void parallelSort(int[] values) {
+        parallelSort(values, DEFAULT_PARALLEL_SORT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of int values in parallel on the common fork join pool,
+     * see {@code parallelSort(int[] values, int threshold, ForkJoinPool pool)}
+     * @param values    array to be sorted
+     * @param threshold minimum number of elements sorted sequentially by a single task
+     */
+    public static void parallelSort(int[] values, int threshold) {
+        parallelSort(values, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of int values in parallel, see
+     * {@code parallelSort(T[] objects, Comparator<T> comparator, int threshold, ForkJoinPool pool)}
+     * @param values    array to be sorted
+     * @param threshold minimum number of elements sorted sequentially by a single task
+     * @param pool      fork join pool the tasks run on
+     */
+    public static void parallelSort(int[] values, int threshold, ForkJoinPool pool) {
+        if (values == null) {
+            return;
+        }
+        int gran = parallelSortGranularity(values.length, threshold, pool);
+        if (gran < 0) {
+            quickSort(values);
+            return;
+        }
+        int[] workspace = new int[values.length];
+        pool.invoke(new ParallelSortHelpers.IntSorter(values, workspace, 0, values.length, 0, gran));
+    }
+
+    /**
+     * sorts an array of long values in parallel on the common fork join pool,
+     * see {@code parallelSort(long[] values, int threshold, ForkJoinPool pool)}
+     * @param values array to be sorted
+     */
+    public static void parallelSort(long[] values) {
+        parallelSort(values, DEFAULT_PARALLEL_SORT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of long values in parallel on the common fork join pool,
+     * see {@code parallelSort(long[] values, int threshold, ForkJoinPool pool)}
+     * @param values    array to be sorted
+     * @param threshold minimum number of elements sorted sequentially by a single task
+     */
+    public static void parallelSort(long[] values, int threshold) {
+        parallelSort(values, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of long values in parallel, see
+     * {@code parallelSort(T[] objects, Comparator<T> comparator, int threshold, ForkJoinPool pool)}
+     * @param values    array to be sorted
+     * @param threshold minimum number of elements sorted sequentially by a single task
+     * @param pool      fork join pool the tasks run on
+     */
+    public static void parallelSort(long[] values, int threshold, ForkJoinPool pool) {
+        if (values == null) {
+            return;
+        }
+        int gran = parallelSortGranularity(values.length, threshold, pool);
+        if (gran < 0) {
+            quickSort(values);
+            return;
+        }
+        long[] workspace = new long[values.length];
+        pool.invoke(new ParallelSortHelpers.LongSorter(values, workspace, 0, values.length, 0, gran));
+    }
+
+    /**
+     * sorts an array of double values in parallel on the common fork join pool,
+     * see {@code parallelSort(double[] values, int threshold, ForkJoinPool pool)}
+     * @param values array to be sorted
+     */
+    public static void parallelSort(double[] values) {
+        parallelSort(values, DEFAULT_PARALLEL_SORT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of double values in parallel on the common fork join pool,
+     * see {@code parallelSort(double[] values, int threshold, ForkJoinPool pool)}
+     * @param values    array to be sorted
+     * @param threshold minimum number of elements sorted sequentially by a single task
+     */
+    public static void parallelSort(double[] values, int threshold) {
+        parallelSort(values, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * sorts an array of double values in parallel, see
+     * {@code parallelSort(T[] objects, Comparator<T> comparator, int threshold, ForkJoinPool pool)}
+     * @param values    array to be sorted
+     * @param threshold minimum number of elements sorted sequentially by a single task
+     * @param pool      fork join pool the tasks run on
+     */
+    public static void parallelSort(double[] values, int threshold, ForkJoinPool pool) {
+        if (values == null) {
+            return;
+        }
+        int gran = parallelSortGranularity(values.length, threshold, pool);
+        if (gran < 0) {
+            quickSort(values);
+            return;
+        }
+        double[] workspace = new double[values.length];
+        pool.invoke(new ParallelSortHelpers.DoubleSorter(values, workspace, 0, values.length, 0, gran));
+    }
+
+    /**
+     * calculates the number of elements a single parallelSort task sorts sequentially,
+     * about four chunks per worker thread but never less than the threshold
+     * @param length    array length
+     * @param threshold minimum chunk length
+     * @param pool      fork join pool the tasks run on
+     * @return chunk length, -1 if the array should be sorted sequentially
+     */
+    private static int parallelSortGranularity(int length, int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Illegal Threshold: " + threshold);
+        }
+        int parallelism = pool.getParallelism();
+        if (length <= threshold || parallelism == 1) {
+            return -1;
+        }
+        int gran = Math.max(threshold, length / (parallelism << 2));
+        return Math.max(gran, MIN_PARALLEL_SORT_GRANULARITY);
+    }
+
+    /**
+     * introspective QuickSort of a range: median of three (ninther for large ranges) pivot,
+     * three-way partitioning so runs of equal elements are finished in one pass,
+     * recursion on the smaller part and iteration on the larger one so the stack stays O(log n),
+     * insertion sort for small ranges and heap sort once the depth limit is exceeded
+     * @param objects    array to be sorted
+     * @param leftBound  inclusive left bound of the part to be sorted
+     * @param rightBound inclusive right bound of the part to be sorted
+     * @param depthLimit remaining number of partitioning levels before falling back to heap sort
+     * @param comparator comparator to compare array elements
+     * @param <T>        type of elements to be sorted
+     */
+    private static <T> void introSort(T[] objects, int leftBound, int rightBound, int depthLimit, Comparator<T> comparator) {
+        while (rightBound - leftBound >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(objects, leftBound, rightBound, comparator);
+                return;
+            }
+            T pivot = objects[choosePivot(objects, leftBound, rightBound, comparator)];
+            // [leftBound, lt) < pivot, [lt, i) == pivot, (gt, rightBound] > pivot
+            int lt = leftBound;
+            int gt = rightBound;
+            int i = leftBound;
+            while (i <= gt) {
+                T currentElement = objects[i];
+                int cmp = comparator.compare(currentElement, pivot);
+                if (cmp < 0) {
+                    objects[i++] = objects[lt];
+                    objects[lt++] = currentElement;
+                } else if (cmp > 0) {
+                    objects[i] = objects[gt];
+                    objects[gt--] = currentElement;
+                } else {
+                    i++;
+                }
             }
+            if (lt - leftBound < rightBound - gt) {
+                introSort(objects, leftBound, lt - 1, depthLimit, comparator);
+                leftBound = gt + 1;
+            } else {
+                introSort(objects, gt + 1, rightBound, depthLimit, comparator);
+                rightBound = lt - 1;
+            }
+        }
+        insertionSort(objects, leftBound, rightBound, comparator);
+    }
+
+    /**
+     * chooses the pivot index of a range, median of three for small ranges and
+     * Tukey's ninther (median of three medians of three) for large ones
+     * @param objects    array to choose from
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     * @param comparator comparator to compare array elements
+     * @param <T>        type of elements to be sorted
+     * @return index of the pivot element
+     */
+    private static <T> int choosePivot(T[] objects, int leftBound, int rightBound, Comparator<T> comparator) {
+        int middle = (leftBound + rightBound) >>> 1;
+        if (rightBound - leftBound < NINTHER_THRESHOLD) {
+            return medianOfThree(objects, leftBound, middle, rightBound, comparator);
         }
-        //swop pivot element with the element next to the wall
-        objects[rightBound] = objects[wall];
-        objects[wall] = pivot;
+        int eighth = (rightBound - leftBound) >>> 3;
+        return medianOfThree(objects,
+                medianOfThree(objects, leftBound, leftBound + eighth, leftBound + 2 * eighth, comparator),
+                medianOfThree(objects, middle - eighth, middle, middle + eighth, comparator),
+                medianOfThree(objects, rightBound - 2 * eighth, rightBound - eighth, rightBound, comparator), comparator);
+    }
 
-        recQuickSort(objects, leftBound, wall - 1, comparator);
-        recQuickSort(objects, wall + 1, rightBound, comparator);
+    /**
+     * finds the index of the median of three elements
+     * @param objects array holding the elements
+     * @param i      first index
+     * @param j      second index
+     * @param k      third index
+     * @param comparator comparator to compare array elements
+     * @param <T>        type of elements to be sorted
+     * @return index of the median element
+     */
+    private static <T> int medianOfThree(T[] objects, int i, int j, int k, Comparator<T> comparator) {
+        if (comparator.compare(objects[i], objects[j]) < 0) {
+            if (comparator.compare(objects[j], objects[k]) < 0) {
+                return j;
+            }
+            return comparator.compare(objects[i], objects[k]) < 0 ? k : i;
+        }
+        if (comparator.compare(objects[k], objects[j]) < 0) {
+            return j;
+        }
+        return comparator.compare(objects[k], objects[i]) < 0 ? k : i;
     }
 
     /**
-     * sorts an array through the MergeSort algorithm
+     * sorts a small range through the InsertionSort algorithm
      * @param objects    array to be sorted
-     * @param comparator comparator to compare elements
-     * @param <T>        type of the array elements
-     * @return sorted array
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     * @param comparator comparator to compare array elements
+     * @param <T>        type of elements to be sorted
      */
-    public static <T> T[] mergeSort(T[] objects, Comparator<T> comparator) {
-        if (objects == null || objects.length == 0) {
-            return null;
+    private static <T> void insertionSort(T[] objects, int leftBound, int rightBound, Comparator<T> comparator) {
+        for (int i = leftBound + 1; i <= rightBound; i++) {
+            T currentElement = objects[i];
+            int j = i - 1;
+            while (j >= leftBound && comparator.compare(currentElement, objects[j]) < 0) {
+                objects[j + 1] = objects[j];
+                j--;
+            }
+            objects[j + 1] = currentElement;
         }
-        return recMergeSort(objects, 0, objects.length - 1, comparator);
     }
 
     /**
-     * recursive method for MergeSort
+     * sorts a range through the HeapSort algorithm, guarantees O(n log n) for introSort
      * @param objects    array to be sorted
-     * @param leftBound  left bound of the part to be sorted
-     * @param rightBound right bound of the part to be sorted
-     * @param comparator comparator to compare elements
-     * @param <T>        type of the elements
-     * @return sorted part between bounds
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     * @param comparator comparator to compare array elements
+     * @param <T>        type of elements to be sorted
      */
-    private static <T> T[] recMergeSort(T[] objects, int leftBound,
-                                        int rightBound, Comparator<T> comparator) {
-        if (rightBound <= leftBound) {
-            T[] result = (T[]) Array.newInstance(objects[0].getClass(), 1);
-            result[0] = objects[leftBound];
-            return result;
+    private static <T> void heapSort(T[] objects, int leftBound, int rightBound, Comparator<T> comparator) {
+        int n = rightBound - leftBound + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(objects, leftBound, i, n, comparator);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            T max = objects[leftBound];
+            objects[leftBound] = objects[leftBound + end];
+            objects[leftBound + end] = max;
+            siftDown(objects, leftBound, 0, end, comparator);
         }
-        int middle = (leftBound + rightBound) / 2;
-        T[] part1 = recMergeSort(objects, leftBound, middle, comparator);
-        T[] part2 = recMergeSort(objects, middle + 1, rightBound, comparator);
-        return merge(part1, part2, comparator);
     }
 
     /**
-     * helper method for MergeSort algorithm
-     * merges and sorts two sorted array into a new sorted array
-     * @param part1      first array
-     * @param part2      first array
-     * @param comparator comparator to compare elements
-     * @param <T>        type of the elements
-     * @return merged, sorted array
-     */
-    private static <T> T[] merge(T[] part1, T[] part2, Comparator<T> comparator) {
-        if (part1.length == 0) {
-            return part2;
-        } else if (part2.length == 0) {
-            return part1;
-        }
-        T[] merged = (T[]) Array.newInstance(part1[0].getClass(), part1.length + part2.length);
-        int i = 0;
-        int j = 0;
-        while (i < part1.length && j < part2.length) {
-            if (comparator.compare(part1[i], part2[j]) < 0) {
-                merged[i + j] = part1[i];
-                i++;
-            } else {
-                merged[i + j] = part2[j];
-                j++;
+     * restores the max heap property below a heap node
+     * @param objects array holding the heap
+     * @param offset index of the heap root in the array
+     * @param node   heap index of the node to sift down
+     * @param n      heap size
+     * @param comparator comparator to compare array elements
+     * @param <T>        type of elements to be sorted
+     */
+    private static <T> void siftDown(T[] objects, int offset, int node, int n, Comparator<T> comparator) {
+        T element = objects[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < n) {
+            if (child + 1 < n && comparator.compare(objects[offset + child], objects[offset + child + 1]) < 0) {
+                child++;
             }
+            if (comparator.compare(element, objects[offset + child]) >= 0) {
+                break;
+            }
+            objects[offset + node] = objects[offset + child];
+            node = child;
         }
-        while (i < part1.length) { //loop exited with j >= part2.length
-            merged[i + j] = part1[i];
-            i++;
-        }
-        while (j < part2.length) { //loop exited with i >= part1.length
-            merged[i + j] = part2[j];
-            j++;
+        objects[offset + node] = element;
+    }
+
+    /**
+     * sorts an array in place through a stable, adaptive MergeSort (TimSort),
+     * presorted runs are detected and merged, so nearly sorted input is sorted in near linear time
+     * @param objects    array to be sorted
+     * @param comparator comparator to compare elements
+     * @param <T>        type of the array elements
+     * @return the sorted array (the same instance), null if objects is null
+     */
+    public static <T> T[] mergeSort(T[] objects, Comparator<T> comparator) {
+        if (objects == null) {
+            return null;
         }
-        return merged;
+        TimSort.sort(objects, 0, objects.length, comparator);
+        return objects;
+    }
+
+    /**
+     * sorts a range of an array in place through a stable, adaptive MergeSort (TimSort)
+     * @param objects    array to be sorted
+     * @param fromIndex  inclusive start index of the range
+     * @param toIndex    exclusive end index of the range
+     * @param comparator comparator to compare elements
+     * @param <T>        type of the array elements
+     */
+    public static <T> void mergeSort(T[] objects, int fromIndex, int toIndex, Comparator<T> comparator) {
+        checkRange(objects.length, fromIndex, toIndex);
+        TimSort.sort(objects, fromIndex, toIndex, comparator);
     }
 
     /**
@@ -244,4 +577,906 @@ public class Rray {
         }
         return index;
     }
+
+    /**
+     * checks if a range lies within an array
+     * @param length    array length
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @throws IllegalArgumentException if fromIndex is greater than toIndex
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     */
+    private static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    /**
+     * sorts an array of int values through the QuickSort algorithm
+     * @param values array to be sorted
+     */
+    public static void quickSort(int[] values) {
+        if (values == null) {
+            return;
+        }
+        introSort(values, 0, values.length - 1, depthLimit(values.length));
+    }
+
+    /**
+     * sorts a range of an array of int values through the QuickSort algorithm
+     * @param values    array to be sorted
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     */
+    public static void quickSort(int[] values, int fromIndex, int toIndex) {
+        checkRange(values.length, fromIndex, toIndex);
+        introSort(values, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    }
+
+    /**
+     * introspective QuickSort of a range: median of three (ninther for large ranges) pivot,
+     * three-way partitioning so runs of equal elements are finished in one pass,
+     * recursion on the smaller part and iteration on the larger one so the stack stays O(log n),
+     * insertion sort for small ranges and heap sort once the depth limit is exceeded
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound of the part to be sorted
+     * @param rightBound inclusive right bound of the part to be sorted
+     * @param depthLimit remaining number of partitioning levels before falling back to heap sort
+     */
+    private static void introSort(int[] values, int leftBound, int rightBound, int depthLimit) {
+        while (rightBound - leftBound >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(values, leftBound, rightBound);
+                return;
+            }
+            int pivot = values[choosePivot(values, leftBound, rightBound)];
+            // [leftBound, lt) < pivot, [lt, i) == pivot, (gt, rightBound] > pivot
+            int lt = leftBound;
+            int gt = rightBound;
+            int i = leftBound;
+            while (i <= gt) {
+                int currentElement = values[i];
+                int cmp = Integer.compare(currentElement, pivot);
+                if (cmp < 0) {
+                    values[i++] = values[lt];
+                    values[lt++] = currentElement;
+                } else if (cmp > 0) {
+                    values[i] = values[gt];
+                    values[gt--] = currentElement;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - leftBound < rightBound - gt) {
+                introSort(values, leftBound, lt - 1, depthLimit);
+                leftBound = gt + 1;
+            } else {
+                introSort(values, gt + 1, rightBound, depthLimit);
+                rightBound = lt - 1;
+            }
+        }
+        insertionSort(values, leftBound, rightBound);
+    }
+
+    /**
+     * chooses the pivot index of a range, median of three for small ranges and
+     * Tukey's ninther (median of three medians of three) for large ones
+     * @param values     array to choose from
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     * @return index of the pivot element
+     */
+    private static int choosePivot(int[] values, int leftBound, int rightBound) {
+        int middle = (leftBound + rightBound) >>> 1;
+        if (rightBound - leftBound < NINTHER_THRESHOLD) {
+            return medianOfThree(values, leftBound, middle, rightBound);
+        }
+        int eighth = (rightBound - leftBound) >>> 3;
+        return medianOfThree(values,
+                medianOfThree(values, leftBound, leftBound + eighth, leftBound + 2 * eighth),
+                medianOfThree(values, middle - eighth, middle, middle + eighth),
+                medianOfThree(values, rightBound - 2 * eighth, rightBound - eighth, rightBound));
+    }
+
+    /**
+     * finds the index of the median of three elements
+     * @param values array holding the elements
+     * @param i      first index
+     * @param j      second index
+     * @param k      third index
+     * @return index of the median element
+     */
+    private static int medianOfThree(int[] values, int i, int j, int k) {
+        if (Integer.compare(values[i], values[j]) < 0) {
+            if (Integer.compare(values[j], values[k]) < 0) {
+                return j;
+            }
+            return Integer.compare(values[i], values[k]) < 0 ? k : i;
+        }
+        if (Integer.compare(values[k], values[j]) < 0) {
+            return j;
+        }
+        return Integer.compare(values[k], values[i]) < 0 ? k : i;
+    }
+
+    /**
+     * sorts a small range through the InsertionSort algorithm
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     */
+    private static void insertionSort(int[] values, int leftBound, int rightBound) {
+        for (int i = leftBound + 1; i <= rightBound; i++) {
+            int currentElement = values[i];
+            int j = i - 1;
+            while (j >= leftBound && Integer.compare(currentElement, values[j]) < 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = currentElement;
+        }
+    }
+
+    /**
+     * sorts a range through the HeapSort algorithm, guarantees O(n log n) for introSort
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     */
+    private static void heapSort(int[] values, int leftBound, int rightBound) {
+        int n = rightBound - leftBound + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(values, leftBound, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int max = values[leftBound];
+            values[leftBound] = values[leftBound + end];
+            values[leftBound + end] = max;
+            siftDown(values, leftBound, 0, end);
+        }
+    }
+
+    /**
+     * restores the max heap property below a heap node
+     * @param values array holding the heap
+     * @param offset index of the heap root in the array
+     * @param node   heap index of the node to sift down
+     * @param n      heap size
+     */
+    private static void siftDown(int[] values, int offset, int node, int n) {
+        int element = values[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < n) {
+            if (child + 1 < n && Integer.compare(values[offset + child], values[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (Integer.compare(element, values[offset + child]) >= 0) {
+                break;
+            }
+            values[offset + node] = values[offset + child];
+            node = child;
+        }
+        values[offset + node] = element;
+    }
+
+    /**
+     * searches a sorted array of int values for a key using binary search
+     * @param data sorted array to search
+     * @param key  search key
+     * @return index of the key in data if found, else -1
+     */
+    public static int binSearch(int[] data, int key) {
+        if (data == null) {
+            return -1;
+        }
+        return recBinSearch(data, key, 0, data.length - 1);
+    }
+
+    /**
+     * searches a sorted range of an array of int values for a key using binary search
+     * @param data      array to search, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       search key
+     * @return index of the key in data if found, else -1
+     */
+    public static int binSearch(int[] data, int fromIndex, int toIndex, int key) {
+        checkRange(data.length, fromIndex, toIndex);
+        return recBinSearch(data, key, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * recursive method for binary search on int values
+     * @param data       array to search in
+     * @param key        key to search for
+     * @param leftBound  left bound
+     * @param rightBound right bound
+     * @return index of the element if found, else -1
+     */
+    private static int recBinSearch(int[] data, int key, int leftBound, int rightBound) {
+        if (rightBound < leftBound) {
+            return -1;
+        }
+        int middle = (leftBound + rightBound) >>> 1;
+        if (key < data[middle]) {
+            return recBinSearch(data, key, leftBound, middle - 1);
+        } else if (key > data[middle]) {
+            return recBinSearch(data, key, middle + 1, rightBound);
+        } else {
+            return middle;
+        }
+    }
+
+    /**
+     * counts entries of a sorted array of int values matching a key using binary search
+     * @param data sorted array
+     * @param key  key to search for
+     * @return number of entries matching the key
+     */
+    public static int binCountEntries(int[] data, int key) {
+        int index = binFindFirst(data, key);
+        if (index == -1) {
+            return 0;
+        }
+        int number = 1;
+        index++;
+        while (index < data.length && data[index] == key) {
+            number++;
+            index++;
+        }
+        return number;
+    }
+
+    /**
+     * finds the first entry of a sorted array of int values matching the key using binary search
+     * @param data sorted array to search in
+     * @param key  key to search for
+     * @return first index of key if found, else -1
+     */
+    public static int binFindFirst(int[] data, int key) {
+        int index = binSearch(data, key);
+        while (index > 0) {
+            if (data[index - 1] != key) {
+                return index;
+            }
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * counts entries of a sorted range of an array of int values matching a key using binary search
+     * @param data      array, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       key to search for
+     * @return number of entries in the range matching the key
+     */
+    public static int binCountEntries(int[] data, int fromIndex, int toIndex, int key) {
+        int index = binFindFirst(data, fromIndex, toIndex, key);
+        if (index == -1) {
+            return 0;
+        }
+        int number = 1;
+        index++;
+        while (index < toIndex && data[index] == key) {
+            number++;
+            index++;
+        }
+        return number;
+    }
+
+    /**
+     * finds the first entry of a sorted range of an array of int values matching the key using binary search
+     * @param data      array to search in, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       key to search for
+     * @return first index of key within the range if found, else -1
+     */
+    public static int binFindFirst(int[] data, int fromIndex, int toIndex, int key) {
+        int index = binSearch(data, fromIndex, toIndex, key);
+        while (index > fromIndex) {
+            if (data[index - 1] != key) {
+                return index;
+            }
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * sorts an array of long values through the QuickSort algorithm
+     * @param values array to be sorted
+     */
+    public static void quickSort(long[] values) {
+        if (values == null) {
+            return;
+        }
+        introSort(values, 0, values.length - 1, depthLimit(values.length));
+    }
+
+    /**
+     * sorts a range of an array of long values through the QuickSort algorithm
+     * @param values    array to be sorted
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     */
+    public static void quickSort(long[] values, int fromIndex, int toIndex) {
+        checkRange(values.length, fromIndex, toIndex);
+        introSort(values, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    }
+
+    /**
+     * introspective QuickSort of a range: median of three (ninther for large ranges) pivot,
+     * three-way partitioning so runs of equal elements are finished in one pass,
+     * recursion on the smaller part and iteration on the larger one so the stack stays O(log n),
+     * insertion sort for small ranges and heap sort once the depth limit is exceeded
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound of the part to be sorted
+     * @param rightBound inclusive right bound of the part to be sorted
+     * @param depthLimit remaining number of partitioning levels before falling back to heap sort
+     */
+    private static void introSort(long[] values, int leftBound, int rightBound, int depthLimit) {
+        while (rightBound - leftBound >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(values, leftBound, rightBound);
+                return;
+            }
+            long pivot = values[choosePivot(values, leftBound, rightBound)];
+            // [leftBound, lt) < pivot, [lt, i) == pivot, (gt, rightBound] > pivot
+            int lt = leftBound;
+            int gt = rightBound;
+            int i = leftBound;
+            while (i <= gt) {
+                long currentElement = values[i];
+                int cmp = Long.compare(currentElement, pivot);
+                if (cmp < 0) {
+                    values[i++] = values[lt];
+                    values[lt++] = currentElement;
+                } else if (cmp > 0) {
+                    values[i] = values[gt];
+                    values[gt--] = currentElement;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - leftBound < rightBound - gt) {
+                introSort(values, leftBound, lt - 1, depthLimit);
+                leftBound = gt + 1;
+            } else {
+                introSort(values, gt + 1, rightBound, depthLimit);
+                rightBound = lt - 1;
+            }
+        }
+        insertionSort(values, leftBound, rightBound);
+    }
+
+    /**
+     * chooses the pivot index of a range, median of three for small ranges and
+     * Tukey's ninther (median of three medians of three) for large ones
+     * @param values     array to choose from
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     * @return index of the pivot element
+     */
+    private static int choosePivot(long[] values, int leftBound, int rightBound) {
+        int middle = (leftBound + rightBound) >>> 1;
+        if (rightBound - leftBound < NINTHER_THRESHOLD) {
+            return medianOfThree(values, leftBound, middle, rightBound);
+        }
+        int eighth = (rightBound - leftBound) >>> 3;
+        return medianOfThree(values,
+                medianOfThree(values, leftBound, leftBound + eighth, leftBound + 2 * eighth),
+                medianOfThree(values, middle - eighth, middle, middle + eighth),
+                medianOfThree(values, rightBound - 2 * eighth, rightBound - eighth, rightBound));
+    }
+
+    /**
+     * finds the index of the median of three elements
+     * @param values array holding the elements
+     * @param i      first index
+     * @param j      second index
+     * @param k      third index
+     * @return index of the median element
+     */
+    private static int medianOfThree(long[] values, int i, int j, int k) {
+        if (Long.compare(values[i], values[j]) < 0) {
+            if (Long.compare(values[j], values[k]) < 0) {
+                return j;
+            }
+            return Long.compare(values[i], values[k]) < 0 ? k : i;
+        }
+        if (Long.compare(values[k], values[j]) < 0) {
+            return j;
+        }
+        return Long.compare(values[k], values[i]) < 0 ? k : i;
+    }
+
+    /**
+     * sorts a small range through the InsertionSort algorithm
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     */
+    private static void insertionSort(long[] values, int leftBound, int rightBound) {
+        for (int i = leftBound + 1; i <= rightBound; i++) {
+            long currentElement = values[i];
+            int j = i - 1;
+            while (j >= leftBound && Long.compare(currentElement, values[j]) < 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = currentElement;
+        }
+    }
+
+    /**
+     * sorts a range through the HeapSort algorithm, guarantees O(n log n) for introSort
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     */
+    private static void heapSort(long[] values, int leftBound, int rightBound) {
+        int n = rightBound - leftBound + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(values, leftBound, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            long max = values[leftBound];
+            values[leftBound] = values[leftBound + end];
+            values[leftBound + end] = max;
+            siftDown(values, leftBound, 0, end);
+        }
+    }
+
+    /**
+     * restores the max heap property below a heap node
+     * @param values array holding the heap
+     * @param offset index of the heap root in the array
+     * @param node   heap index of the node to sift down
+     * @param n      heap size
+     */
+    private static void siftDown(long[] values, int offset, int node, int n) {
+        long element = values[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < n) {
+            if (child + 1 < n && Long.compare(values[offset + child], values[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (Long.compare(element, values[offset + child]) >= 0) {
+                break;
+            }
+            values[offset + node] = values[offset + child];
+            node = child;
+        }
+        values[offset + node] = element;
+    }
+
+    /**
+     * searches a sorted array of long values for a key using binary search
+     * @param data sorted array to search
+     * @param key  search key
+     * @return index of the key in data if found, else -1
+     */
+    public static int binSearch(long[] data, long key) {
+        if (data == null) {
+            return -1;
+        }
+        return recBinSearch(data, key, 0, data.length - 1);
+    }
+
+    /**
+     * searches a sorted range of an array of long values for a key using binary search
+     * @param data      array to search, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       search key
+     * @return index of the key in data if found, else -1
+     */
+    public static int binSearch(long[] data, int fromIndex, int toIndex, long key) {
+        checkRange(data.length, fromIndex, toIndex);
+        return recBinSearch(data, key, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * recursive method for binary search on long values
+     * @param data       array to search in
+     * @param key        key to search for
+     * @param leftBound  left bound
+     * @param rightBound right bound
+     * @return index of the element if found, else -1
+     */
+    private static int recBinSearch(long[] data, long key, int leftBound, int rightBound) {
+        if (rightBound < leftBound) {
+            return -1;
+        }
+        int middle = (leftBound + rightBound) >>> 1;
+        if (key < data[middle]) {
+            return recBinSearch(data, key, leftBound, middle - 1);
+        } else if (key > data[middle]) {
+            return recBinSearch(data, key, middle + 1, rightBound);
+        } else {
+            return middle;
+        }
+    }
+
+    /**
+     * counts entries of a sorted array of long values matching a key using binary search
+     * @param data sorted array
+     * @param key  key to search for
+     * @return number of entries matching the key
+     */
+    public static int binCountEntries(long[] data, long key) {
+        int index = binFindFirst(data, key);
+        if (index == -1) {
+            return 0;
+        }
+        int number = 1;
+        index++;
+        while (index < data.length && data[index] == key) {
+            number++;
+            index++;
+        }
+        return number;
+    }
+
+    /**
+     * finds the first entry of a sorted array of long values matching the key using binary search
+     * @param data sorted array to search in
+     * @param key  key to search for
+     * @return first index of key if found, else -1
+     */
+    public static int binFindFirst(long[] data, long key) {
+        int index = binSearch(data, key);
+        while (index > 0) {
+            if (data[index - 1] != key) {
+                return index;
+            }
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * counts entries of a sorted range of an array of long values matching a key using binary search
+     * @param data      array, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       key to search for
+     * @return number of entries in the range matching the key
+     */
+    public static int binCountEntries(long[] data, int fromIndex, int toIndex, long key) {
+        int index = binFindFirst(data, fromIndex, toIndex, key);
+        if (index == -1) {
+            return 0;
+        }
+        int number = 1;
+        index++;
+        while (index < toIndex && data[index] == key) {
+            number++;
+            index++;
+        }
+        return number;
+    }
+
+    /**
+     * finds the first entry of a sorted range of an array of long values matching the key using binary search
+     * @param data      array to search in, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       key to search for
+     * @return first index of key within the range if found, else -1
+     */
+    public static int binFindFirst(long[] data, int fromIndex, int toIndex, long key) {
+        int index = binSearch(data, fromIndex, toIndex, key);
+        while (index > fromIndex) {
+            if (data[index - 1] != key) {
+                return index;
+            }
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * sorts an array of double values through the QuickSort algorithm
+     * @param values array to be sorted
+     */
+    public static void quickSort(double[] values) {
+        if (values == null) {
+            return;
+        }
+        introSort(values, 0, values.length - 1, depthLimit(values.length));
+    }
+
+    /**
+     * sorts a range of an array of double values through the QuickSort algorithm
+     * @param values    array to be sorted
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     */
+    public static void quickSort(double[] values, int fromIndex, int toIndex) {
+        checkRange(values.length, fromIndex, toIndex);
+        introSort(values, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    }
+
+    /**
+     * introspective QuickSort of a range: median of three (ninther for large ranges) pivot,
+     * three-way partitioning so runs of equal elements are finished in one pass,
+     * recursion on the smaller part and iteration on the larger one so the stack stays O(log n),
+     * insertion sort for small ranges and heap sort once the depth limit is exceeded
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound of the part to be sorted
+     * @param rightBound inclusive right bound of the part to be sorted
+     * @param depthLimit remaining number of partitioning levels before falling back to heap sort
+     */
+    private static void introSort(double[] values, int leftBound, int rightBound, int depthLimit) {
+        while (rightBound - leftBound >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(values, leftBound, rightBound);
+                return;
+            }
+            double pivot = values[choosePivot(values, leftBound, rightBound)];
+            // [leftBound, lt) < pivot, [lt, i) == pivot, (gt, rightBound] > pivot
+            int lt = leftBound;
+            int gt = rightBound;
+            int i = leftBound;
+            while (i <= gt) {
+                double currentElement = values[i];
+                int cmp = Double.compare(currentElement, pivot);
+                if (cmp < 0) {
+                    values[i++] = values[lt];
+                    values[lt++] = currentElement;
+                } else if (cmp > 0) {
+                    values[i] = values[gt];
+                    values[gt--] = currentElement;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - leftBound < rightBound - gt) {
+                introSort(values, leftBound, lt - 1, depthLimit);
+                leftBound = gt + 1;
+            } else {
+                introSort(values, gt + 1, rightBound, depthLimit);
+                rightBound = lt - 1;
+            }
+        }
+        insertionSort(values, leftBound, rightBound);
+    }
+
+    /**
+     * chooses the pivot index of a range, median of three for small ranges and
+     * Tukey's ninther (median of three medians of three) for large ones
+     * @param values     array to choose from
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     * @return index of the pivot element
+     */
+    private static int choosePivot(double[] values, int leftBound, int rightBound) {
+        int middle = (leftBound + rightBound) >>> 1;
+        if (rightBound - leftBound < NINTHER_THRESHOLD) {
+            return medianOfThree(values, leftBound, middle, rightBound);
+        }
+        int eighth = (rightBound - leftBound) >>> 3;
+        return medianOfThree(values,
+                medianOfThree(values, leftBound, leftBound + eighth, leftBound + 2 * eighth),
+                medianOfThree(values, middle - eighth, middle, middle + eighth),
+                medianOfThree(values, rightBound - 2 * eighth, rightBound - eighth, rightBound));
+    }
+
+    /**
+     * finds the index of the median of three elements
+     * @param values array holding the elements
+     * @param i      first index
+     * @param j      second index
+     * @param k      third index
+     * @return index of the median element
+     */
+    private static int medianOfThree(double[] values, int i, int j, int k) {
+        if (Double.compare(values[i], values[j]) < 0) {
+            if (Double.compare(values[j], values[k]) < 0) {
+                return j;
+            }
+            return Double.compare(values[i], values[k]) < 0 ? k : i;
+        }
+        if (Double.compare(values[k], values[j]) < 0) {
+            return j;
+        }
+        return Double.compare(values[k], values[i]) < 0 ? k : i;
+    }
+
+    /**
+     * sorts a small range through the InsertionSort algorithm
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     */
+    private static void insertionSort(double[] values, int leftBound, int rightBound) {
+        for (int i = leftBound + 1; i <= rightBound; i++) {
+            double currentElement = values[i];
+            int j = i - 1;
+            while (j >= leftBound && Double.compare(currentElement, values[j]) < 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = currentElement;
+        }
+    }
+
+    /**
+     * sorts a range through the HeapSort algorithm, guarantees O(n log n) for introSort
+     * @param values     array to be sorted
+     * @param leftBound  inclusive left bound
+     * @param rightBound inclusive right bound
+     */
+    private static void heapSort(double[] values, int leftBound, int rightBound) {
+        int n = rightBound - leftBound + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(values, leftBound, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            double max = values[leftBound];
+            values[leftBound] = values[leftBound + end];
+            values[leftBound + end] = max;
+            siftDown(values, leftBound, 0, end);
+        }
+    }
+
+    /**
+     * restores the max heap property below a heap node
+     * @param values array holding the heap
+     * @param offset index of the heap root in the array
+     * @param node   heap index of the node to sift down
+     * @param n      heap size
+     */
+    private static void siftDown(double[] values, int offset, int node, int n) {
+        double element = values[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < n) {
+            if (child + 1 < n && Double.compare(values[offset + child], values[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (Double.compare(element, values[offset + child]) >= 0) {
+                break;
+            }
+            values[offset + node] = values[offset + child];
+            node = child;
+        }
+        values[offset + node] = element;
+    }
+
+    /**
+     * searches a sorted array of double values for a key using binary search
+     * @param data sorted array to search
+     * @param key  search key
+     * @return index of the key in data if found, else -1
+     */
+    public static int binSearch(double[] data, double key) {
+        if (data == null) {
+            return -1;
+        }
+        return recBinSearch(data, key, 0, data.length - 1);
+    }
+
+    /**
+     * searches a sorted range of an array of double values for a key using binary search
+     * @param data      array to search, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       search key
+     * @return index of the key in data if found, else -1
+     */
+    public static int binSearch(double[] data, int fromIndex, int toIndex, double key) {
+        checkRange(data.length, fromIndex, toIndex);
+        return recBinSearch(data, key, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * recursive method for binary search on double values
+     * @param data       array to search in
+     * @param key        key to search for
+     * @param leftBound  left bound
+     * @param rightBound right bound
+     * @return index of the element if found, else -1
+     */
+    private static int recBinSearch(double[] data, double key, int leftBound, int rightBound) {
+        if (rightBound < leftBound) {
+            return -1;
+        }
+        int middle = (leftBound + rightBound) >>> 1;
+        if (Double.compare(key, data[middle]) < 0) {
+            return recBinSearch(data, key, leftBound, middle - 1);
+        } else if (Double.compare(key, data[middle]) > 0) {
+            return recBinSearch(data, key, middle + 1, rightBound);
+        } else {
+            return middle;
+        }
+    }
+
+    /**
+     * counts entries of a sorted array of double values matching a key using binary search
+     * @param data sorted array
+     * @param key  key to search for
+     * @return number of entries matching the key
+     */
+    public static int binCountEntries(double[] data, double key) {
+        int index = binFindFirst(data, key);
+        if (index == -1) {
+            return 0;
+        }
+        int number = 1;
+        index++;
+        while (index < data.length && Double.compare(data[index], key) == 0) {
+            number++;
+            index++;
+        }
+        return number;
+    }
+
+    /**
+     * finds the first entry of a sorted array of double values matching the key using binary search
+     * @param data sorted array to search in
+     * @param key  key to search for
+     * @return first index of key if found, else -1
+     */
+    public static int binFindFirst(double[] data, double key) {
+        int index = binSearch(data, key);
+        while (index > 0) {
+            if (Double.compare(data[index - 1], key) != 0) {
+                return index;
+            }
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * counts entries of a sorted range of an array of double values matching a key using binary search
+     * @param data      array, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       key to search for
+     * @return number of entries in the range matching the key
+     */
+    public static int binCountEntries(double[] data, int fromIndex, int toIndex, double key) {
+        int index = binFindFirst(data, fromIndex, toIndex, key);
+        if (index == -1) {
+            return 0;
+        }
+        int number = 1;
+        index++;
+        while (index < toIndex && Double.compare(data[index], key) == 0) {
+            number++;
+            index++;
+        }
+        return number;
+    }
+
+    /**
+     * finds the first entry of a sorted range of an array of double values matching the key using binary search
+     * @param data      array to search in, sorted within the range
+     * @param fromIndex inclusive start index of the range
+     * @param toIndex   exclusive end index of the range
+     * @param key       key to search for
+     * @return first index of key within the range if found, else -1
+     */
+    public static int binFindFirst(double[] data, int fromIndex, int toIndex, double key) {
+        int index = binSearch(data, fromIndex, toIndex, key);
+        while (index > fromIndex) {
+            if (Double.compare(data[index - 1], key) != 0) {
+                return index;
+            }
+            index--;
+        }
+        return index;
+    }
 }
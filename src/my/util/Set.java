@@ -1,6 +1,7 @@
 package my.util;
 
-import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * set interface
@@ -8,4 +9,8 @@ import java.util.Comparator;
  */
 public interface Set<E> extends Collection<E> {
 
+    @Override
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT);
+    }
 }
@@ -0,0 +1,613 @@
+package my.util;
+
+import java.util.Comparator;
+
+/**
+ * stable, adaptive merge sort behind {@code Rray.mergeSort} (TimSort).
+ * The range is split into natural runs (strictly descending runs are reversed), short runs are
+ * extended to a minimum length through binary insertion sort and pushed on a stack that is merged
+ * while keeping run lengths balanced. Merges copy only the shorter run into a temp buffer of at most
+ * n / 2 elements that is reused for the whole sort and switch to galloping when one run keeps winning,
+ * so presorted input is sorted in near linear time
+ */
+final class TimSort<T> {
+
+    /**
+     * ranges shorter than this are sorted through binary insertion sort only
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * initial number of consecutive wins of one run before a merge switches to galloping
+     */
+    private static final int MIN_GALLOP = 7;
+
+    /**
+     * initial length of the temp buffer, grown on demand up to half of the range length
+     */
+    private static final int INITIAL_TMP_LENGTH = 256;
+
+    /**
+     * array being sorted
+     */
+    private final T[] a;
+
+    /**
+     * comparator to compare elements
+     */
+    private final Comparator<? super T> c;
+
+    /**
+     * length of the range being sorted, bounds the temp buffer
+     */
+    private final int length;
+
+    /**
+     * adaptive galloping threshold, raised for random data and lowered for presorted data
+     */
+    private int minGallop;
+
+    /**
+     * temp buffer holding the shorter run during a merge
+     */
+    private T[] tmp;
+
+    /**
+     * stack of pending runs, run i starts at runBase[i] and is runLen[i] elements long
+     */
+    private final int[] runBase;
+    private final int[] runLen;
+    private int stackSize;
+
+    private TimSort(T[] a, Comparator<? super T> c, int length) {
+        this.a = a;
+        this.c = c;
+        this.length = length;
+        this.minGallop = MIN_GALLOP;
+        int tmpLength = length < 2 * INITIAL_TMP_LENGTH ? length >>> 1 : INITIAL_TMP_LENGTH;
+        this.tmp = (T[]) new Object[tmpLength];
+        // run lengths grow at least like fibonacci numbers, so these stack sizes cannot overflow
+        int stackLength = length < 120 ? 5 : length < 1542 ? 10 : length < 119151 ? 24 : 49;
+        this.runBase = new int[stackLength];
+        this.runLen = new int[stackLength];
+        this.stackSize = 0;
+    }
+
+    /**
+     * sorts a range of an array, stable
+     * @param a  array to be sorted
+     * @param lo inclusive start index of the range
+     * @param hi exclusive end index of the range
+     * @param c  comparator to compare elements
+     * @param <T> type of elements
+     */
+    static <T> void sort(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int remaining = hi - lo;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int initialRunLength = countRunAndMakeAscending(a, lo, hi, c);
+            binarySort(a, lo, hi, lo + initialRunLength, c);
+            return;
+        }
+        TimSort<T> ts = new TimSort<>(a, c, remaining);
+        int minRun = minRunLength(remaining);
+        do {
+            int runLength = countRunAndMakeAscending(a, lo, hi, c);
+            if (runLength < minRun) {
+                int force = remaining <= minRun ? remaining : minRun;
+                binarySort(a, lo, lo + force, lo + runLength, c);
+                runLength = force;
+            }
+            ts.pushRun(lo, runLength);
+            ts.mergeCollapse();
+            lo += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+        ts.mergeForceCollapse();
+    }
+
+    /**
+     * sorts a range through binary insertion sort, the prefix [lo, start) is already sorted
+     * @param a     array to be sorted
+     * @param lo    inclusive start index of the range
+     * @param hi    exclusive end index of the range
+     * @param start index of the first element not known to be sorted
+     * @param c     comparator to compare elements
+     * @param <T>   type of elements
+     */
+    private static <T> void binarySort(T[] a, int lo, int hi, int start, Comparator<? super T> c) {
+        if (start == lo) {
+            start++;
+        }
+        for (; start < hi; start++) {
+            T pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (c.compare(pivot, a[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * finds the length of the run starting at lo, a strictly descending run is reversed in place
+     * (strictly, so that reversing keeps the sort stable)
+     * @param a   array holding the run
+     * @param lo  start index of the run
+     * @param hi  exclusive end index of the range
+     * @param c   comparator to compare elements
+     * @param <T> type of elements
+     * @return length of the run
+     */
+    private static <T> int countRunAndMakeAscending(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (c.compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            reverseRange(a, lo, runHi);
+        } else {
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * reverses a range of an array
+     * @param a  array
+     * @param lo inclusive start index
+     * @param hi exclusive end index
+     */
+    private static void reverseRange(Object[] a, int lo, int hi) {
+        hi--;
+        while (lo < hi) {
+            Object t = a[lo];
+            a[lo++] = a[hi];
+            a[hi--] = t;
+        }
+    }
+
+    /**
+     * calculates the minimum run length so that the number of runs is a power of two or slightly less
+     * @param n range length
+     * @return minimum run length between MIN_MERGE / 2 and MIN_MERGE
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int len) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    /**
+     * merges runs until the stack invariants hold again:
+     * runLen[i - 2] > runLen[i - 1] + runLen[i] and runLen[i - 1] > runLen[i]
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * merges all remaining runs, called once at the end of the sort
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * merges the runs i and i + 1 of the stack
+     * @param i stack index of the first run, either stackSize - 2 or stackSize - 3
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // elements of run1 smaller than the first element of run2 are already in place
+        int k = gallopRight(a[base2], a, base1, len1, 0, c);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 greater than the last element of run1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1, c);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(base1, len1, base2, len2);
+        } else {
+            mergeHi(base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * finds the position to insert key into a sorted range, left of any equal elements
+     * @param key  key to insert
+     * @param a    array holding the range
+     * @param base start index of the range
+     * @param len  length of the range
+     * @param hint index relative to base to start galloping from
+     * @param c    comparator to compare elements
+     * @param <T>  type of elements
+     * @return k so that a[base + k - 1] &lt; key &lt;= a[base + k]
+     */
+    private static <T> int gallopLeft(T key, T[] a, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (c.compare(key, a[base + hint]) > 0) {
+            // gallop right until a[base + hint + lastOfs] < key <= a[base + hint + ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // gallop left until a[base + hint - ofs] < key <= a[base + hint - lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        }
+        // binary search in (lastOfs, ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * finds the position to insert key into a sorted range, right of any equal elements
+     * @param key  key to insert
+     * @param a    array holding the range
+     * @param base start index of the range
+     * @param len  length of the range
+     * @param hint index relative to base to start galloping from
+     * @param c    comparator to compare elements
+     * @param <T>  type of elements
+     * @return k so that a[base + k - 1] &lt;= key &lt; a[base + k]
+     */
+    private static <T> int gallopRight(T key, T[] a, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (c.compare(key, a[base + hint]) < 0) {
+            // gallop left until a[base + hint - ofs] <= key < a[base + hint - lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        } else {
+            // gallop right until a[base + hint + lastOfs] <= key < a[base + hint + ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        }
+        // binary search in (lastOfs, ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * merges two adjacent runs from left to right, run1 is copied into the temp buffer
+     * (used if run1 is not longer than run2), the first element of run1 is greater than the first
+     * element of run2 and the last element of run1 is greater than all elements of run2
+     * @param base1 start index of run1
+     * @param len1  length of run1
+     * @param base2 start index of run2, base1 + len1
+     * @param len2  length of run2
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        T[] a = this.a;
+        T[] tmp = ensureCapacity(len1);
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+
+        Comparator<? super T> c = this.c;
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            // one element at a time until one run wins minGallop times in a row
+            do {
+                if (c.compare(a[cursor2], tmp[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+
+            // gallop until neither run wins MIN_GALLOP elements in a row
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0, c);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0, c);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * merges two adjacent runs from right to left, run2 is copied into the temp buffer
+     * (used if run1 is longer than run2), same preconditions as mergeLo
+     * @param base1 start index of run1
+     * @param len1  length of run1
+     * @param base2 start index of run2, base1 + len1
+     * @param len2  length of run2
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        T[] a = this.a;
+        T[] tmp = ensureCapacity(len2);
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+
+        Comparator<? super T> c = this.c;
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (c.compare(tmp[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1, c);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1, c);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    /**
+     * ensures the temp buffer holds at least minCapacity elements, grows to the next power of two
+     * but never beyond half of the range length
+     * @param minCapacity required length
+     * @return temp buffer
+     */
+    private T[] ensureCapacity(int minCapacity) {
+        if (tmp.length < minCapacity) {
+            int newLength = Integer.highestOneBit(minCapacity) << 1;
+            if (newLength < 0) {
+                newLength = minCapacity;
+            } else {
+                newLength = Math.min(newLength, length >>> 1);
+            }
+            tmp = (T[]) new Object[newLength];
+        }
+        return tmp;
+    }
+}
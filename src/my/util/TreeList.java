@@ -0,0 +1,546 @@
+package my.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * List backed by an AVL tree ordered by position instead of by value: every node knows the number of
+ * nodes in its subtree, so get, set, add and remove by index descend the tree in O(log n).
+ * The iterators follow parent links from node to node, a full traversal is O(n).
+ */
+public class TreeList<E> extends AbstractCollection<E> implements List<E> {
+
+    /**
+     * tree node holding the height and the number of nodes of its subtree
+     */
+    private static final class Node<E> {
+        E data;
+        Node<E> left;
+        Node<E> right;
+        Node<E> parent;
+        int height;
+        int count;
+
+        Node(E data, Node<E> parent) {
+            this.data = data;
+            this.parent = parent;
+            this.height = 1;
+            this.count = 1;
+        }
+    }
+
+    /**
+     * root of the tree, null if the list is empty
+     */
+    private Node<E> root;
+
+    /**
+     * Constructor for TreeList from a comparator
+     * @param c comparator instance used to compare list elements
+     */
+    public TreeList(Comparator<E> c) {
+        this.c = c;
+    }
+
+    /**
+     * Constructor for TreeList from an equivalence
+     * @param eq equivalence deciding element equality in indexOf, contains and remove
+     */
+    public TreeList(Equivalence<? super E> eq) {
+        setEquivalence(eq);
+    }
+
+    /**
+     * Constructor for TreeList using a default comparator
+     */
+    public TreeList() {
+        this(new DefaultComparator<E>());
+    }
+
+    @Override
+    public int size() {
+        return count(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    private static int count(Node<?> node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.count = 1 + count(node.left) + count(node.right);
+    }
+
+    /**
+     * finds the node at a position
+     * @param index position, must be within bounds
+     * @return node at the position
+     */
+    private Node<E> nodeAt(int index) {
+        Node<E> focus = root;
+        while (true) {
+            int leftCount = count(focus.left);
+            if (index < leftCount) {
+                focus = focus.left;
+            } else if (index > leftCount) {
+                index -= leftCount + 1;
+                focus = focus.right;
+            } else {
+                return focus;
+            }
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return nodeAt(index).data;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        Node<E> node = nodeAt(index);
+        E old = node.data;
+        node.data = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (root == null) {
+            root = new Node<>(e, null);
+            return true;
+        }
+        Node<E> focus = root;
+        while (focus.right != null) {
+            focus = focus.right;
+        }
+        focus.right = new Node<>(e, focus);
+        rebalance(focus);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index == size()) {
+            add(element);
+            return;
+        }
+        checkIndex(index);
+        insertBefore(nodeAt(index), element);
+    }
+
+    /**
+     * inserts an element directly in front of a node: as its left child or as the right child
+     * of its in-order predecessor
+     * @param node node to insert in front of
+     * @param e element to insert
+     * @return new node
+     */
+    private Node<E> insertBefore(Node<E> node, E e) {
+        Node<E> newNode;
+        if (node.left == null) {
+            newNode = node.left = new Node<>(e, node);
+        } else {
+            Node<E> focus = node.left;
+            while (focus.right != null) {
+                focus = focus.right;
+            }
+            newNode = focus.right = new Node<>(e, focus);
+        }
+        rebalance(newNode.parent);
+        return newNode;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        Node<E> node = nodeAt(index);
+        E old = node.data;
+        delete(node);
+        return old;
+    }
+
+    /**
+     * removes a node from the tree, a node with two children takes the element of its successor
+     * and the successor node is removed instead
+     * @param node node to remove
+     */
+    private void delete(Node<E> node) {
+        if (node.left != null && node.right != null) {
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.data = successor.data;
+            node = successor;
+        }
+        Node<E> child = node.left != null ? node.left : node.right;
+        Node<E> parent = node.parent;
+        if (child != null) {
+            child.parent = parent;
+        }
+        replaceChild(parent, node, child);
+        node.data = null;
+        node.left = node.right = node.parent = null;
+        rebalance(parent);
+    }
+
+    /**
+     * replaces a child of a node, or the root if the node is null
+     * @param parent parent of the old child
+     * @param oldChild child to replace
+     * @param newChild replacement, may be null
+     */
+    private void replaceChild(Node<E> parent, Node<E> oldChild, Node<E> newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+    }
+
+    /**
+     * rotates the subtree at node to the left, its right child becomes the subtree root
+     * @param node subtree root
+     * @return new subtree root
+     */
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        if (pivot.left != null) {
+            pivot.left.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * rotates the subtree at node to the right, its left child becomes the subtree root
+     * @param node subtree root
+     * @return new subtree root
+     */
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        if (pivot.right != null) {
+            pivot.right.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * updates heights and counts from a node up to the root and rotates every subtree out of balance
+     * @param node lowest changed node, may be null
+     */
+    private void rebalance(Node<E> node) {
+        while (node != null) {
+            update(node);
+            int balance = height(node.left) - height(node.right);
+            if (balance > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    rotateLeft(node.left);
+                }
+                node = rotateRight(node);
+            } else if (balance < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    rotateRight(node.right);
+                }
+                node = rotateLeft(node);
+            }
+            node = node.parent;
+        }
+    }
+
+    private static <E> Node<E> successor(Node<E> node) {
+        if (node.right != null) {
+            node = node.right;
+            while (node.left != null) {
+                node = node.left;
+            }
+            return node;
+        }
+        Node<E> parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    private static <E> Node<E> predecessor(Node<E> node) {
+        if (node.left != null) {
+            node = node.left;
+            while (node.right != null) {
+                node = node.right;
+            }
+            return node;
+        }
+        Node<E> parent = node.parent;
+        while (parent != null && node == parent.left) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    private Node<E> firstNode() {
+        Node<E> node = root;
+        if (node != null) {
+            while (node.left != null) {
+                node = node.left;
+            }
+        }
+        return node;
+    }
+
+    private Node<E> lastNode() {
+        Node<E> node = root;
+        if (node != null) {
+            while (node.right != null) {
+                node = node.right;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * removes all matching elements in one in-order pass and rebuilds a perfectly balanced tree
+     * from the kept ones in O(n). If the filter throws, the elements not yet tested are kept.
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        int n = size();
+        Object[] kept = new Object[n];
+        int k = 0;
+        Node<E> node = firstNode();
+        try {
+            for (; node != null; node = successor(node)) {
+                if (!filter.test(node.data)) {
+                    kept[k++] = node.data;
+                }
+            }
+        } finally {
+            for (; node != null; node = successor(node)) {
+                kept[k++] = node.data;
+            }
+            if (k != n) {
+                root = build(kept, 0, k, null);
+            }
+        }
+        return k != n;
+    }
+
+    /**
+     * builds a balanced tree holding a range of an array in order
+     * @param a elements
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     * @param parent parent of the subtree root
+     * @return subtree root, null for an empty range
+     */
+    private static <E> Node<E> build(Object[] a, int from, int to, Node<E> parent) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node<E> node = new Node<>((E) a[mid], parent);
+        node.left = build(a, from, mid, node);
+        node.right = build(a, mid + 1, to, node);
+        update(node);
+        return node;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    @Override
+    public int indexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        int i = 0;
+        for (Node<E> node = firstNode(); node != null; node = successor(node), i++) {
+            if (equal(eq, e, node.data)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        int i = size() - 1;
+        for (Node<E> node = lastNode(); node != null; node = predecessor(node), i--) {
+            if (equal(eq, e, node.data)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return new ListItr(index);
+    }
+
+    /**
+     * List Iterator implementation walking the nodes in order
+     */
+    private class ListItr implements ListIterator<E> {
+
+        /**
+         * node of the next element, null at the end of the list
+         */
+        Node<E> next;
+        /**
+         * index of the next element
+         */
+        int nextIndex;
+        /**
+         * node of the element returned by the last call of next() or previous(), null if none
+         */
+        Node<E> lastReturned;
+
+        private ListItr(int index) {
+            int size = size();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            next = index == size ? null : nodeAt(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = successor(next);
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            next = next == null ? lastNode() : predecessor(next);
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Cannot remove before first next() method call");
+            }
+            if (lastReturned != next) {
+                // removed behind the cursor by next()
+                nextIndex--;
+            }
+            delete(lastReturned);
+            // delete may move the successor's element into another node
+            next = nextIndex < size() ? nodeAt(nextIndex) : null;
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned.data = e;
+        }
+
+        @Override
+        public void add(E e) {
+            if (next == null) {
+                TreeList.this.add(e);
+            } else {
+                insertBefore(next, e);
+            }
+            nextIndex++;
+            lastReturned = null;
+        }
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        Object[] a = new Object[toIndex - fromIndex];
+        Node<E> node = fromIndex < toIndex ? nodeAt(fromIndex) : null;
+        for (int i = 0; i < a.length; i++, node = successor(node)) {
+            a[i] = node.data;
+        }
+        TreeList<E> sub = new TreeList<>((Comparator<E>) c);
+        sub.eq = eq;
+        sub.root = build(a, 0, a.length, null);
+        return sub;
+    }
+}
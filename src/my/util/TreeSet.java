@@ -1,58 +1,85 @@
 package my.util;
 
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
- * Binary Search Tree
+ * Red-black search tree. add, remove and contains as well as the navigation methods run in O(log n),
+ * iteration walks the nodes in order via parent links. Range views returned by subSet, headSet and
+ * tailSet are backed by the tree.
+ * null elements are not permitted
  *
  * @author Henrik Drefs
  */
-public class TreeSet<E> extends AbstractCollection<E> implements Set<E> {
+public class TreeSet<E> extends AbstractCollection<E> implements NavigableSet<E> {
 
-    private Node<E> root;
+    /**
+     * root node of the tree, null if the set is empty
+     */
+    protected Node<E> root;
+    /**
+     * number of elements in the set
+     */
+    protected int size;
+    /**
+     * number of structural modifications, used by the iterators to detect concurrent modification
+     */
+    protected int modCount;
 
-    private int size;
+    /**
+     * tree node, subclasses may add balancing information by overriding {@link #newNode(Object, Node)}
+     */
+    protected static class Node<E> {
+        protected E data;
+        protected Node<E> leftChild;
+        protected Node<E> rightChild;
+        protected Node<E> parent;
+        /**
+         * color of the node, new nodes are red
+         */
+        protected boolean red;
 
-    private class Node<E> {
-        E data;
-        Node<E> leftChild;
-        Node<E> rightChild;
-
-        Node(E data) {
+        protected Node(E data, Node<E> parent) {
             this.data = data;
             this.leftChild = null;
             this.rightChild = null;
+            this.parent = parent;
+            this.red = true;
         }
     }
 
-//    public TreeSet() {
-//        assert E extends Comparable<? super E>
-//        this(new DefaultTreeComparator<E>());
-//    }
+    /**
+     * creates a tree set ordered by the natural ordering of its elements
+     */
+    public TreeSet() {
+        this(new DefaultTreeComparator<E>());
+    }
 
     public TreeSet(E root) {
-        //assert E extends Comparable<? super E>
         this(root, new DefaultTreeComparator<E>());
     }
 
-    public <T extends Comparable<? super E>> TreeSet() {
-//        this.c = new ComparableComparator<T>();
-//        this.c = new DefaultTreeComparator<>();
-//        this(new ComparableComparator<E>());
-    }
-
-
     public TreeSet(Comparator<? super E> c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
         this.c = c;
         this.size = 0;
         this.root = null;
     }
 
     public TreeSet(E root, Comparator<E> c) {
-        this.c = c;
-        this.size = 1;
-        this.root = new Node<>(root);
+        this(c);
+        add(root);
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return c;
     }
 
     @Override
@@ -65,52 +92,846 @@ public class TreeSet<E> extends AbstractCollection<E> implements Set<E> {
         return size == 0;
     }
 
+    @Override
+    public boolean contains(E e) {
+        return e != null && getNode(e) != null;
+    }
+
     @Override
     public boolean add(E e) {
-        Node<E> newNode = new Node<E>(e);
-        if (root == null) {
-            root = newNode;
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        Node<E> focus = root;
+        if (focus == null) {
+            c.compare(e, e); // type check, fails for elements the comparator cannot handle
+            root = newNode(e, null);
+            size = 1;
+            modCount++;
+            afterInsertion(root);
             return true;
-        } else {
-            Node<E> focus = root;
-            while (true) {
-                int compare = c.compare(e, focus.data);
-                if (compare < 0) { //element is smaller than focus
-                    focus = focus.leftChild;
-                    if (focus == null) {
-                        focus.leftChild = newNode;
-                        return true;
-                    }
-                } else if (compare > 0) { // element is bigger that focus
-                    focus = focus.rightChild;
-                    if (focus == null) {
-                        focus.rightChild = newNode;
-                        return true;
-                    }
-                } else { // set already contains the element
-                    return false;
-                }
+        }
+        Node<E> parent;
+        int compare;
+        do {
+            parent = focus;
+            compare = c.compare(e, focus.data);
+            if (compare < 0) { //element is smaller than focus
+                focus = focus.leftChild;
+            } else if (compare > 0) { // element is bigger than focus
+                focus = focus.rightChild;
+            } else { // set already contains the element
+                return false;
             }
+        } while (focus != null);
+        Node<E> newNode = newNode(e, parent);
+        if (compare < 0) {
+            parent.leftChild = newNode;
+        } else {
+            parent.rightChild = newNode;
         }
+        size++;
+        modCount++;
+        afterInsertion(newNode);
+        return true;
     }
 
     @Override
     public boolean remove(E e) {
-        return super.remove(e);
+        if (e == null) {
+            return false;
+        }
+        Node<E> node = getNode(e);
+        if (node == null) {
+            return false;
+        }
+        deleteNode(node);
+        return true;
     }
 
     @Override
     public void clear() {
+        modCount++;
+        size = 0;
+        root = null;
+    }
+
+    @Override
+    public E first() {
+        return data(firstNode());
+    }
+
+    @Override
+    public E last() {
+        return data(lastNode());
+    }
+
+    @Override
+    public E floor(E e) {
+        return dataOrNull(floorNode(e));
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return dataOrNull(ceilingNode(e));
+    }
+
+    @Override
+    public E lower(E e) {
+        return dataOrNull(lowerNode(e));
+    }
+
+    @Override
+    public E higher(E e) {
+        return dataOrNull(higherNode(e));
+    }
+
+    @Override
+    public E pollFirst() {
+        return poll(firstNode());
+    }
+
+    @Override
+    public E pollLast() {
+        return poll(lastNode());
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        return new SubSet(false, fromElement, fromInclusive, false, toElement, toInclusive);
+    }
 
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return new SubSet(true, null, true, false, toElement, inclusive);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return new SubSet(false, fromElement, inclusive, true, null, true);
     }
 
     @Override
     public Iterator<E> iterator() {
-        return null;
+        return new TreeItr(firstNode(), null, false);
     }
 
     @Override
     public Iterator<E> descendingIterator() {
+        return new TreeItr(lastNode(), null, true);
+    }
+
+    /**
+     * spliterator fed by the in-order iterator, elements are reported in ascending order
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * gets the data of a node
+     * @param node node, may be null
+     * @return data of the node
+     * @throws NoSuchElementException if the node is null
+     */
+    private static <E> E data(Node<E> node) {
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node.data;
+    }
+
+    private static <E> E dataOrNull(Node<E> node) {
+        return node == null ? null : node.data;
+    }
+
+    /**
+     * removes a node and returns its data
+     * @param node node to remove, may be null
+     * @return data of the removed node, null if node is null
+     */
+    private E poll(Node<E> node) {
+        if (node == null) {
+            return null;
+        }
+        E data = node.data;
+        deleteNode(node);
+        return data;
+    }
+
+    // --- node navigation ---
+
+    /**
+     * creates a node for a new element, called by add before the node is linked into the tree
+     * @param data   element of the node
+     * @param parent parent of the new node, null for the root
+     * @return new node
+     */
+    protected Node<E> newNode(E data, Node<E> parent) {
+        return new Node<>(data, parent);
+    }
+
+    /**
+     * searches the node holding an element
+     * @param e element to search for
+     * @return node holding the element, null if not found
+     */
+    protected Node<E> getNode(E e) {
+        Node<E> focus = root;
+        while (focus != null) {
+            int compare = c.compare(e, focus.data);
+            if (compare < 0) {
+                focus = focus.leftChild;
+            } else if (compare > 0) {
+                focus = focus.rightChild;
+            } else {
+                return focus;
+            }
+        }
         return null;
     }
+
+    /**
+     * gets the node holding the lowest element
+     * @return lowest node, null if the set is empty
+     */
+    protected Node<E> firstNode() {
+        Node<E> focus = root;
+        if (focus != null) {
+            while (focus.leftChild != null) {
+                focus = focus.leftChild;
+            }
+        }
+        return focus;
+    }
+
+    /**
+     * gets the node holding the highest element
+     * @return highest node, null if the set is empty
+     */
+    protected Node<E> lastNode() {
+        Node<E> focus = root;
+        if (focus != null) {
+            while (focus.rightChild != null) {
+                focus = focus.rightChild;
+            }
+        }
+        return focus;
+    }
+
+    /**
+     * gets the node holding the least element greater than or equal to e
+     * @param e element to search for
+     * @return ceiling node, null if there is none
+     */
+    protected Node<E> ceilingNode(E e) {
+        Node<E> focus = root;
+        Node<E> best = null;
+        while (focus != null) {
+            int compare = c.compare(e, focus.data);
+            if (compare < 0) {
+                best = focus;
+                focus = focus.leftChild;
+            } else if (compare > 0) {
+                focus = focus.rightChild;
+            } else {
+                return focus;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * gets the node holding the least element strictly greater than e
+     * @param e element to search for
+     * @return higher node, null if there is none
+     */
+    protected Node<E> higherNode(E e) {
+        Node<E> focus = root;
+        Node<E> best = null;
+        while (focus != null) {
+            if (c.compare(e, focus.data) < 0) {
+                best = focus;
+                focus = focus.leftChild;
+            } else {
+                focus = focus.rightChild;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * gets the node holding the greatest element less than or equal to e
+     * @param e element to search for
+     * @return floor node, null if there is none
+     */
+    protected Node<E> floorNode(E e) {
+        Node<E> focus = root;
+        Node<E> best = null;
+        while (focus != null) {
+            int compare = c.compare(e, focus.data);
+            if (compare > 0) {
+                best = focus;
+                focus = focus.rightChild;
+            } else if (compare < 0) {
+                focus = focus.leftChild;
+            } else {
+                return focus;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * gets the node holding the greatest element strictly less than e
+     * @param e element to search for
+     * @return lower node, null if there is none
+     */
+    protected Node<E> lowerNode(E e) {
+        Node<E> focus = root;
+        Node<E> best = null;
+        while (focus != null) {
+            if (c.compare(e, focus.data) > 0) {
+                best = focus;
+                focus = focus.rightChild;
+            } else {
+                focus = focus.leftChild;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * gets the in-order successor of a node
+     * @param node node, not null
+     * @return successor, null if node is the last one
+     */
+    protected static <E> Node<E> successor(Node<E> node) {
+        if (node.rightChild != null) {
+            Node<E> focus = node.rightChild;
+            while (focus.leftChild != null) {
+                focus = focus.leftChild;
+            }
+            return focus;
+        }
+        Node<E> child = node;
+        Node<E> focus = node.parent;
+        while (focus != null && child == focus.rightChild) {
+            child = focus;
+            focus = focus.parent;
+        }
+        return focus;
+    }
+
+    /**
+     * gets the in-order predecessor of a node
+     * @param node node, not null
+     * @return predecessor, null if node is the first one
+     */
+    protected static <E> Node<E> predecessor(Node<E> node) {
+        if (node.leftChild != null) {
+            Node<E> focus = node.leftChild;
+            while (focus.rightChild != null) {
+                focus = focus.rightChild;
+            }
+            return focus;
+        }
+        Node<E> child = node;
+        Node<E> focus = node.parent;
+        while (focus != null && child == focus.leftChild) {
+            child = focus;
+            focus = focus.parent;
+        }
+        return focus;
+    }
+
+    /**
+     * counts the nodes from one node to another one in order, both inclusive
+     * @param from first node to count
+     * @param to   last node to count, not before from
+     * @return number of nodes in the range
+     */
+    protected int countNodes(Node<E> from, Node<E> to) {
+        int count = 1;
+        for (Node<E> focus = from; focus != to; focus = successor(focus)) {
+            count++;
+        }
+        return count;
+    }
+
+    // --- structural modification ---
+
+    /**
+     * rotates the subtree at node to the left, its right child becomes the subtree root
+     * @param node node with a right child
+     */
+    protected void rotateLeft(Node<E> node) {
+        Node<E> r = node.rightChild;
+        node.rightChild = r.leftChild;
+        if (r.leftChild != null) {
+            r.leftChild.parent = node;
+        }
+        replaceChild(node, r);
+        r.leftChild = node;
+        node.parent = r;
+    }
+
+    /**
+     * rotates the subtree at node to the right, its left child becomes the subtree root
+     * @param node node with a left child
+     */
+    protected void rotateRight(Node<E> node) {
+        Node<E> l = node.leftChild;
+        node.leftChild = l.rightChild;
+        if (l.rightChild != null) {
+            l.rightChild.parent = node;
+        }
+        replaceChild(node, l);
+        l.rightChild = node;
+        node.parent = l;
+    }
+
+    /**
+     * links a replacement into the position of a node at its parent (or the root)
+     * @param node        node to replace
+     * @param replacement node taking its position, may be null
+     */
+    protected void replaceChild(Node<E> node, Node<E> replacement) {
+        Node<E> parent = node.parent;
+        if (replacement != null) {
+            replacement.parent = parent;
+        }
+        if (parent == null) {
+            root = replacement;
+        } else if (node == parent.leftChild) {
+            parent.leftChild = replacement;
+        } else {
+            parent.rightChild = replacement;
+        }
+    }
+
+    /**
+     * restores the red-black properties after a new node was linked into the tree
+     * @param node new node
+     */
+    protected void afterInsertion(Node<E> node) {
+        node.red = true;
+        while (node != root && node.parent.red) {
+            Node<E> parent = node.parent;
+            Node<E> grandParent = parent.parent;
+            if (parent == grandParent.leftChild) {
+                Node<E> uncle = grandParent.rightChild;
+                if (isRed(uncle)) {
+                    parent.red = false;
+                    uncle.red = false;
+                    grandParent.red = true;
+                    node = grandParent;
+                } else {
+                    if (node == parent.rightChild) {
+                        node = parent;
+                        rotateLeft(node);
+                        parent = node.parent;
+                    }
+                    parent.red = false;
+                    grandParent.red = true;
+                    rotateRight(grandParent);
+                }
+            } else {
+                Node<E> uncle = grandParent.leftChild;
+                if (isRed(uncle)) {
+                    parent.red = false;
+                    uncle.red = false;
+                    grandParent.red = true;
+                    node = grandParent;
+                } else {
+                    if (node == parent.leftChild) {
+                        node = parent;
+                        rotateRight(node);
+                        parent = node.parent;
+                    }
+                    parent.red = false;
+                    grandParent.red = true;
+                    rotateLeft(grandParent);
+                }
+            }
+        }
+        root.red = false;
+    }
+
+    /**
+     * unlinks a node from the tree and rebalances it. A node with two children is not unlinked itself,
+     * it takes over the element of its successor and the successor node is unlinked instead.
+     * @param node node to delete
+     */
+    protected void deleteNode(Node<E> node) {
+        modCount++;
+        size--;
+        if (node.leftChild != null && node.rightChild != null) {
+            Node<E> s = successor(node);
+            node.data = s.data;
+            node = s;
+        }
+        Node<E> replacement = node.leftChild != null ? node.leftChild : node.rightChild;
+        if (replacement != null) {
+            replaceChild(node, replacement);
+            node.leftChild = node.rightChild = node.parent = null;
+            if (!node.red) {
+                fixAfterDeletion(replacement);
+            }
+        } else if (node.parent == null) {
+            root = null;
+        } else {
+            // the node itself serves as phantom replacement during the fix up
+            if (!node.red) {
+                fixAfterDeletion(node);
+            }
+            replaceChild(node, null);
+            node.parent = null;
+        }
+    }
+
+    /**
+     * restores the red-black properties after a black node was removed above the given node
+     * @param node node carrying the extra black
+     */
+    private void fixAfterDeletion(Node<E> node) {
+        while (node != root && !isRed(node)) {
+            Node<E> parent = node.parent;
+            if (node == parent.leftChild) {
+                Node<E> sibling = parent.rightChild;
+                if (isRed(sibling)) {
+                    sibling.red = false;
+                    parent.red = true;
+                    rotateLeft(parent);
+                    sibling = parent.rightChild;
+                }
+                if (!isRed(sibling.leftChild) && !isRed(sibling.rightChild)) {
+                    sibling.red = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.rightChild)) {
+                        sibling.leftChild.red = false;
+                        sibling.red = true;
+                        rotateRight(sibling);
+                        sibling = parent.rightChild;
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    sibling.rightChild.red = false;
+                    rotateLeft(parent);
+                    node = root;
+                }
+            } else {
+                Node<E> sibling = parent.leftChild;
+                if (isRed(sibling)) {
+                    sibling.red = false;
+                    parent.red = true;
+                    rotateRight(parent);
+                    sibling = parent.leftChild;
+                }
+                if (!isRed(sibling.rightChild) && !isRed(sibling.leftChild)) {
+                    sibling.red = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.leftChild)) {
+                        sibling.rightChild.red = false;
+                        sibling.red = true;
+                        rotateLeft(sibling);
+                        sibling = parent.leftChild;
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    sibling.leftChild.red = false;
+                    rotateRight(parent);
+                    node = root;
+                }
+            }
+        }
+        node.red = false;
+    }
+
+    private static boolean isRed(Node<?> node) {
+        return node != null && node.red;
+    }
+
+    /**
+     * in-order iterator over the tree, stops before the fence element which is compared by identity
+     * so that it is still recognized after a deletion moved it into another node
+     */
+    private class TreeItr implements Iterator<E> {
+        private Node<E> next;
+        private Node<E> lastReturned;
+        private final E fence;
+        private final boolean descending;
+        private int expectedModCount;
+
+        /**
+         * @param first      first node to return, null if there is none
+         * @param fence      first node not to return, null to iterate to the end
+         * @param descending if the iterator walks in reversed order
+         */
+        private TreeItr(Node<E> first, Node<E> fence, boolean descending) {
+            this.next = first;
+            this.fence = fence == null ? null : fence.data;
+            this.descending = descending;
+            this.lastReturned = null;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && next.data != fence;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            lastReturned = next;
+            next = descending ? predecessor(next) : successor(next);
+            return lastReturned.data;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Cannot remove before first next()-method call!");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!descending && lastReturned.leftChild != null && lastReturned.rightChild != null) {
+                // the successor's element is moved into lastReturned
+                next = lastReturned;
+            }
+            deleteNode(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * view of the elements of a range, all operations are delegated to the tree after a range check
+     */
+    private class SubSet extends AbstractCollection<E> implements NavigableSet<E> {
+        private final boolean fromStart;
+        private final E lo;
+        private final boolean loInclusive;
+        private final boolean toEnd;
+        private final E hi;
+        private final boolean hiInclusive;
+
+        /**
+         * @param fromStart   if the range is unbounded below, lo is ignored then
+         * @param lo          low end of the range
+         * @param loInclusive if lo is part of the range
+         * @param toEnd       if the range is unbounded above, hi is ignored then
+         * @param hi          high end of the range
+         * @param hiInclusive if hi is part of the range
+         */
+        private SubSet(boolean fromStart, E lo, boolean loInclusive, boolean toEnd, E hi, boolean hiInclusive) {
+            if ((!fromStart && lo == null) || (!toEnd && hi == null)) {
+                throw new NullPointerException();
+            }
+            if (!fromStart && !toEnd && TreeSet.this.c.compare(lo, hi) > 0) {
+                throw new IllegalArgumentException("fromElement > toElement");
+            }
+            this.c = TreeSet.this.c;
+            this.fromStart = fromStart;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.toEnd = toEnd;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+        }
+
+        private boolean tooLow(E e) {
+            if (!fromStart) {
+                int compare = c.compare(e, lo);
+                return compare < 0 || (compare == 0 && !loInclusive);
+            }
+            return false;
+        }
+
+        private boolean tooHigh(E e) {
+            if (!toEnd) {
+                int compare = c.compare(e, hi);
+                return compare > 0 || (compare == 0 && !hiInclusive);
+            }
+            return false;
+        }
+
+        private boolean inRange(E e) {
+            return !tooLow(e) && !tooHigh(e);
+        }
+
+        /**
+         * checks a bound of a nested view, an exclusive bound may equal an exclusive bound of this view
+         */
+        private boolean inRange(E e, boolean inclusive) {
+            if (inclusive) {
+                return inRange(e);
+            }
+            return (fromStart || c.compare(e, lo) >= 0) && (toEnd || c.compare(e, hi) <= 0);
+        }
+
+        private Node<E> lowestNode() {
+            Node<E> node = fromStart ? firstNode() : loInclusive ? ceilingNode(lo) : higherNode(lo);
+            return node == null || tooHigh(node.data) ? null : node;
+        }
+
+        private Node<E> highestNode() {
+            Node<E> node = toEnd ? lastNode() : hiInclusive ? floorNode(hi) : lowerNode(hi);
+            return node == null || tooLow(node.data) ? null : node;
+        }
+
+        /**
+         * first node above the range, null if there is none
+         */
+        private Node<E> highFence() {
+            return toEnd ? null : hiInclusive ? higherNode(hi) : ceilingNode(hi);
+        }
+
+        /**
+         * last node below the range, null if there is none
+         */
+        private Node<E> lowFence() {
+            return fromStart ? null : loInclusive ? lowerNode(lo) : floorNode(lo);
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return c;
+        }
+
+        @Override
+        public int size() {
+            if (fromStart && toEnd) {
+                return TreeSet.this.size;
+            }
+            Node<E> lowest = lowestNode();
+            return lowest == null ? 0 : countNodes(lowest, highestNode());
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestNode() == null;
+        }
+
+        @Override
+        public boolean contains(E e) {
+            return e != null && inRange(e) && TreeSet.this.contains(e);
+        }
+
+        @Override
+        public boolean add(E e) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            if (!inRange(e)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return TreeSet.this.add(e);
+        }
+
+        @Override
+        public boolean remove(E e) {
+            return e != null && inRange(e) && TreeSet.this.remove(e);
+        }
+
+        @Override
+        public E first() {
+            return data(lowestNode());
+        }
+
+        @Override
+        public E last() {
+            return data(highestNode());
+        }
+
+        @Override
+        public E floor(E e) {
+            if (tooHigh(e)) {
+                return dataOrNull(highestNode());
+            }
+            Node<E> node = floorNode(e);
+            return node == null || tooLow(node.data) ? null : node.data;
+        }
+
+        @Override
+        public E ceiling(E e) {
+            if (tooLow(e)) {
+                return dataOrNull(lowestNode());
+            }
+            Node<E> node = ceilingNode(e);
+            return node == null || tooHigh(node.data) ? null : node.data;
+        }
+
+        @Override
+        public E lower(E e) {
+            if (tooHigh(e)) {
+                return dataOrNull(highestNode());
+            }
+            Node<E> node = lowerNode(e);
+            return node == null || tooLow(node.data) ? null : node.data;
+        }
+
+        @Override
+        public E higher(E e) {
+            if (tooLow(e)) {
+                return dataOrNull(lowestNode());
+            }
+            Node<E> node = higherNode(e);
+            return node == null || tooHigh(node.data) ? null : node.data;
+        }
+
+        @Override
+        public E pollFirst() {
+            return poll(lowestNode());
+        }
+
+        @Override
+        public E pollLast() {
+            return poll(highestNode());
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+            if (!inRange(fromElement, fromInclusive) || !inRange(toElement, toInclusive)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return new SubSet(false, fromElement, fromInclusive, false, toElement, toInclusive);
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            if (!inRange(toElement, inclusive)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return new SubSet(fromStart, lo, loInclusive, false, toElement, inclusive);
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            if (!inRange(fromElement, inclusive)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return new SubSet(false, fromElement, inclusive, toEnd, hi, hiInclusive);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new TreeItr(lowestNode(), highFence(), false);
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return new TreeItr(highestNode(), lowFence(), true);
+        }
+    }
 }
@@ -0,0 +1,617 @@
+package my.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * linked list of small arrays: every node holds up to nodeCapacity elements in a row, so traversals read
+ * contiguous memory and only chase one pointer per node, while inserting through a list iterator
+ * shifts at most one node. A full node is split in halves on insert. Every node but the last one holds
+ * at least half a node: a node falling below that on remove borrows elements from its successor,
+ * or takes over all of them if the successor is at the minimum itself.
+ */
+public class UnrolledLinkedList<E> extends AbstractCollection<E> implements List<E> {
+
+    /**
+     * default number of elements per node
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /**
+     * first node, null if the list is empty
+     */
+    private Node first;
+    /**
+     * last node, null if the list is empty
+     */
+    private Node last;
+    /**
+     * number of elements in the list
+     */
+    private int size;
+    /**
+     * maximum number of elements per node
+     */
+    private final int nodeCapacity;
+
+    /**
+     * node holding the elements [0, count) of its array, the slots behind them are null
+     */
+    private final class Node {
+        final Object[] elements;
+        int count;
+        Node next;
+        Node previous;
+
+        Node() {
+            elements = new Object[nodeCapacity];
+        }
+
+        /**
+         * inserts an element into this node, the node must not be full
+         * @param offset position of the new element
+         * @param e element to insert
+         */
+        void insert(int offset, Object e) {
+            System.arraycopy(elements, offset, elements, offset + 1, count - offset);
+            elements[offset] = e;
+            count++;
+        }
+    }
+
+    /**
+     * Constructor for UnrolledLinkedList from a comparator and a node capacity
+     * @param c comparator instance used to compare list elements
+     * @param nodeCapacity maximum number of elements per node, at least 4
+     */
+    public UnrolledLinkedList(Comparator<E> c, int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("Illegal Capacity: " + nodeCapacity);
+        }
+        this.c = c;
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * Constructor for UnrolledLinkedList from a comparator using the default node capacity
+     * @param c comparator instance used to compare list elements
+     */
+    public UnrolledLinkedList(Comparator<E> c) {
+        this(c, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Constructor for UnrolledLinkedList from an equivalence and a node capacity
+     * @param eq equivalence deciding element equality in indexOf, contains and remove
+     * @param nodeCapacity maximum number of elements per node, at least 4
+     */
+    public UnrolledLinkedList(Equivalence<? super E> eq, int nodeCapacity) {
+        this((Comparator<E>) null, nodeCapacity);
+        setEquivalence(eq);
+    }
+
+    /**
+     * Constructor for UnrolledLinkedList from an equivalence using the default node capacity
+     * @param eq equivalence deciding element equality in indexOf, contains and remove
+     */
+    public UnrolledLinkedList(Equivalence<? super E> eq) {
+        this(eq, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Constructor for UnrolledLinkedList from a node capacity using a default comparator
+     * @param nodeCapacity maximum number of elements per node, at least 4
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        this(new DefaultComparator<E>(), nodeCapacity);
+    }
+
+    /**
+     * Constructor for UnrolledLinkedList using a default comparator and the default node capacity
+     */
+    public UnrolledLinkedList() {
+        this(new DefaultComparator<E>(), DEFAULT_NODE_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        Node node = last;
+        if (node == null || node.count == nodeCapacity) {
+            node = linkAfter(last);
+        }
+        node.elements[node.count++] = e;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index == size) {
+            add(element);
+            return;
+        }
+        checkIndex(index);
+        listIterator(index).add(element);
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        Node node;
+        int offset;
+        if (index < size >> 1) {
+            node = first;
+            offset = index;
+            while (offset >= node.count) {
+                offset -= node.count;
+                node = node.next;
+            }
+        } else {
+            node = last;
+            offset = size - index;
+            while (offset > node.count) {
+                offset -= node.count;
+                node = node.previous;
+            }
+            offset = node.count - offset;
+        }
+        return (E) node.elements[offset];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        Node node;
+        int offset;
+        if (index < size >> 1) {
+            node = first;
+            offset = index;
+            while (offset >= node.count) {
+                offset -= node.count;
+                node = node.next;
+            }
+        } else {
+            node = last;
+            offset = size - index;
+            while (offset > node.count) {
+                offset -= node.count;
+                node = node.previous;
+            }
+            offset = node.count - offset;
+        }
+        E old = (E) node.elements[offset];
+        node.elements[offset] = element;
+        return old;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        ListIterator<E> it = listIterator(index);
+        E old = it.next();
+        it.remove();
+        return old;
+    }
+
+    /**
+     * links a new empty node behind a node
+     * @param node node to link behind, null to link the first node of an empty list
+     * @return new node
+     */
+    private Node linkAfter(Node node) {
+        Node newNode = new Node();
+        if (node == null) {
+            first = last = newNode;
+        } else {
+            newNode.previous = node;
+            newNode.next = node.next;
+            if (node.next == null) {
+                last = newNode;
+            } else {
+                node.next.previous = newNode;
+            }
+            node.next = newNode;
+        }
+        return newNode;
+    }
+
+    /**
+     * unlinks a node from the chain of nodes
+     * @param node node to unlink
+     */
+    private void unlinkNode(Node node) {
+        Node next = node.next;
+        Node previous = node.previous;
+        if (previous == null) {
+            first = next;
+        } else {
+            previous.next = next;
+            node.previous = null;
+        }
+        if (next == null) {
+            last = previous;
+        } else {
+            next.previous = previous;
+            node.next = null;
+        }
+    }
+
+    /**
+     * moves the upper half of a full node into a new node linked behind it
+     * @param node node to split
+     */
+    private void split(Node node) {
+        Node upper = linkAfter(node);
+        int half = node.count >> 1;
+        int moved = node.count - half;
+        System.arraycopy(node.elements, half, upper.elements, 0, moved);
+        Arrays.fill(node.elements, half, node.count, null);
+        upper.count = moved;
+        node.count = half;
+    }
+
+    /**
+     * removes an element from a node, unlinks the node if it runs empty and refills it
+     * from its successor if it falls below half a node
+     * @param node node holding the element
+     * @param offset position of the element in the node
+     * @return node holding the element that followed the removed one, at the same offset if it is
+     * the specified node, at offset 0 otherwise, null if the removed element was the last one
+     */
+    private Node removeAt(Node node, int offset) {
+        Object[] elements = node.elements;
+        int moved = node.count - offset - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, offset + 1, elements, offset, moved);
+        }
+        elements[--node.count] = null;
+        size--;
+        if (node.count == 0) {
+            Node next = node.next;
+            unlinkNode(node);
+            return next;
+        }
+        Node next = node.next;
+        int min = nodeCapacity >> 1;
+        if (next != null && node.count < min) {
+            // the elements are appended behind the remaining ones, so the following element keeps its place
+            if (next.count > min) {
+                // borrow until both nodes hold about the same number of elements
+                int borrowed = (next.count - node.count + 1) >> 1;
+                System.arraycopy(next.elements, 0, elements, node.count, borrowed);
+                System.arraycopy(next.elements, borrowed, next.elements, 0, next.count - borrowed);
+                Arrays.fill(next.elements, next.count - borrowed, next.count, null);
+                node.count += borrowed;
+                next.count -= borrowed;
+            } else {
+                System.arraycopy(next.elements, 0, elements, node.count, next.count);
+                node.count += next.count;
+                unlinkNode(next);
+            }
+        }
+        return offset < node.count ? node : node.next;
+    }
+
+    /**
+     * removes all matching elements in one pass: the kept elements are packed into the leading nodes,
+     * so afterwards every node but the last one is full and the nodes behind are dropped.
+     * If the filter throws, the elements not yet tested are kept.
+     * @param filter predicate returning true for the elements to remove
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        if (first == null) {
+            return false;
+        }
+        int n = size;
+        // the writer never passes the reader, a node is only written once it has been read completely
+        // or at offsets the reader has passed
+        Node w = first;
+        int wo = 0;
+        int kept = 0;
+        Node r = first;
+        int ro = 0;
+        try {
+            for (; r != null; r = r.next, ro = 0) {
+                for (; ro < r.count; ro++) {
+                    Object e = r.elements[ro];
+                    if (!filter.test((E) e)) {
+                        if (wo == nodeCapacity) {
+                            w = w.next;
+                            wo = 0;
+                        }
+                        w.elements[wo++] = e;
+                        kept++;
+                    }
+                }
+            }
+        } finally {
+            for (; r != null; r = r.next, ro = 0) {
+                for (; ro < r.count; ro++) {
+                    if (wo == nodeCapacity) {
+                        w = w.next;
+                        wo = 0;
+                    }
+                    w.elements[wo++] = r.elements[ro];
+                    kept++;
+                }
+            }
+            truncate(w, wo, kept);
+        }
+        return kept != n;
+    }
+
+    /**
+     * ends the list after a position of a compaction, every node before it is full
+     * @param w last node written
+     * @param wo number of elements written into w
+     * @param kept number of elements kept
+     */
+    private void truncate(Node w, int wo, int kept) {
+        for (Node node = first; node != w; node = node.next) {
+            node.count = nodeCapacity;
+        }
+        if (wo == 0) {
+            first = last = null;
+        } else {
+            Arrays.fill(w.elements, wo, Math.max(w.count, wo), null);
+            w.count = wo;
+            w.next = null;
+            last = w;
+        }
+        size = kept;
+    }
+
+    /**
+     * gets the number of nodes the elements are stored in
+     * @return number of nodes, 0 if the list is empty
+     */
+    public int nodeCount() {
+        int n = 0;
+        for (Node node = first; node != null; node = node.next) {
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public void clear() {
+        first = null;
+        last = null;
+        size = 0;
+    }
+
+    @Override
+    public int indexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        int base = 0;
+        for (Node node = first; node != null; node = node.next) {
+            Object[] elements = node.elements;
+            for (int i = 0; i < node.count; i++) {
+                if (equal(eq, e, (E) elements[i])) {
+                    return base + i;
+                }
+            }
+            base += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        Equivalence<? super E> eq = equivalence();
+        int base = size;
+        for (Node node = last; node != null; node = node.previous) {
+            Object[] elements = node.elements;
+            base -= node.count;
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (equal(eq, e, (E) elements[i])) {
+                    return base + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return new ListItr(index);
+    }
+
+    /**
+     * List Iterator implementation, the cursor is the node and offset of the next element
+     */
+    private class ListItr implements ListIterator<E> {
+
+        /**
+         * node of the next element, null at the end of the list
+         */
+        Node node;
+        /**
+         * offset of the next element in node
+         */
+        int offset;
+        /**
+         * index of the next element
+         */
+        int nextIndex;
+        /**
+         * node of the element returned by the last call of next() or previous(), null if none
+         */
+        Node lastNode;
+        /**
+         * offset of the element returned by the last call of next() or previous()
+         */
+        int lastOffset;
+
+        private ListItr(int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Illegal Index: " + index + " (Size: " + size + ")");
+            }
+            nextIndex = index;
+            if (index == size) {
+                node = null;
+            } else if (index < size >> 1) {
+                node = first;
+                offset = index;
+                while (offset >= node.count) {
+                    offset -= node.count;
+                    node = node.next;
+                }
+            } else {
+                node = last;
+                offset = size - index;
+                while (offset > node.count) {
+                    offset -= node.count;
+                    node = node.previous;
+                }
+                offset = node.count - offset;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public E next() {
+            Node n = node;
+            if (n == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = n;
+            lastOffset = offset;
+            if (++offset == n.count) {
+                node = n.next;
+                offset = 0;
+            }
+            nextIndex++;
+            return (E) n.elements[lastOffset];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            if (node == null) {
+                node = last;
+                offset = node.count - 1;
+            } else if (offset == 0) {
+                node = node.previous;
+                offset = node.count - 1;
+            } else {
+                offset--;
+            }
+            nextIndex--;
+            lastNode = node;
+            lastOffset = offset;
+            return (E) node.elements[offset];
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException("Cannot remove before first next() method call");
+            }
+            if (lastNode != node || lastOffset != offset) {
+                // removed behind the cursor by next()
+                nextIndex--;
+            }
+            Node following = removeAt(lastNode, lastOffset);
+            offset = following == lastNode ? lastOffset : 0;
+            node = following;
+            lastNode = null;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            lastNode.elements[lastOffset] = e;
+        }
+
+        @Override
+        public void add(E e) {
+            lastNode = null;
+            nextIndex++;
+            Node n = node;
+            if (n == null) {
+                UnrolledLinkedList.this.add(e);
+                return;
+            }
+            if (offset == 0 && n.previous != null && n.previous.count < nodeCapacity) {
+                // room at the end of the previous node, nothing to shift
+                n.previous.elements[n.previous.count++] = e;
+                size++;
+                return;
+            }
+            if (n.count == nodeCapacity) {
+                split(n);
+                if (offset >= n.count) {
+                    offset -= n.count;
+                    n = node = n.next;
+                }
+            }
+            n.insert(offset++, e);
+            size++;
+        }
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        UnrolledLinkedList<E> sub = new UnrolledLinkedList<>((Comparator<E>) c, nodeCapacity);
+        sub.eq = eq;
+        ListIterator<E> it = listIterator(fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            sub.add(it.next());
+        }
+        return sub;
+    }
+}
@@ -0,0 +1,86 @@
+import my.util.AVLTreeSet;
+import my.util.ComparableComparator;
+import my.util.Set;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TestAVLTreeSet extends TestSet {
+    @Override
+    public Set<String> getSet() {
+        return new AVLTreeSet<String>();
+    }
+
+    @Test(timeout = 1000)
+    public void testSelectRank() {
+        AVLTreeSet<Integer> ints = new AVLTreeSet<>(new ComparableComparator<Integer>());
+        for (int i = 99; i >= 0; i--) {
+            ints.add(i * 2);
+        }
+        for (int k = 0; k < 100; k++) {
+            assertEquals(k * 2, (int) ints.select(k));
+            assertEquals(k, ints.rank(k * 2));
+            assertEquals(k + 1, ints.rank(k * 2 + 1));
+        }
+        assertEquals(0, ints.rank(-5));
+        assertEquals(100, ints.rank(1000));
+        assertEquals(6, ints.count(10, true, 20, true));
+        assertEquals(4, ints.count(10, false, 20, false));
+        assertEquals(5, ints.count(9, true, 19, true));
+        assertEquals(0, ints.count(20, true, 10, true));
+        assertEquals(5, ints.subSet(10, 20).size());
+    }
+
+    @Test(timeout = 1000, expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfBounds() {
+        AVLTreeSet<String> strings = new AVLTreeSet<>();
+        strings.add("a");
+        strings.select(1);
+    }
+
+    @Test(timeout = 2000)
+    public void testSequentialInsertStaysBalanced() {
+        AVLTreeSet<Integer> ints = new AVLTreeSet<>(new ComparableComparator<Integer>());
+        for (int i = 0; i < 200000; i++) {
+            ints.add(i);
+        }
+        for (int i = 0; i < 200000; i += 2) {
+            ints.remove(i);
+        }
+        assertEquals(100000, ints.size());
+        assertEquals(100001, (int) ints.select(50000));
+        assertEquals(50000, ints.rank(100001));
+    }
+
+    @Test(timeout = 5000)
+    public void testRandomAgainstJava() {
+        Random random = new Random(42);
+        AVLTreeSet<Integer> mine = new AVLTreeSet<>(new ComparableComparator<Integer>());
+        java.util.TreeSet<Integer> java = new java.util.TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                assertEquals(java.add(key), mine.add(key));
+            } else {
+                assertEquals(java.remove(key), mine.remove(key));
+            }
+            assertEquals(java.size(), mine.size());
+            assertEquals(java.headSet(key).size(), mine.rank(key));
+            assertEquals(java.ceiling(key), mine.ceiling(key));
+            if (!java.isEmpty()) {
+                int k = random.nextInt(java.size());
+                assertEquals(java.headSet(mine.select(k)).size(), k);
+            }
+        }
+        Iterator<Integer> expected = java.descendingIterator();
+        Iterator<Integer> actual = mine.descendingIterator();
+        while (expected.hasNext()) {
+            assertEquals(expected.next(), actual.next());
+        }
+        assertFalse(actual.hasNext());
+    }
+}
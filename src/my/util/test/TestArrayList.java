@@ -1,5 +1,11 @@
 import my.util.ArrayList;
+import my.util.ComparableComparator;
+import my.util.GrowthPolicy;
+import my.util.LinkedList;
 import my.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
 
 /**
  * Created by Henrik on 12/4/2015.
@@ -9,4 +15,102 @@ public class TestArrayList extends TestList {
     public List<String> getList() {
         return new ArrayList<>("", 6);
     }
+
+    @Test(timeout = 1000)
+    public void testSubListView() {
+        assertSubListView(list);
+    }
+
+    @Test(timeout = 1000)
+    public void testCapacity() {
+        ArrayList<Integer> list = new ArrayList<>(Integer.class);
+        assertEquals(0, list.capacity());
+        list.add(1);
+        assertEquals(GrowthPolicy.DEFAULT_CAPACITY, list.capacity());
+        list.ensureCapacity(1000);
+        assertTrue(list.capacity() >= 1000);
+        list.trimToSize();
+        assertEquals(1, list.capacity());
+        assertEquals(Integer.valueOf(1), list.get(0));
+
+        list.setGrowthPolicy(GrowthPolicy.EXACT);
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+            assertEquals(list.size(), list.capacity());
+        }
+        list.setGrowthPolicy((oldCapacity, minCapacity) -> oldCapacity + 100);
+        list.add(0);
+        assertEquals(111, list.capacity());
+    }
+
+    @Test(timeout = 1000)
+    public void testAddAllArray() {
+        ArrayList<String> list = new ArrayList<>(String.class);
+        String[] src = {"a", "b", "c", "d"};
+        assertTrue(list.addAll(src, 1, 3));
+        assertFalse(list.addAll(src, 4, 0));
+        assertEquals(3, list.size());
+        try {
+            list.addAll(src, 2, 3);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // range exceeds the array
+        }
+
+        ArrayList<String> other = new ArrayList<>(String.class);
+        other.add("x");
+        other.add("y");
+        assertTrue(list.addAll(other));
+        assertTrue(list.addAll(list));
+        LinkedList<String> linked = new LinkedList<>();
+        linked.add("z");
+        assertTrue(list.addAll(linked));
+        assertFalse(list.addAll(new LinkedList<String>()));
+        StringBuilder sb = new StringBuilder();
+        for (String e : list) {
+            sb.append(e);
+        }
+        assertEquals("bcdxybcdxyz", sb.toString());
+    }
+
+    @Test(timeout = 1000)
+    public void testObjectStorage() {
+        ArrayList<Integer> list = new ArrayList<>();
+        assertEquals(0, list.capacity());
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.add(50, -1);
+        assertEquals(Integer.valueOf(-1), list.remove(50));
+        assertEquals(100, list.size());
+        assertEquals(42, list.indexOf(42));
+        Object[] objects = list.toArray();
+        assertEquals(Object[].class, objects.getClass());
+        assertEquals(Integer.valueOf(50), objects[50]);
+        assertEquals(Object[].class, list.subList(10, 20).toArray().getClass());
+        list.subList(10, 20).sort((a, b) -> b - a);
+        assertEquals(Integer.valueOf(19), list.get(10));
+        Integer[] copy = list.toArray(new Integer[0]);
+        assertEquals(100, copy.length);
+        assertEquals(Integer.valueOf(99), copy[99]);
+        list.trimToSize();
+        assertEquals(100, list.capacity());
+        assertEquals(new ArrayList<>(Integer.class), new ArrayList<Integer>());
+    }
+
+    @Test(timeout = 1000)
+    public void testSortInvalidatesSubList() {
+        List<String> sub = list.subList(1, 4);
+        list.sort(new ComparableComparator<String>());
+        try {
+            sub.size();
+            fail();
+        } catch (java.util.ConcurrentModificationException expected) {
+            // sorting reorders the elements under the view
+        }
+        List<String> outer = list.subList(0, 5);
+        List<String> inner = outer.subList(1, 3);
+        inner.sort(new ComparableComparator<String>());
+        assertEquals(5, outer.size());
+    }
 }
@@ -0,0 +1,111 @@
+import my.util.ArrayList;
+import my.util.CollectionCodec;
+import my.util.CorruptedDataException;
+import my.util.ElementCodec;
+import my.util.HashSet;
+import my.util.LinkedList;
+import my.util.TreeSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class TestCollectionCodec {
+
+    private static final String WRONG_ELEMENT = "Wrong element!";
+    private static final String WRONG_SIZE = "Wrong Size!";
+
+    @Test(timeout = 1000)
+    public void testBufferRoundTrip() {
+        ArrayList<Integer> list = new ArrayList<>(Integer.class);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 7 % 1000);
+        }
+        // 100 elements per chunk
+        CollectionCodec<Integer> codec = new CollectionCodec<>(ElementCodec.INTEGER, true, 400);
+        ByteBuffer buf = ByteBuffer.allocateDirect(8192);
+        codec.encode(list, buf);
+        assertEquals(6 + 10 * (12 + 400) + 4, buf.position());
+        buf.flip();
+        ArrayList<Integer> copy = codec.decode(buf, new ArrayList<>(Integer.class));
+        assertEquals(WRONG_SIZE, 1000, copy.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(WRONG_ELEMENT, list.get(i), copy.get(i));
+        }
+        assertFalse(buf.hasRemaining());
+
+        buf.flip();
+        TreeSet<Integer> sorted = codec.decode(buf, new TreeSet<>());
+        assertEquals(WRONG_SIZE, 1000, sorted.size());
+        assertEquals(Integer.valueOf(0), sorted.first());
+        assertEquals(Integer.valueOf(999), sorted.last());
+    }
+
+    @Test(timeout = 1000)
+    public void testStreamRoundTrip() throws IOException {
+        HashSet<String> set = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            set.add("s" + i);
+        }
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            big.append('x');
+        }
+        set.add(big.toString()); // larger than a chunk
+        CollectionCodec<String> codec = new CollectionCodec<>(ElementCodec.STRING, false, 64);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(set, out);
+        codec.encode(new LinkedList<String>(), out);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        LinkedList<String> copy = codec.decode(in, new LinkedList<String>());
+        assertEquals(WRONG_SIZE, 501, copy.size());
+        for (String s : copy) {
+            assertTrue(WRONG_ELEMENT, set.contains(s));
+        }
+        assertTrue(codec.decode(in, new LinkedList<String>()).isEmpty());
+        assertEquals(0, in.available());
+
+        // the buffer decoder reads what the stream encoder wrote
+        HashSet<String> fromBuffer = codec.decode(ByteBuffer.wrap(out.toByteArray()), new HashSet<String>());
+        assertEquals(WRONG_SIZE, 501, fromBuffer.size());
+    }
+
+    @Test(timeout = 1000)
+    public void testCorruption() throws IOException {
+        LinkedList<Long> list = new LinkedList<>();
+        for (long i = 0; i < 100; i++) {
+            list.add(i << 40);
+        }
+        CollectionCodec<Long> codec = new CollectionCodec<>(ElementCodec.LONG);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(list, out);
+        byte[] data = out.toByteArray();
+        data[100] ^= 1;
+        try {
+            codec.decode(ByteBuffer.wrap(data), new LinkedList<Long>());
+            fail();
+        } catch (CorruptedDataException expected) {
+            // checksum mismatch
+        }
+        try {
+            codec.decode(new ByteArrayInputStream(data), new LinkedList<Long>());
+            fail();
+        } catch (CorruptedDataException expected) {
+            // checksum mismatch
+        }
+        data[100] ^= 1;
+        ByteBuffer truncated = ByteBuffer.wrap(data, 0, data.length - 10);
+        try {
+            codec.decode(truncated, new LinkedList<Long>());
+            fail();
+        } catch (CorruptedDataException expected) {
+            // truncated
+        }
+        assertEquals(WRONG_SIZE, 100, codec.decode(ByteBuffer.wrap(data), new LinkedList<Long>()).size());
+    }
+}
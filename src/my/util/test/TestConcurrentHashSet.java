@@ -0,0 +1,147 @@
+import my.util.ConcurrentHashSet;
+import my.util.Equivalence;
+import my.util.Set;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestConcurrentHashSet extends TestSet {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50000;
+
+    @Override
+    public Set<String> getSet() {
+        return new ConcurrentHashSet<String>();
+    }
+
+    /**
+     * runs the task on THREADS threads started at the same time and rethrows the first failure
+     */
+    private static void runConcurrently(final ThreadTask task) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+    }
+
+    private interface ThreadTask {
+        void run(int id) throws Exception;
+    }
+
+    @Test(timeout = 1000)
+    public void testResizeWithoutCollisions() {
+        // hashes chosen so that the set's mixing maps element i to bin i, no add below collides
+        ConcurrentHashSet<Integer> ints = new ConcurrentHashSet<>(new Equivalence<Integer>() {
+            @Override
+            public boolean equivalent(Integer a, Integer b) {
+                return a.equals(b);
+            }
+
+            @Override
+            public int hash(Integer e) {
+                return e * 0x144CBC89;
+            }
+        }, 2);
+        // a table of 4 bins is full at 3 elements, 4 lands in bin 4 of the doubled table, not in bin 0
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(ints.add(i));
+        }
+        Iterator<Integer> it = ints.iterator();
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, (int) it.next());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentAddWithResize() throws InterruptedException {
+        final ConcurrentHashSet<Integer> ints = new ConcurrentHashSet<>(2);
+        runConcurrently(id -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                assertTrue(ints.add(id * PER_THREAD + i));
+            }
+        });
+        assertEquals(THREADS * PER_THREAD, ints.size());
+        for (int i = 0; i < THREADS * PER_THREAD; i++) {
+            assertTrue(ints.contains(i));
+        }
+        int visited = 0;
+        for (Integer ignored : ints) {
+            visited++;
+        }
+        assertEquals(THREADS * PER_THREAD, visited);
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentSameKeys() throws InterruptedException {
+        final ConcurrentHashSet<Integer> ints = new ConcurrentHashSet<>();
+        runConcurrently(id -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                ints.add(i);
+            }
+            for (int i = 0; i < PER_THREAD; i += 2) {
+                ints.remove(i);
+            }
+        });
+        assertEquals(PER_THREAD / 2, ints.size());
+        for (int i = 0; i < PER_THREAD; i++) {
+            assertEquals(i % 2 == 1, ints.contains(i));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testIteratorDuringWrites() throws InterruptedException {
+        final ConcurrentHashSet<Integer> ints = new ConcurrentHashSet<>(4);
+        for (int i = 0; i < 1000; i++) {
+            ints.add(-i - 1);
+        }
+        runConcurrently(id -> {
+            if (id == 0) {
+                for (int round = 0; round < 20; round++) {
+                    int stable = 0;
+                    Iterator<Integer> it = ints.iterator();
+                    while (it.hasNext()) {
+                        if (it.next() < 0) {
+                            stable++;
+                        }
+                    }
+                    // elements present during the whole iteration are seen at least once
+                    assertTrue(stable >= 1000);
+                }
+            } else {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    ints.add(id * PER_THREAD + i);
+                    if ((i & 1) == 0) {
+                        ints.remove(id * PER_THREAD + i);
+                    }
+                }
+            }
+        });
+        assertEquals(1000 + (THREADS - 1) * PER_THREAD / 2, ints.size());
+        assertFalse(ints.contains(0));
+    }
+}
@@ -0,0 +1,278 @@
+import my.util.ConcurrentDeque;
+import my.util.ConcurrentLinkedQueue;
+import my.util.Queue;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * tests the concurrent queues, ConcurrentLinkedQueue and ConcurrentDeque used as a queue and at both ends
+ */
+public class TestConcurrentLinkedQueue {
+
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int PER_PRODUCER = 50000;
+
+    @Test(timeout = 1000)
+    public void testFifo() {
+        Queue<String> queue = new ConcurrentLinkedQueue<>();
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertTrue(queue.isEmpty());
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        assertEquals(3, queue.size());
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = 1000)
+    public void testRemoveInside() {
+        Queue<String> queue = new ConcurrentLinkedQueue<>();
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.remove("b"));
+        assertFalse(queue.contains("b"));
+        assertEquals(2, queue.size());
+        Iterator<String> it = queue.iterator();
+        assertEquals("a", it.next());
+        it.remove();
+        assertEquals("c", it.next());
+        assertFalse(it.hasNext());
+        assertEquals("c", queue.peek());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = 2000)
+    public void testRemoveUnlinksNodes() {
+        // the head element is never polled, so only remove can unlink the dead nodes behind it
+        Queue<Integer> queue = new ConcurrentLinkedQueue<>();
+        queue.offer(-1);
+        for (int i = 0; i < 200000; i++) {
+            queue.offer(i);
+            queue.offer(i + 1);
+            assertTrue(queue.remove(i + 1));
+            Iterator<Integer> it = queue.iterator();
+            it.next();
+            it.next();
+            it.remove();
+        }
+        assertEquals(1, queue.size());
+        assertFalse(queue.contains(0));
+        assertEquals(-1, (int) queue.poll());
+        assertNull(queue.peek());
+    }
+
+    @Test(timeout = 1000)
+    public void testDequeEnds() {
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        deque.offerFirst(2);
+        deque.offerFirst(1);
+        deque.offerLast(3);
+        assertEquals("[1, 2, 3]", deque.toString());
+        Iterator<Integer> it = deque.descendingIterator();
+        assertEquals(3, (int) it.next());
+        it.remove();
+        assertEquals(1, (int) deque.pollFirst());
+        assertEquals(2, (int) deque.pollLast());
+        assertNull(deque.pollLast());
+        assertNull(deque.peekFirst());
+    }
+
+    @Test(timeout = 10000)
+    public void testQueueMpmc() throws InterruptedException {
+        runMpmc(new ConcurrentLinkedQueue<Integer>());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentRemove() throws InterruptedException {
+        // every thread offers its own elements and takes each back by remove or poll,
+        // every element must be taken exactly once although the removes unlink nodes concurrently
+        final ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<>();
+        final int total = PRODUCERS * PER_PRODUCER;
+        final AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[PRODUCERS];
+        for (int t = 0; t < PRODUCERS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i += 2) {
+                        int a = i * PRODUCERS + id;
+                        int b = (i + 1) * PRODUCERS + id;
+                        queue.offer(a);
+                        queue.offer(b);
+                        if (queue.remove(b)) {
+                            assertEquals(0, seen.getAndIncrement(b));
+                        }
+                        Integer e = queue.poll();
+                        if (e != null) {
+                            assertEquals(0, seen.getAndIncrement(e));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+        for (Integer e = queue.poll(); e != null; e = queue.poll()) {
+            assertEquals(0, seen.getAndIncrement(e));
+        }
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i));
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testDequeMpmc() throws InterruptedException {
+        runMpmc(new ConcurrentDeque<Integer>());
+    }
+
+    @Test(timeout = 10000)
+    public void testDequeBothEnds() throws InterruptedException {
+        // every thread offers at both ends and takes elements back from both ends or by remove,
+        // every element must be taken exactly once although polls from both ends unlink the same nodes
+        final ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        final int total = PRODUCERS * PER_PRODUCER;
+        final AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[PRODUCERS];
+        for (int t = 0; t < PRODUCERS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i += 2) {
+                        int a = i * PRODUCERS + id;
+                        int b = (i + 1) * PRODUCERS + id;
+                        deque.offerFirst(a);
+                        deque.offerLast(b);
+                        if (((i >> 1) & 1) == 0 && deque.remove(a)) {
+                            assertEquals(0, seen.getAndIncrement(a));
+                        }
+                        Integer e = (i & 2) == 0 ? deque.pollLast() : deque.pollFirst();
+                        if (e != null) {
+                            assertEquals(0, seen.getAndIncrement(e));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+        int left = deque.size();
+        int drained = 0;
+        for (Iterator<Integer> it = deque.descendingIterator(); it.hasNext(); drained++) {
+            int e = it.next();
+            assertEquals(0, seen.getAndIncrement(e));
+            it.remove();
+        }
+        assertEquals(left, drained);
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i));
+        }
+        assertTrue(deque.isEmpty());
+        assertNull(deque.pollFirst());
+        assertNull(deque.pollLast());
+        assertEquals(0, deque.size());
+    }
+
+    /**
+     * lets producers offer distinct elements while consumers poll until all are consumed,
+     * every element must be consumed exactly once and the elements of one producer in order
+     */
+    private static void runMpmc(final Queue<Integer> queue) throws InterruptedException {
+        final int total = PRODUCERS * PER_PRODUCER;
+        final AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        final AtomicInteger consumed = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+        for (int t = 0; t < PRODUCERS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        queue.offer(i * PRODUCERS + id);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        for (int t = 0; t < CONSUMERS; t++) {
+            threads[PRODUCERS + t] = new Thread(() -> {
+                try {
+                    start.await();
+                    int[] last = new int[PRODUCERS];
+                    java.util.Arrays.fill(last, -1);
+                    while (consumed.get() < total) {
+                        Integer e = queue.poll();
+                        if (e == null) {
+                            continue;
+                        }
+                        assertEquals(0, seen.getAndIncrement(e));
+                        int producer = e % PRODUCERS;
+                        assertTrue(e > last[producer]);
+                        last[producer] = e;
+                        consumed.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    consumed.set(total);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+        assertEquals(total, consumed.get());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,140 @@
+import my.util.ComparableComparator;
+import my.util.ConcurrentSkipListSet;
+import my.util.NavigableSet;
+import my.util.Set;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestConcurrentSkipListSet extends TestSet {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 20000;
+
+    @Override
+    public Set<String> getSet() {
+        return new ConcurrentSkipListSet<String>();
+    }
+
+    @Test(timeout = 1000)
+    public void testOrder() {
+        assertEquals("[a, b, c, d, e, f]", set.toString());
+        Iterator<String> it = set.descendingIterator();
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            sb.append(it.next());
+        }
+        assertEquals("fedcba", sb.toString());
+    }
+
+    @Test(timeout = 1000)
+    public void testNavigationAndRangeViews() {
+        NavigableSet<Integer> ints = new ConcurrentSkipListSet<>(new ComparableComparator<Integer>());
+        for (int i = 0; i < 100; i++) {
+            ints.add(i);
+        }
+        assertEquals(0, (int) ints.first());
+        assertEquals(99, (int) ints.last());
+        assertEquals(20, (int) ints.floor(20));
+        assertEquals(19, (int) ints.lower(20));
+        assertEquals(21, (int) ints.higher(20));
+        assertNull(ints.higher(99));
+
+        NavigableSet<Integer> sub = ints.subSet(10, 20);
+        assertEquals(10, sub.size());
+        assertEquals(19, (int) sub.last());
+        assertEquals(10, (int) sub.ceiling(-5));
+        assertNull(sub.higher(19));
+        assertEquals(2, sub.headSet(15).tailSet(12, false).size());
+
+        Iterator<Integer> it = sub.descendingIterator();
+        int expected = 19;
+        while (it.hasNext()) {
+            assertEquals(expected--, (int) it.next());
+        }
+        assertEquals(9, expected);
+
+        sub.clear();
+        assertEquals(90, ints.size());
+        assertEquals(0, (int) ints.pollFirst());
+        assertEquals(99, (int) ints.pollLast());
+        assertEquals(20, (int) ints.ceiling(10));
+    }
+
+    @Test(timeout = 5000)
+    public void testRandomAgainstJava() {
+        Random random = new Random(42);
+        ConcurrentSkipListSet<Integer> mine = new ConcurrentSkipListSet<>(new ComparableComparator<Integer>());
+        java.util.TreeSet<Integer> java = new java.util.TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                assertEquals(java.add(key), mine.add(key));
+            } else {
+                assertEquals(java.remove(key), mine.remove(key));
+            }
+            assertEquals(java.size(), mine.size());
+            assertEquals(java.floor(key), mine.floor(key));
+            assertEquals(java.higher(key), mine.higher(key));
+        }
+        Iterator<Integer> expected = java.iterator();
+        Iterator<Integer> actual = mine.iterator();
+        while (expected.hasNext()) {
+            assertEquals(expected.next(), actual.next());
+        }
+        assertFalse(actual.hasNext());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentAddRemove() throws InterruptedException {
+        final ConcurrentSkipListSet<Integer> ints = new ConcurrentSkipListSet<>(new ComparableComparator<Integer>());
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    // interleaved keys so that all threads work on the same region of the list
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        assertTrue(ints.add(i * THREADS + id));
+                    }
+                    for (int i = 0; i < PER_THREAD; i += 2) {
+                        assertTrue(ints.remove(i * THREADS + id));
+                    }
+                    // every thread competes for the same keys, each must be removed exactly once
+                    for (int i = 1; i < PER_THREAD; i += 4) {
+                        ints.remove(i * THREADS);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+        int expectedSize = THREADS * PER_THREAD / 2 - PER_THREAD / 4;
+        assertEquals(expectedSize, ints.size());
+        int previous = Integer.MIN_VALUE;
+        int visited = 0;
+        for (Integer i : ints) {
+            assertTrue(i > previous);
+            previous = i;
+            visited++;
+        }
+        assertEquals(expectedSize, visited);
+    }
+}
@@ -0,0 +1,126 @@
+import my.util.DoubleArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+public class TestDoubleArrayList {
+
+    DoubleArrayList list;
+
+    private static final String WRONG_INDEX = "Wrong Index!";
+    private static final String WRONG_SIZE = "Wrong Size!";
+    private static final String WRONG_ELEMENT = "Wrong element!";
+
+    @Before
+    public void init() {
+        list = new DoubleArrayList(2);
+        for (int i = 1; i <= 6; i++) {
+            list.add(i * 0.5);
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testGetSet() {
+        assertEquals(WRONG_ELEMENT, 1.5, list.get(2), 0);
+        assertEquals(WRONG_ELEMENT, 1.5, list.set(2, Double.NaN), 0);
+        assertTrue(WRONG_ELEMENT, Double.isNaN(list.get(2)));
+    }
+
+    @Test(timeout = 1000, expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        list.get(6);
+    }
+
+    @Test(timeout = 1000)
+    public void testAddRemoveIndex() {
+        list.add(0, 0.25);
+        list.add(7, 3.5);
+        list.add(3, 1.25);
+        assertArrayEquals(new double[]{0.25, 0.5, 1.0, 1.25, 1.5, 2.0, 2.5, 3.0, 3.5}, list.toArray(), 0);
+        assertEquals(WRONG_ELEMENT, 1.25, list.remove(3), 0);
+        assertEquals(WRONG_ELEMENT, 3.5, list.remove(7), 0);
+        assertTrue(list.removeValue(0.25));
+        assertFalse(list.removeValue(0.25));
+        assertArrayEquals(new double[]{0.5, 1.0, 1.5, 2.0, 2.5, 3.0}, list.toArray(), 0);
+    }
+
+    @Test(timeout = 1000)
+    public void testIndexOfNaNAndNegativeZero() {
+        list.add(Double.NaN);
+        list.add(-0.0);
+        list.add(Double.NaN);
+        assertEquals(WRONG_INDEX, 6, list.indexOf(Double.NaN));
+        assertEquals(WRONG_INDEX, 8, list.lastIndexOf(Double.NaN));
+        assertEquals(WRONG_INDEX, 7, list.indexOf(-0.0));
+        assertEquals(WRONG_INDEX, -1, list.indexOf(0.0));
+        assertFalse(list.contains(0.0));
+        assertTrue(list.removeValue(-0.0));
+        assertFalse(list.contains(-0.0));
+        assertTrue(list.removeValue(Double.NaN));
+        assertEquals(WRONG_INDEX, 6, list.indexOf(Double.NaN));
+        assertEquals(WRONG_SIZE, 7, list.size());
+    }
+
+    @Test(timeout = 1000)
+    public void testSubList() {
+        DoubleArrayList sub = list.subList(2, 4);
+        assertEquals(WRONG_SIZE, 2, sub.size());
+        assertEquals(WRONG_ELEMENT, 1.5, sub.get(0), 0);
+        assertEquals(WRONG_ELEMENT, 2.0, sub.get(1), 0);
+        assertEquals(WRONG_SIZE, 0, list.subList(3, 3).size());
+    }
+
+    @Test(timeout = 1000)
+    public void testIterators() {
+        PrimitiveIterator.OfDouble it = list.iterator();
+        double sum = 0;
+        while (it.hasNext()) {
+            double e = it.nextDouble();
+            sum += e;
+            if (e % 1.0 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(10.5, sum, 0);
+        assertArrayEquals(new double[]{0.5, 1.5, 2.5}, list.toArray(), 0);
+        PrimitiveIterator.OfDouble desc = list.descendingIterator();
+        assertEquals(WRONG_ELEMENT, 2.5, desc.nextDouble(), 0);
+        desc.remove();
+        assertEquals(WRONG_ELEMENT, 1.5, desc.nextDouble(), 0);
+        assertEquals(WRONG_ELEMENT, 0.5, desc.nextDouble(), 0);
+        assertFalse(desc.hasNext());
+    }
+
+    @Test(timeout = 1000)
+    public void testEqualsWithNaN() {
+        list.add(Double.NaN);
+        DoubleArrayList other = new DoubleArrayList();
+        other.addAll(list);
+        assertEquals(list, other);
+        assertEquals(list.hashCode(), other.hashCode());
+        other.set(6, 0.0);
+        assertNotEquals(list, other);
+        list.set(6, -0.0);
+        assertNotEquals(list, other);
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test(timeout = 1000)
+    public void testSortWithNaNAndNegativeZero() {
+        DoubleArrayList list = new DoubleArrayList();
+        list.add(Double.NaN);
+        list.add(1.5);
+        list.add(0.0);
+        list.add(-0.0);
+        list.add(Double.NEGATIVE_INFINITY);
+        list.sort();
+        assertArrayEquals(new double[]{Double.NEGATIVE_INFINITY, -0.0, 0.0, 1.5, Double.NaN}, list.toArray(), 0);
+        assertEquals(4, list.indexOf(Double.NaN));
+        assertEquals(1, list.binSearch(-0.0));
+        assertEquals(2, list.binSearch(0.0));
+    }
+}
@@ -0,0 +1,96 @@
+import my.util.AbstractHashSet;
+import my.util.ArrayList;
+import my.util.ConcurrentHashSet;
+import my.util.Equivalence;
+import my.util.HashSet;
+import my.util.LinkedList;
+import my.util.List;
+import my.util.OpenHashSet;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestEquivalence {
+
+    /**
+     * strings equal ignoring case
+     */
+    static final Equivalence<String> IGNORE_CASE = new Equivalence<String>() {
+        @Override
+        public boolean equivalent(String a, String b) {
+            return a == null ? b == null : a.equalsIgnoreCase(b);
+        }
+
+        @Override
+        public int hash(String e) {
+            return e == null ? 0 : e.toLowerCase().hashCode();
+        }
+    };
+
+    @Test(timeout = 1000)
+    public void testSingletons() {
+        String a = new String("a");
+        String b = new String("a");
+        assertTrue(Equivalence.natural().equivalent(a, b));
+        assertEquals(a.hashCode(), Equivalence.natural().hash(a));
+        assertTrue(Equivalence.natural().equivalent(null, null));
+        assertFalse(Equivalence.natural().equivalent(null, a));
+        assertFalse(Equivalence.identity().equivalent(a, b));
+        assertTrue(Equivalence.identity().equivalent(a, a));
+        assertEquals(System.identityHashCode(a), Equivalence.identity().hash(a));
+    }
+
+    @Test(timeout = 1000)
+    public void testLists() {
+        String a = new String("a");
+        String b = new String("a");
+        List<String> natural = new ArrayList<>(String.class, Equivalence.natural());
+        List<String> identity = new LinkedList<>(Equivalence.identity());
+        for (List<String> list : java.util.Arrays.asList(natural, identity)) {
+            list.add("x");
+            list.add(a);
+            list.add(null);
+            list.add(a);
+        }
+        assertEquals(1, natural.indexOf(b));
+        assertEquals(3, natural.lastIndexOf(b));
+        assertEquals(2, natural.indexOf(null));
+        assertEquals(-1, identity.indexOf(b));
+        assertEquals(3, identity.lastIndexOf(a));
+        assertFalse(identity.remove(b));
+        assertTrue(identity.remove(a));
+        assertEquals(3, identity.size());
+
+        List<String> ignoreCase = new ArrayList<>(String.class, IGNORE_CASE);
+        ignoreCase.add("Hello");
+        assertTrue(ignoreCase.contains("HELLO"));
+        assertEquals(0, ignoreCase.lastIndexOf("hello"));
+    }
+
+    @Test(timeout = 1000)
+    public void testHashSets() {
+        java.util.List<AbstractHashSet<String>> sets = java.util.Arrays.asList(
+                new HashSet<>(IGNORE_CASE), new OpenHashSet<>(IGNORE_CASE));
+        for (AbstractHashSet<String> set : sets) {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(set.add("Key" + i));
+            }
+            assertFalse(set.add("KEY7"));
+            assertTrue(set.contains("key99"));
+            assertTrue(set.remove("kEy50"));
+            assertEquals(99, set.size());
+        }
+
+        ConcurrentHashSet<String> concurrent = new ConcurrentHashSet<>(IGNORE_CASE);
+        assertTrue(concurrent.add("Key"));
+        assertFalse(concurrent.add("KEY"));
+        assertTrue(concurrent.contains("key"));
+
+        String a = new String("a");
+        OpenHashSet<String> identity = new OpenHashSet<>(Equivalence.identity());
+        assertTrue(identity.add(a));
+        assertTrue(identity.add(new String("a")));
+        assertFalse(identity.add(a));
+        assertEquals(2, identity.size());
+    }
+}
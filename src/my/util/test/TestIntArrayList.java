@@ -0,0 +1,120 @@
+import my.util.IntArrayList;
+import my.util.Rray;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+public class TestIntArrayList {
+
+    IntArrayList list;
+
+    private static final String WRONG_INDEX = "Wrong Index!";
+    private static final String WRONG_SIZE = "Wrong Size!";
+    private static final String WRONG_ELEMENT = "Wrong element!";
+
+    @Before
+    public void init() {
+        list = new IntArrayList(2);
+        for (int i = 1; i <= 6; i++) {
+            list.add(i * 10);
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testGetSet() {
+        assertEquals(WRONG_ELEMENT, 30, list.get(2));
+        assertEquals(WRONG_ELEMENT, 30, list.set(2, 7));
+        assertEquals(WRONG_ELEMENT, 7, list.get(2));
+    }
+
+    @Test(timeout = 1000, expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        list.get(6);
+    }
+
+    @Test(timeout = 1000)
+    public void testAddRemoveIndex() {
+        list.add(0, 5);
+        list.add(7, 70);
+        list.add(3, 25);
+        assertArrayEquals(new int[]{5, 10, 20, 25, 30, 40, 50, 60, 70}, list.toArray());
+        assertEquals(WRONG_ELEMENT, 25, list.remove(3));
+        assertEquals(WRONG_ELEMENT, 70, list.remove(7));
+        assertTrue(list.removeValue(5));
+        assertFalse(list.removeValue(5));
+        assertArrayEquals(new int[]{10, 20, 30, 40, 50, 60}, list.toArray());
+    }
+
+    @Test(timeout = 1000)
+    public void testIndexOf() {
+        list.add(10);
+        assertEquals(WRONG_INDEX, 0, list.indexOf(10));
+        assertEquals(WRONG_INDEX, 6, list.lastIndexOf(10));
+        assertEquals(WRONG_INDEX, -1, list.indexOf(11));
+        assertTrue(list.contains(60));
+    }
+
+    @Test(timeout = 1000)
+    public void testSortAndBinSearch() {
+        IntArrayList l = Rray.asList(new int[]{5, -3, 9, 0, 5, 1});
+        l.add(-7);
+        l.sort();
+        assertArrayEquals(new int[]{-7, -3, 0, 1, 5, 5, 9}, l.toArray());
+        assertEquals(WRONG_INDEX, 3, l.binSearch(1));
+        assertEquals(WRONG_INDEX, -1, l.binSearch(2));
+    }
+
+    @Test(timeout = 1000)
+    public void testSubList() {
+        IntArrayList sub = list.subList(2, 4);
+        assertEquals(WRONG_SIZE, 2, sub.size());
+        assertEquals(WRONG_ELEMENT, 30, sub.get(0));
+        assertEquals(WRONG_ELEMENT, 40, sub.get(1));
+    }
+
+    @Test(timeout = 1000)
+    public void testIterators() {
+        PrimitiveIterator.OfInt it = list.iterator();
+        int sum = 0;
+        while (it.hasNext()) {
+            int e = it.nextInt();
+            sum += e;
+            if (e % 20 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(210, sum);
+        assertArrayEquals(new int[]{10, 30, 50}, list.toArray());
+        PrimitiveIterator.OfInt desc = list.descendingIterator();
+        assertEquals(WRONG_ELEMENT, 50, desc.nextInt());
+        desc.remove();
+        assertEquals(WRONG_ELEMENT, 30, desc.nextInt());
+        assertEquals(WRONG_ELEMENT, 10, desc.nextInt());
+        assertFalse(desc.hasNext());
+    }
+
+    @Test(timeout = 1000)
+    public void testEqualsAndClear() {
+        IntArrayList other = new IntArrayList();
+        other.addAll(list);
+        assertEquals(list, other);
+        assertEquals(list.hashCode(), other.hashCode());
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertNotEquals(list, other);
+    }
+
+    @Test(timeout = 1000)
+    public void testStream() {
+        assertEquals(210, list.stream().sum());
+        IntArrayList big = new IntArrayList();
+        for (int i = 0; i < 100000; i++) {
+            big.add(i);
+        }
+        assertEquals(4999950000L, big.parallelStream().asLongStream().sum());
+        assertArrayEquals(big.toArray(), big.parallelStream().toArray());
+    }
+}
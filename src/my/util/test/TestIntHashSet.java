@@ -0,0 +1,98 @@
+import my.util.IntHashSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestIntHashSet {
+
+    IntHashSet set;
+
+    private static final String WRONG_SIZE = "Wrong Size!";
+    private static final String NOT_EXPECTED = "Not expected!";
+
+    @Before
+    public void init() {
+        set = new IntHashSet();
+        for (int i = -2; i <= 3; i++) {
+            set.add(i);
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testAddContainsRemove() {
+        assertFalse(NOT_EXPECTED, set.add(0));
+        assertTrue(NOT_EXPECTED, set.add(4));
+        assertEquals(WRONG_SIZE, 7, set.size());
+        assertTrue(NOT_EXPECTED, set.contains(0));
+        assertTrue(NOT_EXPECTED, set.remove(0));
+        assertFalse(NOT_EXPECTED, set.contains(0));
+        assertFalse(NOT_EXPECTED, set.remove(0));
+        assertTrue(NOT_EXPECTED, set.remove(-2));
+        assertFalse(NOT_EXPECTED, set.contains(-2));
+        assertEquals(WRONG_SIZE, 5, set.size());
+    }
+
+    @Test(timeout = 1000)
+    public void testToArray() {
+        int[] actual = set.toArray();
+        Arrays.sort(actual);
+        assertArrayEquals(new int[]{-2, -1, 0, 1, 2, 3}, actual);
+    }
+
+    @Test(timeout = 1000, expected = IllegalArgumentException.class)
+    public void testInitCapNeg() {
+        new IntHashSet(-1);
+    }
+
+    @Test(timeout = 2000)
+    public void testRandomAgainstJavaHashSet() {
+        IntHashSet s = new IntHashSet(2);
+        java.util.HashSet<Integer> expected = new java.util.HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            int e = random.nextInt(2000) << 12;
+            if (random.nextBoolean()) {
+                assertEquals(NOT_EXPECTED, expected.add(e), s.add(e));
+            } else {
+                assertEquals(NOT_EXPECTED, expected.remove(e), s.remove(e));
+            }
+        }
+        assertEquals(WRONG_SIZE, expected.size(), s.size());
+        for (int e : expected) {
+            assertTrue(NOT_EXPECTED, s.contains(e));
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testItrRemove() {
+        for (int i = 0; i < 1000; i++) {
+            set.add(i * 7919);
+        }
+        int expectedSize = set.size();
+        java.util.HashSet<Integer> kept = new java.util.HashSet<>();
+        PrimitiveIterator.OfInt it = set.iterator();
+        int visited = 0;
+        while (it.hasNext()) {
+            int e = it.nextInt();
+            if (visited++ % 2 == 0) {
+                it.remove();
+            } else {
+                kept.add(e);
+            }
+        }
+        assertEquals(expectedSize, visited);
+        assertEquals(WRONG_SIZE, kept.size(), set.size());
+        PrimitiveIterator.OfInt desc = set.descendingIterator();
+        while (desc.hasNext()) {
+            assertTrue(NOT_EXPECTED, kept.remove(desc.nextInt()));
+            desc.remove();
+        }
+        assertTrue(kept.isEmpty());
+        assertTrue(set.isEmpty());
+    }
+}
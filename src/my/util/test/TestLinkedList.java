@@ -2,6 +2,7 @@ import my.util.LinkedList;
 import my.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -15,4 +16,138 @@ public class TestLinkedList extends TestList{
     public List<String> getList() {
         return new LinkedList<>();
     }
+
+    @Test(timeout = 1000)
+    public void testDeque() {
+        LinkedList<String> deque = new LinkedList<>();
+        assertEquals(null, deque.poll());
+        assertEquals(null, deque.peekLast());
+        deque.offerFirst("b");
+        deque.offerFirst("a");
+        deque.offer("c");
+        assertEquals(3, deque.size());
+        assertEquals("a", deque.peek());
+        assertEquals("c", deque.peekLast());
+        assertEquals("c", deque.pollLast());
+        assertEquals("a", deque.poll());
+        assertEquals("b", deque.pollFirst());
+        assertTrue(deque.isEmpty());
+        deque.offerFirst("x");
+        assertEquals("x", deque.get(0));
+        assertFalse(deque.isEmpty());
+    }
+
+    @Test(timeout = 2000)
+    public void testSequentialIndexAccess() {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = 0; i < 200000; i++) {
+            list.add(i);
+        }
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        assertEquals(199999L * 200000 / 2, sum);
+        for (int i = list.size() - 1; i >= 0; i -= 3) {
+            assertEquals(i, list.get(i).intValue());
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testIndexAccessAfterModification() {
+        LinkedList<Integer> list = new LinkedList<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        java.util.Random random = new java.util.Random(3);
+        for (int round = 0; round < 5000; round++) {
+            int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            switch (random.nextInt(5)) {
+                case 0:
+                    list.add(index, round);
+                    expected.add(index, round);
+                    break;
+                case 1:
+                    list.offerFirst(round);
+                    expected.add(0, round);
+                    break;
+                case 2:
+                    if (!expected.isEmpty()) {
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                    break;
+                default:
+                    list.add(round);
+                    expected.add(round);
+                    assertEquals(expected.get(index), list.get(index));
+            }
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testInsertKeepsFinger() {
+        LinkedList<Integer> list = new LinkedList<>();
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        // every insert and lookup is next to the previous one, the finger keeps both from walking from an end
+        for (int i = 25000; i < 125000; i += 2) {
+            list.add(i, -i);
+            expected.add(i, -i);
+            assertEquals(expected.get(i + 1), list.get(i + 1));
+        }
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i += 997) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testSubListView() {
+        assertSubListView(list);
+    }
+
+    @Test(timeout = 1000)
+    public void testBulkWithComparator() {
+        // large enough for the bulk operations to consider a hash index, which hashCode cannot key here
+        LinkedList<String> caseInsensitive = new LinkedList<>(String.CASE_INSENSITIVE_ORDER);
+        LinkedList<String> lower = new LinkedList<>();
+        for (int i = 0; i < 40; i++) {
+            caseInsensitive.add("K" + i);
+            lower.add("k" + i);
+        }
+        assertTrue(caseInsensitive.contains("k5"));
+        assertTrue(caseInsensitive.containsAll(lower));
+
+        LinkedList<String> removed = new LinkedList<>();
+        LinkedList<String> retained = new LinkedList<>();
+        for (int i = 0; i < 80; i++) {
+            removed.add("k" + i);
+            retained.add("k" + i);
+        }
+        assertTrue(removed.removeAll(caseInsensitive));
+        assertEquals(40, removed.size());
+        assertEquals("k40", removed.get(0));
+        assertTrue(retained.retainAll(caseInsensitive));
+        assertEquals(40, retained.size());
+        assertEquals("k39", retained.get(39));
+    }
+
+    @Test(timeout = 1000)
+    public void testToArrayMixedTypes() {
+        LinkedList<Number> numbers = new LinkedList<>();
+        numbers.add(1);
+        numbers.add(null);
+        numbers.add(2L);
+        numbers.add(3.0);
+        Object[] copy = numbers.toArray();
+        assertEquals(Object[].class, copy.getClass());
+        assertArrayEquals(new Number[]{1, null, 2L, 3.0}, copy);
+        Number[] typed = numbers.toArray(new Number[0]);
+        assertEquals(Number[].class, typed.getClass());
+        assertArrayEquals(new Number[]{1, null, 2L, 3.0}, typed);
+    }
 }
@@ -1,4 +1,5 @@
 import my.util.ArrayList;
+import my.util.ComparableComparator;
 import my.util.LinkedList;
 import my.util.List;
 import org.junit.Before;
@@ -6,6 +7,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -34,6 +36,17 @@ public abstract class TestList {
 
     public abstract List<String> getList();
 
+    static <E> void assertSameElements(java.util.List<E> expected, List<E> actual) {
+        assertEquals(WRONG_SIZE, expected.size(), actual.size());
+        int i = 0;
+        for (E e : actual) {
+            assertEquals(WRONG_ELEMENT, expected.get(i++), e);
+        }
+        for (int j = 0; j < expected.size(); j++) {
+            assertEquals(WRONG_ELEMENT, expected.get(j), actual.get(j));
+        }
+    }
+
     @Test(timeout = 1000)
     public void testGetIndex() {
         assertEquals(WRONG_ELEMENT, "c", list.get(2));
@@ -102,6 +115,82 @@ public abstract class TestList {
         assertEquals(WRONG_ELEMENT, "cd", subList.get(0) + subList.get(1));
     }
 
+    @Test(timeout = 1000)
+    public void testSubListBounds() {
+        assertTrue(NOT_EXPECTED, list.subList(6, 6).isEmpty());
+        assertEquals(WRONG_SIZE, 6, list.subList(0, 6).size());
+        List<String> nested = list.subList(1, 5).subList(1, 3);
+        assertEquals(WRONG_ELEMENT, "cd", nested.get(0) + nested.get(1));
+        try {
+            list.subList(2, 7);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // toIndex > size
+        }
+        try {
+            list.subList(3, 2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // fromIndex > toIndex
+        }
+    }
+
+    /**
+     * checks that sub lists of a list are live views, for the lists returning views
+     * @param list list holding a, b, c, d, e, f
+     */
+    static void assertSubListView(List<String> list) {
+        List<String> sub = list.subList(1, 5);
+        sub.set(0, "B");
+        assertEquals(WRONG_ELEMENT, "B", list.get(1));
+        sub.add("x");
+        assertEquals(WRONG_SIZE, 7, list.size());
+        assertEquals(WRONG_ELEMENT, "x", list.get(5));
+        assertEquals(WRONG_ELEMENT, "f", list.get(6));
+        sub.add(0, "y");
+        assertEquals(WRONG_ELEMENT, "y", list.get(1));
+        assertEquals(WRONG_ELEMENT, "y", sub.remove(0));
+        assertEquals(WRONG_INDEX, 4, sub.indexOf("x"));
+
+        List<String> nested = sub.subList(1, 3);
+        assertEquals(WRONG_ELEMENT, "cd", nested.get(0) + nested.get(1));
+        nested.clear();
+        assertEquals(WRONG_SIZE, 3, sub.size());
+        assertEquals(WRONG_SIZE, 5, list.size());
+        assertArrayEquals(new String[]{"a", "B", "e", "x", "f"}, list.toArray());
+
+        java.util.ListIterator<String> it = sub.listIterator();
+        while (it.hasNext()) {
+            String e = it.next();
+            if (e.equals("e")) {
+                it.remove();
+            } else if (e.equals("x")) {
+                it.add("z");
+            }
+        }
+        assertArrayEquals(new String[]{"a", "B", "x", "z", "f"}, list.toArray());
+        assertTrue(sub.removeIf(e -> e.equals("z")));
+        assertEquals(WRONG_SIZE, 2, sub.size());
+        assertArrayEquals(new String[]{"a", "B", "x", "f"}, list.toArray());
+
+        list.add("g");
+        try {
+            sub.get(0);
+            fail();
+        } catch (java.util.ConcurrentModificationException expected) {
+            // structural change of the list outside the view
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testSort() {
+        list.add(0, "e");
+        list.add("b");
+        list.sort(new ComparableComparator<String>());
+        assertEquals(WRONG_SIZE, 8, list.size());
+        assertEquals(WRONG_ELEMENT, "abbcdeef", String.join("", list.toArray(new String[0])));
+    }
+
     @Test(timeout = 1000)
     public void testContains() {
         assertTrue(NOT_EXPECTED, list.contains("a"));
@@ -112,7 +201,7 @@ public abstract class TestList {
 
     @Test(timeout = 1000)
     public void testToArray() {
-        String[] arr = list.toArray();
+        Object[] arr = list.toArray();
         for (int i = 0; i < arr.length; i++) {
             assertEquals(WRONG_ELEMENT, list.get(i), arr[i]);
         }
@@ -175,6 +264,30 @@ public abstract class TestList {
         assertFalse(NOT_EXPECTED, list.containsAll(con));
     }
 
+    @Test(timeout = 2000)
+    public void testBulkLarge() {
+        List<String> big = getList();
+        List<String> odd = getList();
+        for (int i = 0; i < 100000; i++) {
+            big.add(String.valueOf(i));
+            if (i % 2 == 1) {
+                odd.add(String.valueOf(i));
+            }
+        }
+        big.add(null);
+        assertTrue(NOT_EXPECTED, big.containsAll(odd));
+        odd.add(null);
+        assertTrue(NOT_EXPECTED, big.containsAll(odd));
+        odd.add("x");
+        assertFalse(NOT_EXPECTED, big.containsAll(odd));
+        assertTrue(big.removeAll(odd));
+        assertEquals(WRONG_SIZE, 50000, big.size());
+        assertEquals(WRONG_ELEMENT, "0", big.get(0));
+        assertEquals(WRONG_ELEMENT, "99998", big.get(49999));
+        assertTrue(big.retainAll(odd));
+        assertTrue(NOT_EXPECTED, big.isEmpty());
+    }
+
     @Test(timeout = 1000)
     public void testClear() {
         list.clear();
@@ -182,6 +295,61 @@ public abstract class TestList {
         assertTrue(NOT_EXPECTED, list.isEmpty());
     }
 
+    @Test(timeout = 1000)
+    public void testRemoveIf() {
+        list.add("a");
+        assertTrue(list.removeIf(e -> e.equals("a") || e.equals("d")));
+        assertFalse(list.removeIf(e -> e.equals("x")));
+        assertEquals(WRONG_SIZE, 4, list.size());
+        assertArrayEquals(new String[]{"b", "c", "e", "f"}, list.toArray());
+        list.add("g");
+        assertEquals(WRONG_ELEMENT, "g", list.get(4));
+        assertTrue(list.removeIf(e -> true));
+        assertTrue(NOT_EXPECTED, list.isEmpty());
+    }
+
+    @Test(timeout = 1000)
+    public void testRemoveIfThrows() {
+        try {
+            list.removeIf(e -> {
+                if (e.equals("d")) {
+                    throw new IllegalStateException();
+                }
+                return e.equals("b");
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+            // elements not yet tested are kept
+        }
+        assertArrayEquals(new String[]{"a", "c", "d", "e", "f"}, list.toArray());
+    }
+
+    @Test(timeout = 1000)
+    public void testRetainAll() {
+        LinkedList<String> con = new LinkedList<>();
+        con.add("b");
+        con.add("e");
+        con.add("x");
+        assertTrue(list.retainAll(con));
+        assertFalse(list.retainAll(con));
+        assertArrayEquals(new String[]{"b", "e"}, list.toArray());
+    }
+
+    @Test(timeout = 1000)
+    public void testReplaceAll() {
+        list.replaceAll(String::toUpperCase);
+        assertArrayEquals(new String[]{"A", "B", "C", "D", "E", "F"}, list.toArray());
+        assertEquals(WRONG_SIZE, 6, list.size());
+    }
+
+    @Test(timeout = 1000)
+    public void testClearReuse() {
+        list.clear();
+        list.add("x");
+        assertEquals(WRONG_SIZE, 1, list.size());
+        assertEquals(WRONG_ELEMENT, "x", list.get(0));
+    }
+
     @Test(timeout = 1000)
     public void testDescItr() {
         Iterator<String> descIt = list.descendingIterator();
@@ -217,5 +385,49 @@ public abstract class TestList {
 //        }
     }
 
-}
+    @Test(timeout = 5000)
+    public void testParallelStream() {
+        assertEquals("abcdef", list.stream().reduce("", String::concat));
+        List<String> big = getList();
+        for (int i = 0; i < 20000; i++) {
+            big.add(String.valueOf(i % 100));
+        }
+        assertEquals(20000, big.parallelStream().count());
+        assertEquals(100, big.parallelStream().distinct().count());
+        // encounter order is kept across splits
+        Object[] expected = big.toArray();
+        assertArrayEquals(expected, big.parallelStream().toArray(String[]::new));
+    }
 
+    @Test(timeout = 5000)
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        java.util.List<String> expected = new java.util.ArrayList<>(Arrays.asList("a", "b", "c", "d", "e", "f"));
+        for (int round = 0; round < 20000; round++) {
+            int op = random.nextInt(6);
+            int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            String e = String.valueOf(round);
+            if (op < 3 || expected.isEmpty()) {
+                list.add(index, e);
+                expected.add(index, e);
+            } else if (op == 3) {
+                assertEquals(WRONG_ELEMENT, expected.remove(index), list.remove(index));
+            } else if (op == 4) {
+                assertEquals(WRONG_ELEMENT, expected.set(index, "-" + e), list.set(index, "-" + e));
+            } else {
+                assertEquals(WRONG_ELEMENT, expected.get(index), list.get(index));
+                assertEquals(WRONG_INDEX, expected.indexOf(expected.get(index)), list.indexOf(expected.get(index)));
+            }
+        }
+        assertSameElements(expected, list);
+        list.removeIf(e -> e.endsWith("0") || e.endsWith("5"));
+        expected.removeIf(e -> e.endsWith("0") || e.endsWith("5"));
+        assertSameElements(expected, list);
+        list.add(0, "a");
+        expected.add(0, "a");
+        list.add("f");
+        expected.add("f");
+        assertSameElements(expected, list);
+        assertEquals(expected.subList(10, 100), Arrays.asList(list.subList(10, 100).toArray()));
+    }
+}
@@ -0,0 +1,124 @@
+import my.util.LongArrayList;
+import my.util.Rray;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+public class TestLongArrayList {
+
+    LongArrayList list;
+
+    private static final String WRONG_INDEX = "Wrong Index!";
+    private static final String WRONG_SIZE = "Wrong Size!";
+    private static final String WRONG_ELEMENT = "Wrong element!";
+
+    @Before
+    public void init() {
+        list = new LongArrayList(2);
+        for (int i = 1; i <= 6; i++) {
+            list.add(i * 10L);
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testGetSet() {
+        assertEquals(WRONG_ELEMENT, 30L, list.get(2));
+        assertEquals(WRONG_ELEMENT, 30L, list.set(2, Long.MAX_VALUE));
+        assertEquals(WRONG_ELEMENT, Long.MAX_VALUE, list.get(2));
+    }
+
+    @Test(timeout = 1000, expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        list.get(6);
+    }
+
+    @Test(timeout = 1000)
+    public void testAddRemoveIndex() {
+        list.add(0, 5L);
+        list.add(7, 70L);
+        list.add(3, 25L);
+        assertArrayEquals(new long[]{5, 10, 20, 25, 30, 40, 50, 60, 70}, list.toArray());
+        assertEquals(WRONG_ELEMENT, 25L, list.remove(3));
+        assertEquals(WRONG_ELEMENT, 70L, list.remove(7));
+        assertTrue(list.removeValue(5L));
+        assertFalse(list.removeValue(5L));
+        assertArrayEquals(new long[]{10, 20, 30, 40, 50, 60}, list.toArray());
+    }
+
+    @Test(timeout = 1000)
+    public void testIndexOf() {
+        list.add(10L);
+        list.add(10L + (1L << 32));
+        assertEquals(WRONG_INDEX, 0, list.indexOf(10L));
+        assertEquals(WRONG_INDEX, 6, list.lastIndexOf(10L));
+        assertEquals(WRONG_INDEX, 7, list.indexOf(10L + (1L << 32)));
+        assertEquals(WRONG_INDEX, -1, list.indexOf(11L));
+        assertTrue(list.contains(60L));
+    }
+
+    @Test(timeout = 1000)
+    public void testSortAndBinSearch() {
+        LongArrayList l = Rray.asList(new long[]{5, -3, Long.MAX_VALUE, 0, 5, Long.MIN_VALUE});
+        l.add(-7L);
+        l.sort();
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -7, -3, 0, 5, 5, Long.MAX_VALUE}, l.toArray());
+        assertEquals(WRONG_INDEX, 3, l.binSearch(0L));
+        assertEquals(WRONG_INDEX, 6, l.binSearch(Long.MAX_VALUE));
+        assertEquals(WRONG_INDEX, -1, l.binSearch(2L));
+    }
+
+    @Test(timeout = 1000)
+    public void testSubList() {
+        LongArrayList sub = list.subList(2, 4);
+        assertEquals(WRONG_SIZE, 2, sub.size());
+        assertEquals(WRONG_ELEMENT, 30L, sub.get(0));
+        assertEquals(WRONG_ELEMENT, 40L, sub.get(1));
+        assertEquals(WRONG_SIZE, 0, list.subList(3, 3).size());
+    }
+
+    @Test(timeout = 1000)
+    public void testIterators() {
+        PrimitiveIterator.OfLong it = list.iterator();
+        long sum = 0;
+        while (it.hasNext()) {
+            long e = it.nextLong();
+            sum += e;
+            if (e % 20 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(210L, sum);
+        assertArrayEquals(new long[]{10, 30, 50}, list.toArray());
+        PrimitiveIterator.OfLong desc = list.descendingIterator();
+        assertEquals(WRONG_ELEMENT, 50L, desc.nextLong());
+        desc.remove();
+        assertEquals(WRONG_ELEMENT, 30L, desc.nextLong());
+        assertEquals(WRONG_ELEMENT, 10L, desc.nextLong());
+        assertFalse(desc.hasNext());
+    }
+
+    @Test(timeout = 1000)
+    public void testEqualsAndClear() {
+        LongArrayList other = new LongArrayList();
+        other.addAll(list);
+        assertEquals(list, other);
+        assertEquals(list.hashCode(), other.hashCode());
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertNotEquals(list, other);
+    }
+
+    @Test(timeout = 1000)
+    public void testStream() {
+        assertEquals(210L, list.stream().sum());
+        LongArrayList big = new LongArrayList();
+        for (int i = 0; i < 100000; i++) {
+            big.add(i);
+        }
+        assertEquals(4999950000L, big.parallelStream().sum());
+        assertArrayEquals(big.toArray(), big.parallelStream().toArray());
+    }
+}
@@ -0,0 +1,28 @@
+import my.util.LongHashSet;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestLongHashSet {
+
+    @Test(timeout = 2000)
+    public void testRandomAgainstJavaHashSet() {
+        LongHashSet s = new LongHashSet();
+        java.util.HashSet<Long> expected = new java.util.HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 100000; i++) {
+            long e = ((long) random.nextInt(3000)) << 40;
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.add(e), s.add(e));
+            } else {
+                assertEquals(expected.remove(e), s.remove(e));
+            }
+        }
+        assertEquals(expected.size(), s.size());
+        for (long e : s.toArray()) {
+            assertTrue(expected.contains(e));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import my.util.ElementCodec;
+import my.util.MappedList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class TestMappedList {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String WRONG_ELEMENT = "Wrong element!";
+    private static final String WRONG_SIZE = "Wrong Size!";
+
+    /**
+     * small segments, so the tests span several segment files
+     */
+    private MappedList<String> open(Path dir) throws IOException {
+        return new MappedList<>(dir, ElementCodec.STRING, (a, b) -> a.compareTo(b), 64);
+    }
+
+    private static String element(int i) {
+        return "element-" + i;
+    }
+
+    @Test(timeout = 5000)
+    public void testAppendAndReopen() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        try (MappedList<String> list = open(dir)) {
+            for (int i = 0; i < 100; i++) {
+                list.add(element(i));
+            }
+            assertEquals(WRONG_SIZE, 100, list.size());
+            assertEquals(WRONG_ELEMENT, element(42), list.get(42));
+            assertEquals(57, list.indexOf(element(57)));
+        }
+        assertTrue(Files.exists(dir.resolve("segment-000010")));
+        try (MappedList<String> list = open(dir)) {
+            assertEquals(WRONG_SIZE, 100, list.size());
+            Iterator<String> it = list.iterator();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(WRONG_ELEMENT, element(i), it.next());
+            }
+            assertFalse(it.hasNext());
+            list.add("more");
+            assertEquals("more", list.get(100));
+        }
+        try (MappedList<String> list = open(dir)) {
+            assertEquals(WRONG_SIZE, 101, list.size());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testTornTailIsCutOff() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        try (MappedList<String> list = open(dir)) {
+            for (int i = 0; i < 20; i++) {
+                list.add(element(i));
+            }
+        }
+        // record 19 is the second one of the last segment: corrupt its payload
+        try (RandomAccessFile raf = new RandomAccessFile(dir.resolve("segment-000006").toFile(), "rw")) {
+            raf.seek(19 + 8 + 5);
+            raf.write('X');
+        }
+        try (MappedList<String> list = open(dir)) {
+            assertEquals(WRONG_SIZE, 19, list.size());
+            assertEquals(WRONG_ELEMENT, element(18), list.get(18));
+            list.add("after crash");
+        }
+        try (MappedList<String> list = open(dir)) {
+            assertEquals(WRONG_SIZE, 20, list.size());
+            assertEquals(WRONG_ELEMENT, "after crash", list.get(19));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testLostIndexEntriesAreRebuilt() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        try (MappedList<String> list = open(dir)) {
+            for (int i = 0; i < 30; i++) {
+                list.add(element(i));
+            }
+        }
+        // the index entries of the last 10 records never reached the disk
+        try (RandomAccessFile raf = new RandomAccessFile(dir.resolve("index").toFile(), "rw")) {
+            raf.seek(20 * 8);
+            raf.write(new byte[10 * 8]);
+        }
+        try (MappedList<String> list = open(dir)) {
+            assertEquals(WRONG_SIZE, 30, list.size());
+            for (int i = 0; i < 30; i++) {
+                assertEquals(WRONG_ELEMENT, element(i), list.get(i));
+            }
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testAppendOnly() throws IOException {
+        try (MappedList<String> list = open(folder.getRoot().toPath())) {
+            list.add("a");
+            try {
+                list.add(new String(new char[100]));
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // larger than a segment
+            }
+            list.add("b");
+            assertEquals(WRONG_SIZE, 2, list.size());
+            try {
+                list.set(0, "c");
+                fail();
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+            try {
+                list.remove(0);
+                fail();
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+            list.close();
+            try {
+                list.add("c");
+                fail();
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+import my.util.OffHeapList;
+import my.util.RecordCodec;
+import my.util.RecordCursor;
+import my.util.RecordLayout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static my.util.RecordLayout.Type.*;
+import static my.util.RecordLayout.field;
+import static org.junit.Assert.*;
+
+public class TestOffHeapList {
+
+    static final class Trade {
+        final int id;
+        final double price;
+        final byte side;
+
+        Trade(int id, double price, byte side) {
+            this.id = id;
+            this.price = price;
+            this.side = side;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Trade)) {
+                return false;
+            }
+            Trade t = (Trade) o;
+            return id == t.id && Double.compare(price, t.price) == 0 && side == t.side;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+
+    static final RecordLayout LAYOUT = new RecordLayout(field("side", BYTE), field("id", INT), field("price", DOUBLE));
+    static final int SIDE = LAYOUT.indexOf("side");
+    static final int ID = LAYOUT.indexOf("id");
+    static final int PRICE = LAYOUT.indexOf("price");
+
+    static final RecordCodec<Trade> CODEC = new RecordCodec<Trade>() {
+        @Override
+        public void write(Trade t, RecordCursor record) {
+            record.putByte(SIDE, t.side).putInt(ID, t.id).putDouble(PRICE, t.price);
+        }
+
+        @Override
+        public Trade read(RecordCursor record) {
+            return new Trade(record.getInt(ID), record.getDouble(PRICE), record.getByte(SIDE));
+        }
+    };
+
+    private static final String WRONG_ELEMENT = "Wrong element!";
+
+    OffHeapList<Trade> list;
+
+    @Before
+    public void init() {
+        // 4 records per chunk, so the tests cross chunk borders
+        list = new OffHeapList<>(LAYOUT, CODEC, (a, b) -> a.equals(b) ? 0 : -1, 3);
+        for (int i = 0; i < 10; i++) {
+            list.add(new Trade(i, 100 - i * 1.5, (byte) (i % 2)));
+        }
+    }
+
+    @After
+    public void close() {
+        list.close();
+    }
+
+    @Test(timeout = 1000)
+    public void testLayout() {
+        assertEquals(16, LAYOUT.recordSize());
+        assertEquals(0, LAYOUT.offset(SIDE));
+        assertEquals(4, LAYOUT.offset(ID));
+        assertEquals(8, LAYOUT.offset(PRICE));
+        assertEquals(3 * 4 * 16, list.reservedBytes());
+    }
+
+    @Test(timeout = 1000)
+    public void testGetSetAdd() {
+        assertEquals(10, list.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(WRONG_ELEMENT, new Trade(i, 100 - i * 1.5, (byte) (i % 2)), list.get(i));
+        }
+        Trade old = list.set(5, new Trade(55, 1, (byte) 1));
+        assertEquals(5, old.id);
+        assertEquals(55, list.get(5).id);
+        list.add(3, new Trade(33, 0, (byte) 0));
+        list.add(0, new Trade(-1, 0, (byte) 0));
+        assertEquals(12, list.size());
+        assertEquals(-1, list.get(0).id);
+        assertEquals(33, list.get(4).id);
+        assertEquals(9, list.get(11).id);
+        assertEquals(4, list.indexOf(new Trade(33, 0, (byte) 0)));
+        assertEquals(33, list.remove(4).id);
+        assertTrue(list.remove(new Trade(-1, 0, (byte) 0)));
+        assertEquals(0, list.get(0).id);
+        assertEquals(10, list.size());
+        try {
+            list.get(10);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testRecordInPlace() {
+        RecordCursor record = list.record(7);
+        assertEquals(7, record.getInt(ID));
+        record.putDouble(PRICE, 42.5);
+        assertEquals(42.5, list.get(7).price, 0);
+        try {
+            list.record(0).getLong(PRICE);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testIterator() {
+        Iterator<Trade> it = list.iterator();
+        int expected = 0;
+        while (it.hasNext()) {
+            Trade t = it.next();
+            assertEquals(WRONG_ELEMENT, expected++, t.id);
+            if (t.side == 1) {
+                it.remove();
+            }
+        }
+        assertEquals(5, list.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(WRONG_ELEMENT, 2 * i, list.get(i).id);
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testSortBy() {
+        list.record(2).putDouble(PRICE, Double.NaN);
+        list.record(4).putDouble(PRICE, -0.0);
+        list.record(6).putDouble(PRICE, 0.0);
+        list.sortBy("price");
+        int[] ids = new int[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.get(i).id;
+        }
+        assertArrayEquals(new int[]{4, 6, 9, 8, 7, 5, 3, 1, 0, 2}, ids);
+
+        // stable: ties keep the price order
+        list.sortBy(SIDE);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.get(i).id;
+        }
+        assertArrayEquals(new int[]{4, 6, 8, 0, 2, 9, 7, 5, 3, 1}, ids);
+    }
+
+    @Test(timeout = 1000)
+    public void testSubListAndSort() {
+        try (OffHeapList<Trade> sub = list.subList(2, 7)) {
+            assertEquals(5, sub.size());
+            assertEquals(2, sub.get(0).id);
+            assertEquals(6, sub.get(4).id);
+        }
+        list.sort((a, b) -> Integer.compare(b.id, a.id));
+        assertEquals(9, list.get(0).id);
+        assertEquals(0, list.get(9).id);
+    }
+
+    @Test(timeout = 1000)
+    public void testClose() {
+        list.close();
+        assertEquals(0, list.size());
+        assertEquals(0, list.reservedBytes());
+        try {
+            list.add(new Trade(1, 1, (byte) 1));
+            fail();
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        list.close();
+    }
+}
@@ -0,0 +1,57 @@
+import my.util.OpenHashSet;
+import my.util.Set;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestOpenHashSet extends TestSet {
+    @Override
+    public Set<String> getSet() {
+        return new OpenHashSet<String>();
+    }
+
+    @Test(timeout = 1000)
+    public void testResizeAndRemove() {
+        Set<Integer> ints = new OpenHashSet<>(2);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ints.add(i * 31));
+        }
+        assertEquals(1000, ints.size());
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(ints.remove(i * 31));
+        }
+        assertEquals(500, ints.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, ints.contains(i * 31));
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testItrRemoveVisitsAll() {
+        Set<Integer> ints = new OpenHashSet<>(0.9);
+        for (int i = 0; i < 500; i++) {
+            ints.add(i);
+        }
+        int visited = 0;
+        Iterator<Integer> it = ints.iterator();
+        while (it.hasNext()) {
+            it.next();
+            if (visited++ % 3 != 0) {
+                it.remove();
+            }
+        }
+        assertEquals(500, visited);
+        assertEquals(167, ints.size());
+        for (int i = 0; i < 500; i++) {
+            if (ints.contains(i)) {
+                assertTrue(ints.remove(i));
+                assertFalse(ints.contains(i));
+            }
+        }
+        assertTrue(ints.isEmpty());
+    }
+}
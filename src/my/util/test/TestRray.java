@@ -0,0 +1,199 @@
+import my.util.ComparableComparator;
+import my.util.Rray;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class TestRray {
+
+    private static final int N = 200000;
+
+    private final Comparator<Integer> comparator = new ComparableComparator<>();
+
+    private static int[][] inputs() {
+        Random random = new Random(3);
+        int[] sorted = new int[N];
+        int[] reversed = new int[N];
+        int[] equal = new int[N];
+        int[] fewUnique = new int[N];
+        int[] randomValues = new int[N];
+        int[] organPipe = new int[N];
+        for (int i = 0; i < N; i++) {
+            sorted[i] = i;
+            reversed[i] = N - i;
+            equal[i] = 7;
+            fewUnique[i] = random.nextInt(4);
+            randomValues[i] = random.nextInt();
+            organPipe[i] = i < N / 2 ? i : N - i;
+        }
+        return new int[][]{sorted, reversed, equal, fewUnique, randomValues, organPipe};
+    }
+
+    @Test(timeout = 5000)
+    public void testQuickSortGeneric() {
+        for (int[] input : inputs()) {
+            Integer[] actual = new Integer[input.length];
+            for (int i = 0; i < input.length; i++) {
+                actual[i] = input[i];
+            }
+            Integer[] expected = actual.clone();
+            Arrays.sort(expected);
+            Rray.quickSort(actual, comparator);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testQuickSortPrimitive() {
+        for (int[] input : inputs()) {
+            int[] actual = input.clone();
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            Rray.quickSort(actual);
+            assertArrayEquals(expected, actual);
+
+            long[] longs = new long[input.length];
+            double[] doubles = new double[input.length];
+            for (int i = 0; i < input.length; i++) {
+                longs[i] = input[i];
+                doubles[i] = -input[i];
+            }
+            long[] expectedLongs = longs.clone();
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedLongs);
+            Arrays.sort(expectedDoubles);
+            Rray.quickSort(longs);
+            Rray.quickSort(doubles);
+            assertArrayEquals(expectedLongs, longs);
+            assertArrayEquals(expectedDoubles, doubles, 0);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testParallelSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int[] input : inputs()) {
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+                int[] actual = input.clone();
+                Rray.parallelSort(actual, 1000, pool);
+                assertArrayEquals(expected, actual);
+
+                Integer[] boxed = new Integer[input.length];
+                for (int i = 0; i < input.length; i++) {
+                    boxed[i] = input[i];
+                }
+                Rray.parallelSort(boxed, comparator, 1000, pool);
+                for (int i = 0; i < input.length; i++) {
+                    assertEquals(expected[i], boxed[i].intValue());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 1000, expected = IllegalArgumentException.class)
+    public void testParallelSortIllegalThreshold() {
+        Rray.parallelSort(new long[10], 0);
+    }
+
+    @Test(timeout = 1000)
+    public void testQuickSortRange() {
+        int[] values = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+        Rray.quickSort(values, 2, 8);
+        assertArrayEquals(new int[]{9, 8, 2, 3, 4, 5, 6, 7, 1, 0}, values);
+    }
+
+    @Test(timeout = 5000)
+    public void testMergeSortStable() {
+        Random random = new Random(5);
+        for (int length : new int[]{0, 1, 2, 31, 32, 33, 1000, 100000}) {
+            for (int[] input : new int[][]{randomInts(random, length, 50), runs(length)}) {
+                // sort indexes by key only, equal keys must keep ascending indexes
+                Integer[] indexes = new Integer[length];
+                for (int i = 0; i < length; i++) {
+                    indexes[i] = i;
+                }
+                Comparator<Integer> byKey = (i, j) -> Integer.compare(input[i], input[j]);
+                assertSame(indexes, Rray.mergeSort(indexes, byKey));
+                for (int i = 1; i < length; i++) {
+                    int cmp = Integer.compare(input[indexes[i - 1]], input[indexes[i]]);
+                    assertTrue(cmp < 0 || cmp == 0 && indexes[i - 1] < indexes[i]);
+                }
+            }
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testMergeSortInputs() {
+        for (int[] input : inputs()) {
+            Integer[] actual = new Integer[input.length];
+            for (int i = 0; i < input.length; i++) {
+                actual[i] = input[i];
+            }
+            Integer[] expected = actual.clone();
+            Arrays.sort(expected);
+            Rray.mergeSort(actual, comparator);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    private static int[] randomInts(Random random, int length, int bound) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt(bound);
+        }
+        return values;
+    }
+
+    /**
+     * ascending and descending runs of varying length
+     */
+    private static int[] runs(int length) {
+        int[] values = new int[length];
+        int runLength = 1;
+        for (int i = 0; i < length; ) {
+            boolean descending = (runLength & 1) == 0;
+            for (int j = 0; j < runLength && i < length; j++, i++) {
+                values[i] = descending ? runLength - j : j;
+            }
+            runLength = runLength * 3 % 1001 + 1;
+        }
+        return values;
+    }
+
+    @Test(timeout = 1000)
+    public void testBinSearch() {
+        Integer[] data = {1, 3, 3, 3, 5, 8};
+        assertEquals(4, Rray.binSearch(data, 5, comparator));
+        assertEquals(-1, Rray.binSearch(data, 4, comparator));
+        assertEquals(1, Rray.binFindFirst(data, 3, comparator));
+        assertEquals(3, Rray.binCountEntries(data, 3, comparator));
+        int[] values = {1, 3, 3, 3, 5, 8};
+        assertEquals(1, Rray.binFindFirst(values, 3));
+        assertEquals(3, Rray.binCountEntries(values, 3));
+        assertEquals(-1, Rray.binSearch(values, 0));
+        // the range stops the count and the search for the first entry at its bounds
+        assertEquals(2, Rray.binFindFirst(values, 2, 6, 3));
+        assertEquals(2, Rray.binCountEntries(values, 2, 6, 3));
+        assertEquals(1, Rray.binCountEntries(values, 0, 2, 3));
+        assertEquals(-1, Rray.binFindFirst(values, 4, 6, 3));
+        assertEquals(0, Rray.binCountEntries(values, 4, 6, 3));
+        long[] longs = {1, 3, 3, 3, 5, 8};
+        assertEquals(1, Rray.binFindFirst(longs, 1, 4, 3L));
+        assertEquals(2, Rray.binCountEntries(longs, 2, 5, 3L));
+        double[] doubles = {-0.0, 0.0, 0.0, 1.5, Double.NaN, Double.NaN};
+        assertEquals(1, Rray.binFindFirst(doubles, 0, 6, 0.0));
+        assertEquals(2, Rray.binCountEntries(doubles, 0, 6, 0.0));
+        assertEquals(1, Rray.binCountEntries(doubles, 0, 4, -0.0));
+        assertEquals(4, Rray.binFindFirst(doubles, 3, 6, Double.NaN));
+        assertEquals(2, Rray.binCountEntries(doubles, 3, 6, Double.NaN));
+    }
+}
@@ -76,7 +76,7 @@ public abstract class TestSet {
 
     @Test(timeout = 1000)
     public void testToArray() {
-        String[] actual = set.toArray();
+        Object[] actual = set.toArray();
         Arrays.sort(actual);
         String[] expected = {"a", "b", "c", "d", "e", "f"};
         assertArrayEquals(expected, actual);
@@ -115,6 +115,28 @@ public abstract class TestSet {
         assertFalse(NOT_EXPECTED, set.containsAll(con));
     }
 
+    @Test(timeout = 2000)
+    public void testBulkLarge() {
+        Set<String> big = getSet();
+        Set<String> other = getSet();
+        List<String> list = new LinkedList<>();
+        for (int i = 0; i < 50000; i++) {
+            big.add("e" + i);
+            other.add("e" + (49999 - i));
+            list.add("e" + i);
+        }
+        assertTrue(NOT_EXPECTED, big.equals(other));
+        assertTrue(NOT_EXPECTED, big.containsAll(list));
+        assertTrue(NOT_EXPECTED, big.containsAll(other));
+        other.remove("e7");
+        assertFalse(NOT_EXPECTED, other.containsAll(big));
+        assertFalse(NOT_EXPECTED, big.equals(other));
+        other.add("x");
+        assertFalse(NOT_EXPECTED, big.equals(other));
+        assertTrue(big.removeAll(list));
+        assertTrue(NOT_EXPECTED, big.isEmpty());
+    }
+
     @Test(timeout = 1000)
     public void testClear() {
         set.clear();
@@ -122,6 +144,36 @@ public abstract class TestSet {
         assertTrue(NOT_EXPECTED, set.isEmpty());
     }
 
+    @Test(timeout = 1000)
+    public void testRemoveIf() {
+        Set<String> big = getSet();
+        for (int i = 0; i < 1000; i++) {
+            big.add("e" + i);
+        }
+        assertTrue(big.removeIf(e -> e.length() == 3));
+        assertFalse(big.removeIf(e -> e.length() == 3));
+        assertEquals(WRONG_SIZE, 910, big.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(NOT_EXPECTED, i < 10 || i >= 100, big.contains("e" + i));
+        }
+        assertTrue(big.removeIf(e -> true));
+        assertTrue(NOT_EXPECTED, big.isEmpty());
+        assertTrue(big.add("e1"));
+    }
+
+    @Test(timeout = 1000)
+    public void testRetainAll() {
+        LinkedList<String> con = new LinkedList<>();
+        con.add("a");
+        con.add("f");
+        con.add("x");
+        assertTrue(set.retainAll(con));
+        assertEquals(WRONG_SIZE, 2, set.size());
+        assertTrue(set.contains("a"));
+        assertTrue(set.contains("f"));
+        assertFalse(set.contains("b"));
+    }
+
     @Test(timeout = 1000)
     public void testdescItr() {
         Iterator<String> descIt = set.descendingIterator();
@@ -154,5 +206,16 @@ public abstract class TestSet {
         assertArrayEquals(asc, desc);
     }
 
+    @Test(timeout = 5000)
+    public void testParallelStream() {
+        Set<String> big = getSet();
+        for (int i = 0; i < 20000; i++) {
+            big.add("e" + i);
+        }
+        assertEquals(20000, big.parallelStream().count());
+        assertEquals(20000, big.parallelStream().distinct().count());
+        assertEquals(big.stream().mapToInt(String::length).sum(),
+                big.parallelStream().mapToInt(String::length).sum());
+        assertEquals(20, big.parallelStream().filter(e -> e.endsWith("999")).count());
+    }
 }
-
@@ -0,0 +1,77 @@
+import my.util.List;
+import my.util.TreeList;
+import org.junit.Test;
+
+import java.util.ListIterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestTreeList extends TestList {
+
+    private static final String WRONG_SIZE = "Wrong Size!";
+
+    @Override
+    public List<String> getList() {
+        return new TreeList<>();
+    }
+
+    @Test(timeout = 5000)
+    public void testListIterator() {
+        TreeList<Integer> list = new TreeList<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        ListIterator<Integer> it = list.listIterator(10);
+        ListIterator<Integer> exp = expected.listIterator(10);
+        while (it.hasNext()) {
+            int e = it.next();
+            assertEquals(exp.next().intValue(), e);
+            if (e % 3 == 0) {
+                it.remove();
+                exp.remove();
+            } else if (e % 2 == 0) {
+                it.add(-e);
+                exp.add(-e);
+            }
+            assertEquals(exp.nextIndex(), it.nextIndex());
+        }
+        assertSameElements(expected, list);
+        while (it.hasPrevious()) {
+            int e = it.previous();
+            assertEquals(exp.previous().intValue(), e);
+            if (e < 0 || e % 5 == 0) {
+                it.remove();
+                exp.remove();
+            } else {
+                it.set(e + 1000);
+                exp.set(e + 1000);
+            }
+            assertEquals(exp.nextIndex(), it.nextIndex());
+        }
+        assertSameElements(expected, list);
+        assertEquals(expected.indexOf(1007), list.indexOf(1007));
+        assertEquals(expected.lastIndexOf(1098), list.lastIndexOf(1098));
+    }
+
+    @Test(timeout = 2000)
+    public void testLargePositionalInserts() {
+        TreeList<Integer> list = new TreeList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 200000; i++) {
+            list.add(random.nextInt(list.size() + 1), i);
+        }
+        assertEquals(WRONG_SIZE, 200000, list.size());
+        long sum = 0;
+        for (Integer e : list) {
+            sum += e;
+        }
+        assertEquals(199999L * 200000 / 2, sum);
+        for (int i = 0; i < 100000; i++) {
+            list.remove(random.nextInt(list.size()));
+        }
+        assertEquals(WRONG_SIZE, 100000, list.size());
+    }
+}
@@ -0,0 +1,166 @@
+import my.util.ComparableComparator;
+import my.util.NavigableSet;
+import my.util.Set;
+import my.util.TreeSet;
+import my.util.TreeSetElementsNotComparableException;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestTreeSet extends TestSet {
+    @Override
+    public Set<String> getSet() {
+        return new TreeSet<String>();
+    }
+
+    @Test(timeout = 1000)
+    public void testOrder() {
+        assertEquals("[a, b, c, d, e, f]", set.toString());
+        Iterator<String> it = set.descendingIterator();
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            sb.append(it.next());
+        }
+        assertEquals("fedcba", sb.toString());
+    }
+
+    @Test(timeout = 1000)
+    public void testNavigation() {
+        NavigableSet<Integer> ints = new TreeSet<>(new ComparableComparator<Integer>());
+        for (int i = 0; i < 100; i += 10) {
+            ints.add(i);
+        }
+        assertEquals(0, (int) ints.first());
+        assertEquals(90, (int) ints.last());
+        assertEquals(20, (int) ints.floor(25));
+        assertEquals(20, (int) ints.floor(20));
+        assertEquals(30, (int) ints.ceiling(25));
+        assertEquals(20, (int) ints.ceiling(20));
+        assertEquals(10, (int) ints.lower(20));
+        assertEquals(30, (int) ints.higher(20));
+        assertNull(ints.lower(0));
+        assertNull(ints.higher(90));
+        assertNull(ints.floor(-1));
+        assertNull(ints.ceiling(91));
+        assertEquals(0, (int) ints.pollFirst());
+        assertEquals(90, (int) ints.pollLast());
+        assertEquals(8, ints.size());
+    }
+
+    @Test(timeout = 1000, expected = NoSuchElementException.class)
+    public void testFirstEmpty() {
+        new TreeSet<String>().first();
+    }
+
+    @Test(timeout = 1000, expected = TreeSetElementsNotComparableException.class)
+    public void testNotComparable() {
+        new TreeSet<Object>().add(new Object());
+    }
+
+    @Test(timeout = 1000)
+    public void testRangeViews() {
+        NavigableSet<Integer> ints = new TreeSet<>(new ComparableComparator<Integer>());
+        for (int i = 0; i < 100; i++) {
+            ints.add(i);
+        }
+        NavigableSet<Integer> sub = ints.subSet(10, 20);
+        assertEquals(10, sub.size());
+        assertEquals(10, (int) sub.first());
+        assertEquals(19, (int) sub.last());
+        assertFalse(sub.contains(20));
+        assertEquals(19, (int) sub.floor(50));
+        assertEquals(10, (int) sub.ceiling(5));
+        assertNull(sub.higher(19));
+        assertNull(sub.lower(10));
+
+        assertEquals(5, ints.headSet(5).size());
+        assertEquals(6, ints.headSet(5, true).size());
+        assertEquals(10, ints.tailSet(90).size());
+        assertEquals(9, ints.tailSet(90, false).size());
+        assertEquals(3, sub.subSet(12, true, 15, false).size());
+        assertEquals(2, sub.headSet(15).tailSet(12, false).size());
+
+        Iterator<Integer> it = sub.descendingIterator();
+        int expected = 19;
+        while (it.hasNext()) {
+            assertEquals(expected--, (int) it.next());
+        }
+        assertEquals(9, expected);
+
+        // write-through in both directions
+        sub.clear();
+        assertEquals(90, ints.size());
+        assertFalse(ints.contains(15));
+        ints.add(15);
+        assertEquals(1, sub.size());
+        assertEquals(15, (int) sub.pollFirst());
+        assertTrue(sub.isEmpty());
+    }
+
+    @Test(timeout = 1000, expected = IllegalArgumentException.class)
+    public void testRangeViewAddOutOfRange() {
+        new TreeSet<String>().headSet("m").add("x");
+    }
+
+    @Test(timeout = 1000, expected = IllegalArgumentException.class)
+    public void testRangeViewInverted() {
+        new TreeSet<String>().subSet("x", "a");
+    }
+
+    @Test(timeout = 5000)
+    public void testRandomAgainstJava() {
+        Random random = new Random(42);
+        TreeSet<Integer> mine = new TreeSet<>(new ComparableComparator<Integer>());
+        java.util.TreeSet<Integer> java = new java.util.TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                assertEquals(java.add(key), mine.add(key));
+            } else {
+                assertEquals(java.remove(key), mine.remove(key));
+            }
+            assertEquals(java.size(), mine.size());
+            assertEquals(java.floor(key), mine.floor(key));
+            assertEquals(java.higher(key), mine.higher(key));
+        }
+        Iterator<Integer> expected = java.iterator();
+        Iterator<Integer> actual = mine.iterator();
+        while (expected.hasNext()) {
+            assertEquals(expected.next(), actual.next());
+        }
+        assertFalse(actual.hasNext());
+    }
+
+    @Test(timeout = 1000)
+    public void testItrRemove() {
+        TreeSet<Integer> ints = new TreeSet<>(new ComparableComparator<Integer>());
+        for (int i = 0; i < 500; i++) {
+            ints.add(i);
+        }
+        Iterator<Integer> it = ints.iterator();
+        int expected = 0;
+        while (it.hasNext()) {
+            assertEquals(expected++, (int) it.next());
+            if (expected % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(500, expected);
+        assertEquals(250, ints.size());
+        it = ints.subSet(100, 200).iterator();
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        assertEquals(200, ints.size());
+        assertEquals(98, (int) ints.lower(200));
+        assertEquals(200, (int) ints.ceiling(100));
+    }
+}
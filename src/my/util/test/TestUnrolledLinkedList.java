@@ -0,0 +1,114 @@
+import my.util.List;
+import my.util.UnrolledLinkedList;
+import org.junit.Test;
+
+import java.util.ListIterator;
+
+import static org.junit.Assert.*;
+
+public class TestUnrolledLinkedList extends TestList {
+
+    private static final String WRONG_ELEMENT = "Wrong element!";
+    private static final String WRONG_SIZE = "Wrong Size!";
+
+    @Override
+    public List<String> getList() {
+        // small nodes, so the inherited tests split and merge
+        return new UnrolledLinkedList<>(4);
+    }
+
+    @Test(timeout = 5000)
+    public void testListIterator() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        // insert behind every even element and remove every element divisible by 3
+        ListIterator<Integer> it = list.listIterator();
+        ListIterator<Integer> exp = expected.listIterator();
+        while (it.hasNext()) {
+            int e = it.next();
+            assertEquals(exp.next().intValue(), e);
+            if (e % 3 == 0) {
+                it.remove();
+                exp.remove();
+            } else if (e % 2 == 0) {
+                it.add(-e);
+                exp.add(-e);
+            }
+            assertEquals(exp.nextIndex(), it.nextIndex());
+        }
+        assertSameElements(expected, list);
+        // walk back, removing the inserted ones
+        while (it.hasPrevious()) {
+            int e = it.previous();
+            assertEquals(exp.previous().intValue(), e);
+            if (e < 0) {
+                it.remove();
+                exp.remove();
+            } else {
+                it.set(e + 1000);
+                exp.set(e + 1000);
+            }
+            assertEquals(exp.nextIndex(), it.nextIndex());
+        }
+        assertSameElements(expected, list);
+        assertEquals(-1, list.indexOf(1000));
+        assertEquals(0, list.indexOf(1001));
+        assertEquals(list.size() - 1, list.lastIndexOf(1098));
+    }
+
+    @Test(timeout = 1000)
+    public void testRemoveIfThrowsAcrossNodes() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+        try {
+            list.removeIf(e -> {
+                if (e == 13) {
+                    throw new IllegalStateException();
+                }
+                return e % 2 == 0;
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+            // elements not yet tested are kept
+        }
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            if (i >= 13 || i % 2 == 1) {
+                expected.add(i);
+            }
+        }
+        assertSameElements(expected, list);
+    }
+
+    @Test(timeout = 10000)
+    public void testRemoveKeepsNodesHalfFull() {
+        int capacity = UnrolledLinkedList.DEFAULT_NODE_CAPACITY;
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        for (int i = 0; i < 1000 * capacity; i++) {
+            list.add(i);
+        }
+        // keep every element at a multiple of the capacity, front to back
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 1; j < capacity; j++) {
+                list.remove(i + 1);
+            }
+        }
+        assertEquals(WRONG_SIZE, 1000, list.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(WRONG_ELEMENT, i * capacity, list.get(i).intValue());
+        }
+        // every node but the last one holds at least half a node
+        assertTrue(list.nodeCount() <= list.size() / (capacity / 2) + 1);
+    }
+
+    @Test(timeout = 1000, expected = IllegalArgumentException.class)
+    public void testNodeCapacityTooSmall() {
+        new UnrolledLinkedList<String>(2);
+    }
+}